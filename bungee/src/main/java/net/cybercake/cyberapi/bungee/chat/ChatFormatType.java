@@ -1,17 +1,17 @@
 package net.cybercake.cyberapi.bungee.chat;
 
+import net.cybercake.cyberapi.common.chat.ChatSerializers;
 import net.cybercake.cyberapi.common.chat.LegacyToMiniMessage;
+import net.cybercake.cyberapi.common.chat.LegacyTranslator;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Represents the certain chat format type used for {@link UChat#format(ChatFormatType, Object) UChat}.
@@ -52,7 +52,7 @@ public interface ChatFormatType<T, R> {
      * @since 139
      */
     ChatFormatType<String, Component> COMPONENT = new FormatType.LegacyInput<>("COMPONENT", Component.class, (input, character) ->
-        LegacyComponentSerializer.builder().hexColors().useUnusualXRepeatedCharacterHexFormat().character(character).build().deserialize(input).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE)
+        ChatSerializers.legacy(character).deserialize(input).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE)
     );
 
     /**
@@ -67,12 +67,9 @@ public interface ChatFormatType<T, R> {
      * Converts "{@code <red>Some text &asome text}" into a serialized {@link Component Adventure API component} from initially {@link LegacyToMiniMessage#RED red text} and then {@link LegacyToMiniMessage#GREEN green text}.
      * @since 139
      */
-    ChatFormatType<String, Component> COMBINED = new FormatType.MiniMessageInput("COMBINED", (input, miniMessage) -> {
-        String output = input;
-        for(LegacyToMiniMessage legacy : LegacyToMiniMessage.values())
-            output = legacy.cleanse(output);
-        return ((FormatType.MiniMessageInput) MINI_MESSAGE).execute(output, miniMessage);
-    });
+    ChatFormatType<String, Component> COMBINED = new FormatType.MiniMessageInput("COMBINED", (input, miniMessage) ->
+            ((FormatType.MiniMessageInput) MINI_MESSAGE).execute(LegacyTranslator.translate(input), miniMessage)
+    );
 
 
     /**
@@ -96,29 +93,73 @@ public interface ChatFormatType<T, R> {
     String getName();
 
     /**
-     * @return gets the {@link List} of potential {@link ChatFormatType ChatFormatTypes}
-     * @since 142
+     * Whether using this format needs Adventure API support, which is true if it returns an Adventure type (such as {@link Component}).
+     * The formats that come with CyberAPI, and any format created with {@link ChatFormatType#of(String, Class, Function)}, work this out
+     * once when they are created, and any other format works it out once when it is {@link ChatFormatType#register(ChatFormatType) registered}.
+     * @return true if the format requires Adventure API
+     * @since 185
+     */
+    default boolean requiresAdventure() { return FormatType.REGISTRY.requiresAdventure(this); }
+
+    /**
+     * Creates a new chat format type, which can then be {@link ChatFormatType#register(ChatFormatType) registered} and used with
+     * {@link UChat#format(ChatFormatType, Object)}
+     * <br> <br>
+     * Example usage:
+     * <pre>{@code
+     * ChatFormatType<String, String> DISCORD = ChatFormatType.register(ChatFormatType.of("DISCORD", String.class, DiscordRenderer::render));
+     * String rendered = UChat.format(DISCORD, "**bold** and _italic_");
+     * }</pre>
+     * @param name the name of the format, as if it was an enum
+     * @param returnType the {@link Class} type of the returned output
+     * @param execution formats the input into the output
+     * @return the new chat format type
+     * @param <T> the input type of the format, usually a {@link String}
+     * @param <R> the output type of the format
+     * @since 185
+     */
+    static <T, R> ChatFormatType<T, R> of(String name, Class<R> returnType, Function<T, R> execution) {
+        return new FormatType.SpecificInput<>(name, returnType, execution);
+    }
+
+    /**
+     * Registers a chat format type, so that it is included in {@link ChatFormatType#values()} and can be found using {@link ChatFormatType#valueOf(String)}
+     * @param formatType the chat format type to register
+     * @return the same chat format type, for assigning to a constant
+     * @param <T> the input type of the format
+     * @param <R> the output type of the format
+     * @throws IllegalArgumentException if a chat format type with the same name (not case-sensitive) is already registered
+     * @since 185
      */
-    static List<ChatFormatType<?, ?>> values() {
-        try {
-            Field[] fields = ChatFormatType.class.getDeclaredFields();
-            List<ChatFormatType<?, ?>> values = new ArrayList<>();
-            for (Field field : fields)
-                values.add((ChatFormatType<?, ?>) field.get(null));
-            return values;
-        } catch (Exception exception) {
-            throw new IllegalStateException("Failed to get " + ChatFormatType.class.getCanonicalName() + " values (CyberAPI)", exception);
-        }
+    static <T, R> ChatFormatType<T, R> register(ChatFormatType<T, R> formatType) {
+        FormatType.REGISTRY.register(formatType);
+        return formatType;
     }
 
     /**
-     * @param name the name of the chat format type using its {@link String} literal
+     * Unregisters a chat format type that was {@link ChatFormatType#register(ChatFormatType) registered}
+     * @param name the name of the chat format type, not case-sensitive
+     * @return the chat format type that was unregistered, or null if there was none by that name
+     * @throws IllegalArgumentException if the chat format type comes with CyberAPI, such as {@link ChatFormatType#LEGACY}
+     * @since 185
+     */
+    static @Nullable ChatFormatType<?, ?> unregister(String name) { return FormatType.REGISTRY.unregister(name); }
+
+    /**
+     * @return gets the {@link List} of potential {@link ChatFormatType ChatFormatTypes}, including any that were
+     * {@link ChatFormatType#register(ChatFormatType) registered}, which cannot be changed
+     * @since 142
+     */
+    static List<ChatFormatType<?, ?>> values() { return FormatType.REGISTRY.values(); }
+
+    /**
+     * @param name the name of the chat format type using its {@link String} literal, not case-sensitive
      * @return gets the {@link ChatFormatType}, this is essentially like doing {@code ChatFormatType.<name>} (i.e., {@link ChatFormatType#LEGACY ChatFormatType.LEGACY})
      * @since 142
      */
     @SuppressWarnings("unchecked")
     static <T, R> @Nullable ChatFormatType<T, R> valueOf(String name) {
-        return (ChatFormatType<T, R>) values().stream().filter(type -> type.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return (ChatFormatType<T, R>) FormatType.REGISTRY.get(name);
     }
 
 }
@@ -4,13 +4,15 @@ import net.md_5.bungee.api.plugin.Cancellable;
 import net.md_5.bungee.api.plugin.Event;
 
 import javax.annotation.Nullable;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class CyberLogEvent extends Event implements Cancellable {
 
     private boolean cancelled;
 
-    private final StackTraceElement stackTraceElement;
+    private @Nullable StackTraceElement stackTraceElement;
+    private @Nullable Supplier<StackTraceElement> caller;
 
     private Level level;
     private String message;
@@ -23,6 +25,21 @@ public class CyberLogEvent extends Event implements Cancellable {
         this.message = message;
     }
 
+    /**
+     * Creates a log event where the caller is only found once it is asked for, through {@link CyberLogEvent#getStackTraceElementCaller()}
+     * @param caller supplies the {@link StackTraceElement} of what called the log event, only called once
+     * @param level the log {@link Level}
+     * @param prefix the prefix of the log, usually the plugin's name
+     * @param message the contents of the log
+     * @since 185
+     */
+    public CyberLogEvent(Supplier<StackTraceElement> caller, Level level, @Nullable String prefix, String message) {
+        this.caller = caller;
+        this.level = level;
+        this.prefix = prefix;
+        this.message = message;
+    }
+
     /**
      * Sets the log's {@link Level}
      * @param level the new log {@link Level}
@@ -49,13 +66,19 @@ public class CyberLogEvent extends Event implements Cancellable {
      * @deprecated please use {@link CyberLogEvent#getStackTraceElementCaller()} instead, as it can do more than this {@link String} can
      * @since 88
      */
-    @Deprecated(forRemoval = true) public String getCaller() { return this.stackTraceElement.toString(); }
+    @Deprecated(forRemoval = true) public String getCaller() { return getStackTraceElementCaller().toString(); }
 
     /**
      * @return the {@link StackTraceElement} of what called the log event
      * @since 88
      */
-    public StackTraceElement getStackTraceElementCaller() { return this.stackTraceElement; }
+    public StackTraceElement getStackTraceElementCaller() {
+        if (this.stackTraceElement == null && this.caller != null) {
+            this.stackTraceElement = this.caller.get();
+            this.caller = null;
+        }
+        return this.stackTraceElement;
+    }
 
     /**
      * @return the log level {@link Level}
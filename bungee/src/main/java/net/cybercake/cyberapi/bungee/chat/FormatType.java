@@ -1,5 +1,7 @@
 package net.cybercake.cyberapi.bungee.chat;
 
+import net.cybercake.cyberapi.common.chat.ChatSerializers;
+import net.cybercake.cyberapi.common.chat.FormatRegistry;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.jetbrains.annotations.NotNull;
@@ -9,20 +11,33 @@ import java.util.function.Function;
 
 public class FormatType {
 
+    // only ever touched after ChatFormatType has been initialized, so the built-in formats are never null here
+    static final FormatRegistry<ChatFormatType<?, ?>> REGISTRY = new FormatRegistry<>(ChatFormatType::getName, ChatFormatType::getReturnType);
+    static {
+        REGISTRY.registerBuiltIn(ChatFormatType.LEGACY);
+        REGISTRY.registerBuiltIn(ChatFormatType.BUNGEE_COMPONENT);
+        REGISTRY.registerBuiltIn(ChatFormatType.COMPONENT);
+        REGISTRY.registerBuiltIn(ChatFormatType.MINI_MESSAGE);
+        REGISTRY.registerBuiltIn(ChatFormatType.COMBINED);
+    }
+
     static class SpecificInput<T, R> implements ChatFormatType<T, R> {
         
         private final String name;
         private final Class<R> returnType;
         private final Function<T, R> execution;
+        private final boolean requiresAdventure;
 
         SpecificInput(String name, @NotNull Class<R> returnType, Function<T, R> execution) {
             this.name = name;
             this.returnType = returnType;
             this.execution = execution;
+            this.requiresAdventure = FormatRegistry.isAdventureType(returnType);
         }
 
         @Override public Class<R> getReturnType() { return this.returnType; }
         @Override public String getName() { return this.name; }
+        @Override public boolean requiresAdventure() { return this.requiresAdventure; }
 
         @Override
         public R execute(T input) {
@@ -36,15 +51,18 @@ public class FormatType {
         private final String name;
         private final Class<R> returnType;
         private final BiFunction<T, Character, R> execution;
+        private final boolean requiresAdventure;
 
         LegacyInput(String name, Class<R> returnType, BiFunction<T, Character, R> execution) {
             this.name = name;
             this.returnType = returnType;
             this.execution = execution;
+            this.requiresAdventure = FormatRegistry.isAdventureType(returnType);
         }
 
         @Override public Class<R> getReturnType() { return this.returnType; }
         @Override public String getName() { return this.name; }
+        @Override public boolean requiresAdventure() { return this.requiresAdventure; }
 
         /**
          * Executes the specified chat format type and returns its result using a character for the alternate character
@@ -71,6 +89,7 @@ public class FormatType {
 
         @Override public Class<Component> getReturnType() { return Component.class; }
         @Override public String getName() { return this.name; }
+        @Override public boolean requiresAdventure() { return true; }
 
         /**
          * Executes the specified chat format type and returns its result using a specific {@link MiniMessage} builder.
@@ -82,7 +101,7 @@ public class FormatType {
         public Component execute(String input, MiniMessage miniMessage) { return this.execution.apply(input, miniMessage); }
 
         @Override public Component execute(String input) {
-            return this.execute(input, MiniMessage.builder().build());
+            return this.execute(input, ChatSerializers.miniMessage(false));
         }
     }
     
@@ -3,6 +3,7 @@ package net.cybercake.cyberapi.bungee.chat;
 import net.cybercake.cyberapi.bungee.CyberAPI;
 import net.cybercake.cyberapi.bungee.Validators;
 import net.cybercake.cyberapi.bungee.player.CyberPlayer;
+import net.cybercake.cyberapi.common.chat.ChatSerializers;
 import net.cybercake.cyberapi.common.chat.ColorTranslator;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -18,7 +19,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 import java.util.function.Predicate;
 
 @SuppressWarnings({"unused"})
@@ -35,7 +35,7 @@ public class UChat {
      * @since 139
      */
     public static <T, R> R format(ChatFormatType<T, R> formatType, T input) {
-        if (formatType.getReturnType().getCanonicalName().toLowerCase(Locale.ROOT).contains("net.kyori.adventure"))
+        if (formatType.requiresAdventure())
             Validators.validateAdventureSupport();
         return formatType.execute(input);
     }
@@ -247,7 +247,7 @@ public class UChat {
      */
     public static Component miniMessage(boolean strict, String message) {
         Validators.validateMiniMessageSupport();
-        return miniMessage(MiniMessage.builder().strict(strict).build(), message);
+        return miniMessage(ChatSerializers.miniMessage(strict), message);
     }
 
     /**
@@ -273,7 +273,7 @@ public class UChat {
      */
     public static List<Component> listMiniMessage(String... messages) {
         Validators.validateMiniMessageSupport();
-        return listMiniMessage(MiniMessage.builder().build(), messages);
+        return listMiniMessage(ChatSerializers.miniMessage(false), messages);
     }
 
     /**
@@ -287,7 +287,7 @@ public class UChat {
      */
     public static List<Component> listMiniMessage(boolean strict, String... messages) {
         Validators.validateMiniMessageSupport();
-        return listMiniMessage(MiniMessage.builder().strict(strict).build(), messages);
+        return listMiniMessage(ChatSerializers.miniMessage(strict), messages);
     }
 
     /**
@@ -420,14 +420,7 @@ public class UChat {
      * @since 15
      */
     public static String getSeparator(ChatColor color, int characters) {
-        return getSeparator(
-                Arrays.stream(ColorTranslator.values())
-                        .filter(loopColor -> loopColor.getBungee().equals(color))
-                        .findFirst()
-                        .orElse(null),
-                characters,
-                ChatFormatType.LEGACY
-        );
+        return getSeparator(ColorTranslator.getColorFor(color), characters, ChatFormatType.LEGACY);
     }
 
     /**
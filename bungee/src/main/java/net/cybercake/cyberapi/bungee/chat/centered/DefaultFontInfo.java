@@ -1,5 +1,9 @@
 package net.cybercake.cyberapi.bungee.chat.centered;
 
+import net.cybercake.cyberapi.common.chat.FontMetrics;
+
+import java.util.Map;
+
 /**
  * @since 136
  * @author <a href="https://www.spigotmc.org/threads/free-code-sending-perfectly-centered-chat-message.95872/">SirSpoodles on the SpigotMC forums</a>
@@ -103,6 +107,14 @@ public enum DefaultFontInfo {
     SPACE(' ', 3),
     DEFAULT('a', 4);
 
+    private static final DefaultFontInfo[] BY_CHARACTER = new DefaultFontInfo[128];
+    static {
+        for (DefaultFontInfo info : values()) {
+            if (info == DEFAULT || BY_CHARACTER[info.character] != null) continue;
+            BY_CHARACTER[info.character] = info;
+        }
+    }
+
     private final char character;
     private final int length;
 
@@ -125,9 +137,59 @@ public enum DefaultFontInfo {
     }
 
     public static DefaultFontInfo getDefaultFontInfo(char c) {
-        for (DefaultFontInfo dFI : DefaultFontInfo.values()) {
-            if (dFI.getCharacter() == c) return dFI;
-        }
-        return DefaultFontInfo.DEFAULT;
+        DefaultFontInfo info = c < BY_CHARACTER.length ? BY_CHARACTER[c] : null;
+        return info == null ? DefaultFontInfo.DEFAULT : info;
     }
+
+    /**
+     * Gets the width of a character in pixels, using the {@link FontMetrics#getActive() active font}
+     * @param c the character
+     * @return the width of the character, not including the 1 pixel gap after it
+     * @since 185
+     * @see FontMetrics#getWidth(char)
+     */
+    public static int getWidth(char c) { return FontMetrics.getActive().getWidth(c); }
+
+    /**
+     * Gets the width of a bold character in pixels, using the {@link FontMetrics#getActive() active font}
+     * @param c the character
+     * @return the width of the bold character, not including the 1 pixel gap after it
+     * @since 185
+     * @see FontMetrics#getBoldWidth(char)
+     */
+    public static int getBoldWidth(char c) { return FontMetrics.getActive().getBoldWidth(c); }
+
+    /**
+     * Sets the width of a character in the {@link FontMetrics#getActive() active font}, usually for a custom resource pack font. The bold
+     * width will be one pixel wider.
+     * @param c the character
+     * @param width the width of the character in pixels, not including the 1 pixel gap after it
+     * @since 185
+     * @see DefaultFontInfo#setWidth(char, int, int)
+     */
+    public static void setWidth(char c, int width) { setWidth(c, width, width + 1); }
+
+    /**
+     * Sets the width of a character in the {@link FontMetrics#getActive() active font}, usually for a custom resource pack font
+     * @param c the character
+     * @param width the width of the character in pixels, not including the 1 pixel gap after it
+     * @param boldWidth the width of the bold character in pixels, not including the 1 pixel gap after it
+     * @since 185
+     * @see FontMetrics#load(java.io.File)
+     */
+    public static void setWidth(char c, int width, int boldWidth) { FontMetrics.getActive().setWidth(c, width, boldWidth); }
+
+    /**
+     * Sets the widths of many characters at once in the {@link FontMetrics#getActive() active font}, usually for a custom resource pack
+     * font. Every bold width will be one pixel wider.
+     * @param widths the characters and their widths in pixels, not including the 1 pixel gap after each character
+     * @since 185
+     */
+    public static void loadWidths(Map<Character, Integer> widths) { FontMetrics.getActive().setWidths(widths); }
+
+    /**
+     * Removes every custom width, going back to the {@link FontMetrics#vanilla() vanilla Minecraft font} widths
+     * @since 185
+     */
+    public static void resetWidths() { FontMetrics.setActive(FontMetrics.vanilla()); }
 }
\ No newline at end of file
@@ -10,6 +10,9 @@ import net.cybercake.cyberapi.common.builders.player.PingSettings;
 import net.cybercake.cyberapi.common.builders.player.UserHeadSettings;
 import net.cybercake.cyberapi.common.builders.settings.FeatureSupport;
 import net.cybercake.cyberapi.common.player.CachedUsername;
+import net.cybercake.cyberapi.common.player.PlayerMetadata;
+import net.cybercake.cyberapi.common.player.SessionRegistry;
+import net.cybercake.cyberapi.common.player.UserHeadRenderer;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.cacheddata.CachedMetaData;
 import net.luckperms.api.cacheddata.CachedPermissionData;
@@ -20,17 +23,23 @@ import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
+import org.jetbrains.annotations.ApiStatus;
 
 import javax.annotation.Nullable;
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.net.URL;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class CyberPlayer {
 
+    private static final SessionRegistry<CyberPlayer> SESSIONS = new SessionRegistry<>();
+
     private final UUID uuid;
+    private volatile boolean session;
+    private volatile @Nullable OnlineActions onlineActions;
+    private volatile @Nullable LuckPermsData luckPermsData;
+    private volatile @Nullable PlayerMetadata metadata;
 
     /**
      * Creates a CyberAPI player from a {@link ProxiedPlayer} object
@@ -62,18 +71,26 @@ public class CyberPlayer {
     }
 
     /**
-     * Creates a CyberAPI player from a {@link ProxiedPlayer} object
+     * Gets a CyberAPI player from a {@link ProxiedPlayer} object, which is the player's session if they are online
      * @param player the {@link ProxiedPlayer} object
      * @since 15
+     * @see CyberPlayer#hasSession()
      */
-    public static CyberPlayer from(ProxiedPlayer player) { return new CyberPlayer(player); }
+    public static CyberPlayer from(ProxiedPlayer player) {
+        CyberPlayer session = SESSIONS.get(player.getUniqueId());
+        return session != null ? session : new CyberPlayer(player);
+    }
 
     /**
-     * Creates a CyberAPI player from a unique ID
+     * Gets a CyberAPI player from a unique ID, which is the player's session if they are online
      * @param uuid the unique ID
      * @since 15
+     * @see CyberPlayer#hasSession()
      */
-    public static CyberPlayer from(UUID uuid) { return new CyberPlayer(uuid); }
+    public static CyberPlayer from(UUID uuid) {
+        CyberPlayer session = SESSIONS.get(uuid);
+        return session != null ? session : new CyberPlayer(uuid);
+    }
 
     /**
      * Creates a CyberAPI player from a username
@@ -84,6 +101,77 @@ public class CyberPlayer {
     @Deprecated
     public static CyberPlayer from(String name) { return new CyberPlayer(name); }
 
+    /**
+     * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+     * <br> <br>
+     * Opens the session of a player that has joined, so that {@link CyberPlayer#from(UUID)} and the other {@code from} methods give back the
+     * same {@link CyberPlayer} for as long as they are online
+     * @param player the player that joined
+     * @return the player's session
+     * @since 185
+     */
+    @ApiStatus.Internal
+    public static CyberPlayer openSession(ProxiedPlayer player) {
+        CyberPlayer handle = new CyberPlayer(player);
+        handle.session = true;
+        CyberPlayer replaced = SESSIONS.open(player.getUniqueId(), handle);
+        if (replaced != null) replaced.endSession();
+        return handle;
+    }
+
+    /**
+     * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+     * <br> <br>
+     * Closes the session of a player that has quit
+     * @param uuid the {@link UUID} of the player
+     * @since 185
+     */
+    @ApiStatus.Internal
+    public static void closeSession(UUID uuid) {
+        CyberPlayer handle = SESSIONS.close(uuid);
+        if (handle != null) handle.endSession();
+    }
+
+    /**
+     * Gets the {@link CyberPlayer} of every online player, which are the same instances that the {@code from} methods give back
+     * @return every online player, which cannot be changed
+     * @since 185
+     */
+    public static Collection<CyberPlayer> getOnlinePlayers() { return SESSIONS.values(); }
+
+    private void endSession() {
+        this.session = false;
+        this.onlineActions = null;
+        this.luckPermsData = null;
+    }
+
+    /**
+     * Gets whether this is the session of an online player, meaning the {@code from} methods give back this same instance and things like
+     * {@link CyberPlayer#getOnlineActions()} are only created once
+     * @return whether this is the player's session
+     * @since 185
+     */
+    public boolean hasSession() { return this.session; }
+
+    /**
+     * Gets the per-player state that plugins have attached to this player. While the player is online, this is the same metadata no matter
+     * which {@link CyberPlayer} instance it is gotten from, and it lasts until they quit.
+     * @return the player's metadata
+     * @since 185
+     */
+    public PlayerMetadata getMetadata() {
+        if (!this.session) {
+            CyberPlayer session = SESSIONS.get(getUniqueID());
+            if (session != null) return session.getMetadata();
+        }
+        PlayerMetadata metadata = this.metadata;
+        if (metadata != null) return metadata;
+        synchronized (this) {
+            if (this.metadata == null) this.metadata = new PlayerMetadata();
+            return this.metadata;
+        }
+    }
+
 
     /**
      * Gets the {@link ProxiedPlayer} object
@@ -135,39 +223,30 @@ public class CyberPlayer {
     /**
      * Gets a user's head with specified settings in {@link String} form
      * <br>
-     * <b>Note: This is obtaining the user head from a URL, meaning you should cache this or use asynchronous events</b>
+     * <b>Note: This is obtaining the user head from a URL if it is not cached, meaning you should use {@link CyberPlayer#getUserHeadAsync(UserHeadSettings)} or asynchronous events</b>
      * @param settings the settings to apply to the chat {@link String}
      * @return the character's head, preferably to be printed in chat
      * @throws IOException if the player or the URL cannot resolve
      * @see OnlineActions#printUserHead(UserHeadSettings)
+     * @see UserHeadRenderer
      * @since 15
      */
     public String getUserHead(@Nullable UserHeadSettings settings) throws IOException {
-        if (settings == null) settings = UserHeadSettings.builder().build();
-
-        String trimmedUUID = uuid.toString().replace("-", "");
-
-        URL url = new URL("https://minotar.net/avatar/" + trimmedUUID + "/" + settings.getImageScale() + ".png");
-        if (settings.shouldShowHelmet()) {
-            url = new URL("https://minotar.net/helm/" + trimmedUUID + "/" + settings.getImageScale() + ".png");
-        }
+        return UserHeadRenderer.renderNow(uuid, settings);
+    }
 
-        BufferedImage img = ImageIO.read(url);
-
-        StringBuilder columnBuilder = new StringBuilder();
-        for(int row=0; row<img.getHeight(); row++) {
-            StringBuilder rowBuilder = new StringBuilder();
-            for (int column=0; column<img.getWidth(); column++) {
-                String hex = "#" + Integer.toHexString(img.getRGB(column, row)).substring(2);
-                rowBuilder.append(net.md_5.bungee.api.ChatColor.of(hex)).append(settings.getCharacter());
-            }
-            try {
-                columnBuilder.append(rowBuilder).append(" ").append(settings.getLines()[row]).append("\n");
-            } catch (ArrayIndexOutOfBoundsException arrayIndexOutOfBoundsException) {
-                columnBuilder.append("\n");
-            }
-        }
-        return columnBuilder.toString();
+    /**
+     * Gets a user's head with specified settings in {@link String} form, without blocking the calling thread. Both the image and the
+     * rendered head are cached, so asking for the same head again does not download it again.
+     * @param settings the settings to apply to the chat {@link String}
+     * @return the character's head, preferably to be printed in chat, which completes exceptionally with an {@link IOException} if the
+     * player or the URL cannot resolve
+     * @see OnlineActions#printUserHeadAsync(UserHeadSettings)
+     * @see UserHeadRenderer
+     * @since 185
+     */
+    public CompletableFuture<String> getUserHeadAsync(@Nullable UserHeadSettings settings) {
+        return UserHeadRenderer.render(uuid, settings);
     }
 
     /**
@@ -200,8 +279,12 @@ public class CyberPlayer {
     public LuckPermsData getLuckPermsData() {
         Validators.validateLuckPermsHook();
         if (!CyberAPI.getInstance().getLuckPermsSupport().equals(FeatureSupport.SUPPORTED)) return null;
+        LuckPermsData data = this.luckPermsData;
+        if (data != null) return data;
         UserManager manager = LuckPermsProvider.get().getUserManager();
-        return new LuckPermsData(manager.getUser(getUniqueID()));
+        data = new LuckPermsData(manager.getUser(getUniqueID()));
+        if (this.session && data.getUser() != null) this.luckPermsData = data; // LuckPerms keeps the same user loaded until they quit
+        return data;
     }
 
     /**
@@ -307,7 +390,14 @@ public class CyberPlayer {
      * @return returns the {@link OnlineActions} instance, {@code null} if the player is offline
      * @since 15
      */
-    @Nullable public OnlineActions getOnlineActions() { return (isOnline() ? new OnlineActions() : null); }
+    @Nullable public OnlineActions getOnlineActions() {
+        ProxiedPlayer player = getPlayer();
+        if (player == null) return null;
+        OnlineActions actions = this.onlineActions;
+        if (actions == null || actions.player != player) // they reconnected since, so there is a new ProxiedPlayer object
+            this.onlineActions = actions = new OnlineActions();
+        return actions;
+    }
 
     /**
      * The online actions that can be used only if the player is online
@@ -452,6 +542,18 @@ public class CyberPlayer {
         public void printUserHead() throws IOException {
             printUserHead(UserHeadSettings.builder().build());
         }
+
+        /**
+         * Prints the user's head in their chat using specified {@link UserHeadSettings}, once it has been downloaded, without blocking the
+         * calling thread. The head is sent from the proxy's scheduler.
+         * @param settings the settings to apply to {@link CyberPlayer#getUserHeadAsync(UserHeadSettings)}
+         * @return completes once the head has been printed, or exceptionally with an {@link IOException} if the player or the URL cannot resolve
+         * @see CyberPlayer#getUserHeadAsync(UserHeadSettings)
+         * @since 185
+         */
+        public CompletableFuture<Void> printUserHeadAsync(@Nullable UserHeadSettings settings) {
+            return getUserHeadAsync(settings).thenAcceptAsync(head -> player.sendMessage(UChat.bComponent(head)), task -> ProxyServer.getInstance().getScheduler().runAsync(CyberAPI.getInstance(), task)); // not from the download thread
+        }
     }
 
 }
@@ -0,0 +1,26 @@
+package net.cybercake.cyberapi.bungee.server;
+
+import net.cybercake.cyberapi.bungee.player.CyberPlayer;
+import net.cybercake.cyberapi.common.player.ProfileCache;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
+
+public class CyberAPIListeners implements Listener {
+
+    @EventHandler(priority = EventPriority.LOWEST) // before anyone else, so their listeners already get the player's session
+    public void onPostLoginEvent(PostLoginEvent event) {
+        ProxiedPlayer player = event.getPlayer();
+        CyberPlayer.openSession(player);
+        ProfileCache.put(player.getUniqueId(), player.getName()); // also records them in the profile directory, if it is enabled
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST) // after anyone else, so their listeners can still use the player's session
+    public void onPlayerDisconnectEvent(PlayerDisconnectEvent event) {
+        CyberPlayer.closeSession(event.getPlayer().getUniqueId());
+    }
+
+}
@@ -1,8 +1,8 @@
 package net.cybercake.cyberapi.bungee.server.commands;
 
 import net.cybercake.cyberapi.bungee.CyberAPI;
-import net.cybercake.cyberapi.bungee.Validators;
 import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.server.autoregister.AutoRegisterPipeline;
 import net.md_5.bungee.api.ChatColor;
 
 import java.lang.reflect.Method;
@@ -25,14 +25,20 @@ public class CommandManager {
     public void init(String path) {
         try {
             long mss = System.currentTimeMillis();
-            for(Class<?> clazz : CyberAPI.getInstance().getPluginClasses()) {
-                if (!(Validators.isSubtype(clazz, BungeeCommand.class)) && !(Validators.isSubtype(clazz, Command.class))) continue;
-                BungeeCommand command = (BungeeCommand) clazz.getDeclaredConstructors()[0].newInstance();
+            AutoRegisterPipeline pipeline = CyberAPI.getInstance().getAutoRegisterPipeline();
+            for(Class<? extends BungeeCommand> clazz : pipeline.getMatches(BungeeCommand.class)) {
+                if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
+                BungeeCommand command = pipeline.time(AutoRegisterPipeline.Phase.INSTANTIATE, () -> {
+                    try {
+                        return (BungeeCommand) clazz.getDeclaredConstructors()[0].newInstance();
+                    } catch (ReflectiveOperationException exception) {
+                        throw new IllegalStateException("Command failed to load: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), exception);
+                    }
+                });
                 try {
                     if (!command.getMainCommand().shouldAutoRegister()) continue;
-                    if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
                     autoRegisteredCommands++;
-                    resolveInformationAndRegister(command);
+                    pipeline.time(AutoRegisterPipeline.Phase.REGISTER, () -> resolveInformationAndRegister(command));
                     CyberAPI.getInstance().getAPILogger().verbose("Registered command automatically: " + clazz.getCanonicalName() + " -> /" + command.getMainCommand().getName() + " (with aliases: " + String.join(", ", Arrays.stream(command.getAliases()).map(alias -> "/" + alias).toArray(String[]::new)) + ")");
                 } catch (Exception exception) {
                     CyberAPI.getInstance().getAPILogger().error("An error occurred whilst registering command /" + command.getName() + ": " + ChatColor.DARK_GRAY + exception);
@@ -2,23 +2,85 @@ package net.cybercake.cyberapi.bungee.server.commands.cooldown;
 
 import com.google.common.base.Preconditions;
 import net.cybercake.cyberapi.bungee.server.commands.CommandInformation;
+import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.server.cooldowns.CooldownSnapshotFile;
+import net.cybercake.cyberapi.common.server.cooldowns.CooldownStore;
 import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
 
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class ActiveCooldown implements Serializable {
 
-    private final static List<ActiveCooldown> activeCooldowns = new ArrayList<>();
+    private final static CooldownStore<String, ActiveCooldown> activeCooldowns = new CooldownStore<>(ActiveCooldown::getExpiration);
+    private static volatile @Nullable CooldownSnapshotFile persistence = null; // read by persist() without holding the lock
+
+    private static String getCommandKey(CommandInformation information) { return information.getName().toLowerCase(Locale.ROOT); }
+
+    /**
+     * Loads the cooldowns stored in a file and keeps that file updated as cooldowns are set or cancelled, allowing cooldowns to survive restarts
+     * <br> <br>
+     * Loaded cooldowns are not yet tied to a {@link CommandSender} or {@link CommandInformation}, this happens the first time
+     * {@link ActiveCooldown#getCooldownFor(CommandSender, CommandInformation)} finds them.
+     * @param file the file to store cooldowns in, CyberAPI uses 'cooldowns.bin' in your plugin's data folder
+     * @param errorHandler what to do when writing the file fails, since writing happens on a separate thread
+     * @throws IOException if the file exists but cannot be read
+     * @since 185
+     * @see Settings.Builder#persistCooldowns(boolean)
+     */
+    public static synchronized void enablePersistence(File file, Consumer<Exception> errorHandler) throws IOException {
+        disablePersistence();
+        CooldownSnapshotFile snapshotFile = new CooldownSnapshotFile(file, () -> activeCooldowns.values().stream().map(ActiveCooldown::toEntry).toList(), errorHandler);
+        for (CooldownSnapshotFile.Entry entry : snapshotFile.load())
+            activeCooldowns.put(entry.sender(), entry.command(), new ActiveCooldown(null, null, entry.sender(), entry.command(), -1L, entry.expiration()));
+        persistence = snapshotFile;
+    }
+
+    /**
+     * Stops storing cooldowns in the file given to {@link ActiveCooldown#enablePersistence(File, Consumer)}, waiting for any queued writes to finish
+     * @since 185
+     */
+    public static synchronized void disablePersistence() {
+        if (persistence == null) return;
+        persistence.close();
+        persistence = null;
+    }
+
+    private static void persist(List<ActiveCooldown> cooldowns, boolean cancelled) {
+        @Nullable CooldownSnapshotFile file = persistence;
+        if (file == null) return;
+        for (ActiveCooldown cooldown : cooldowns)
+            file.append(cancelled ? new CooldownSnapshotFile.Entry(cooldown.senderId, cooldown.command, 0L) : cooldown.toEntry());
+    }
+
+    /**
+     * Gets the {@link UUID} that cooldowns for a {@link CommandSender} are stored under
+     * <br> <br>
+     * {@link ProxiedPlayer players} use their own {@link UUID}, any other sender (such as the console) uses a {@link UUID} made from its name
+     * @param sender the {@link CommandSender}
+     * @return the {@link UUID} of that sender
+     * @since 185
+     */
+    public static UUID getSenderId(CommandSender sender) {
+        if (sender instanceof ProxiedPlayer player) return player.getUniqueId();
+        return UUID.nameUUIDFromBytes(("CommandSender:" + sender.getName()).getBytes(StandardCharsets.UTF_8));
+    }
 
     /**
-     * @return the current list of active cooldowns
+     * @return a snapshot of the current list of active cooldowns, expired cooldowns are removed automatically
      * @since 79
      */
-    public static List<ActiveCooldown> getActiveCooldowns() { return activeCooldowns; }
+    public static List<ActiveCooldown> getActiveCooldowns() { return activeCooldowns.values(); }
 
     /**
      * Retrieves a cooldown using {@link ActiveCooldown#getActiveCooldowns()} but for a specific {@link CommandSender}
@@ -27,7 +89,7 @@ public class ActiveCooldown implements Serializable {
      * @since 79
      */
     public static List<ActiveCooldown> getCooldownFor(CommandSender sender) {
-        return getActiveCooldowns().stream().filter(cooldown -> cooldown.getSender().equals(sender)).toList(); }
+        return activeCooldowns.get(getSenderId(sender)); }
 
     /**
      * Retrieves a cooldown using {@link ActiveCooldown#getActiveCooldowns()} but for a specific {@link CommandInformation} (command)
@@ -36,21 +98,25 @@ public class ActiveCooldown implements Serializable {
      * @since 79
      */
     public static List<ActiveCooldown> getCooldownFor(CommandInformation commandInformation) {
-        return getActiveCooldowns().stream().filter(cooldown -> cooldown.getInformation().equals(commandInformation)).toList(); }
+        return activeCooldowns.getFor(getCommandKey(commandInformation)); }
 
     /**
      * Retrieves a cooldown using {@link ActiveCooldown#getActiveCooldowns()} but for a specific {@link CommandSender} and {@link CommandInformation} (command)
      * @param sender the {@link CommandSender} who has an {@link ActiveCooldown}
      * @param commandInformation the {@link CommandInformation} who has an {@link ActiveCooldown}
-     * @return the {@link ActiveCooldown} of that users current cooldown with the command
+     * @return the {@link ActiveCooldown} of that users current cooldown with the command, or null if there is no cooldown that has not yet expired
      * @since 79
      */
-    public static ActiveCooldown getCooldownFor(CommandSender sender, CommandInformation commandInformation) {
-        return getActiveCooldowns()
-                .stream()
-                .filter(cooldown -> cooldown.getInformation().equals(commandInformation) && cooldown.getSender().equals(sender))
-                .findFirst()
-                .orElse(null); }
+    public static @Nullable ActiveCooldown getCooldownFor(CommandSender sender, CommandInformation commandInformation) {
+        UUID senderId = getSenderId(sender);
+        @Nullable ActiveCooldown cooldown = activeCooldowns.get(senderId, getCommandKey(commandInformation));
+        if (cooldown == null || cooldown.getInformation() != null) return cooldown;
+
+        // loaded from a file, so tie it to the sender and command now that they are known
+        ActiveCooldown bound = new ActiveCooldown(commandInformation, sender, senderId, cooldown.command, cooldown.started, cooldown.expiration);
+        activeCooldowns.put(senderId, bound.command, bound);
+        return bound;
+    }
 
     /**
      * Cancels the cooldown for a specific {@link CommandSender sender}
@@ -58,7 +124,10 @@ public class ActiveCooldown implements Serializable {
      * @since 79
      */
     public static void cancelCooldownFor(CommandSender sender) {
-        getActiveCooldowns().stream().filter(cooldown -> cooldown.getSender().equals(sender)).toList().forEach(activeCooldowns::remove);
+        UUID senderId = getSenderId(sender);
+        List<ActiveCooldown> cancelled = activeCooldowns.get(senderId);
+        activeCooldowns.remove(senderId); // removed before persisting, so a compaction started by the persist cannot still include them
+        persist(cancelled, true);
     }
 
     /**
@@ -67,7 +136,9 @@ public class ActiveCooldown implements Serializable {
      * @since 79
      */
     public static void cancelCooldownFor(CommandInformation commandInformation) {
-        getActiveCooldowns().stream().filter(cooldown -> cooldown.getInformation().equals(commandInformation)).toList().forEach(activeCooldowns::remove);
+        List<ActiveCooldown> cancelled = activeCooldowns.getFor(getCommandKey(commandInformation));
+        activeCooldowns.removeFor(getCommandKey(commandInformation));
+        persist(cancelled, true);
     }
 
     /**
@@ -77,17 +148,22 @@ public class ActiveCooldown implements Serializable {
      * @since 79
      */
     public static void cancelCooldownFor(CommandSender sender, CommandInformation commandInformation) {
-        getActiveCooldowns().stream().filter(cooldown -> cooldown.getInformation().equals(commandInformation) && cooldown.getSender().equals(sender)).toList().forEach(activeCooldowns::remove);
+        UUID senderId = getSenderId(sender);
+        @Nullable ActiveCooldown cooldown = activeCooldowns.get(senderId, getCommandKey(commandInformation));
+        if (cooldown == null) return;
+        activeCooldowns.remove(senderId, getCommandKey(commandInformation));
+        persist(List.of(cooldown), true);
     }
 
     /**
-     * Creates a new cooldown for a {@link CommandInformation command}, {@link CommandSender sender}, and with an expiration date (in {@link java.util.concurrent.TimeUnit#MILLISECONDS})
+     * Creates a new cooldown for a {@link CommandInformation command}, {@link CommandSender sender}, and with an expiration date (in {@link java.util.concurrent.TimeUnit#MILLISECONDS}), replacing any existing cooldown for that sender and command
      * @return the new {@link ActiveCooldown} instance
      * @since 79
      */
     public static ActiveCooldown setNewCooldown(CommandInformation information, CommandSender sender, long expiration) {
         ActiveCooldown cooldown = new ActiveCooldown(information, sender, expiration);
-        activeCooldowns.add(cooldown);
+        activeCooldowns.put(cooldown.senderId, cooldown.command, cooldown);
+        persist(List.of(cooldown), false);
         return cooldown;
     }
 
@@ -100,12 +176,14 @@ public class ActiveCooldown implements Serializable {
         return setNewCooldown(information, sender, expiration.getTime());
     }
 
-    private final CommandInformation information;
-    private final CommandSender sender;
+    private final @Nullable CommandInformation information;
+    private final @Nullable CommandSender sender;
+    private final UUID senderId;
+    private final String command;
     private final long started;
     private final long expiration;
 
-    private ActiveCooldown() { this.information = null; this.sender = null; this.started = -1L; this.expiration = -1L; }
+    private ActiveCooldown() { this.information = null; this.sender = null; this.senderId = null; this.command = null; this.started = -1L; this.expiration = -1L; }
     private ActiveCooldown(CommandInformation information, CommandSender sender, long expiration) {
         Preconditions.checkNotNull(information, "information");
         Preconditions.checkNotNull(sender, "sender");
@@ -113,24 +191,48 @@ public class ActiveCooldown implements Serializable {
 
         this.information = information;
         this.sender = sender;
+        this.senderId = getSenderId(sender);
+        this.command = getCommandKey(information);
         this.started = System.currentTimeMillis();
         this.expiration = expiration;
     }
+    private ActiveCooldown(@Nullable CommandInformation information, @Nullable CommandSender sender, UUID senderId, String command, long started, long expiration) {
+        this.information = information;
+        this.sender = sender;
+        this.senderId = senderId;
+        this.command = command;
+        this.started = started;
+        this.expiration = expiration;
+    }
+
+    private CooldownSnapshotFile.Entry toEntry() { return new CooldownSnapshotFile.Entry(this.senderId, this.command, this.expiration); }
 
     /**
-     * @return the {@link CommandInformation command} associated with this cooldown
+     * @return the {@link CommandInformation command} associated with this cooldown, or null if it was loaded from a file and has not been looked up yet
      * @since 79
      */
-    public CommandInformation getInformation() { return this.information; }
+    public @Nullable CommandInformation getInformation() { return this.information; }
 
     /**
-     * @return the {@link CommandSender sender} associated with this cooldown
+     * @return the {@link CommandSender sender} associated with this cooldown, or null if it was loaded from a file and has not been looked up yet
      * @since 79
      */
-    public CommandSender getSender() { return this.sender; }
+    public @Nullable CommandSender getSender() { return this.sender; }
+
+    /**
+     * @return the {@link UUID} of the sender associated with this cooldown, see {@link ActiveCooldown#getSenderId(CommandSender)}
+     * @since 185
+     */
+    public UUID getSenderId() { return this.senderId; }
+
+    /**
+     * @return the lowercase name of the command associated with this cooldown
+     * @since 185
+     */
+    public String getCommandName() { return this.command; }
 
     /**
-     * @return the unix timestamp (represented in milliseconds) of when the cooldown started
+     * @return the unix timestamp (represented in milliseconds) of when the cooldown started, or -1 if it was loaded from a file
      * @since 79
      */
     public long getStarted() { return this.started; }
@@ -146,6 +248,8 @@ public class ActiveCooldown implements Serializable {
         return this.getClass().getSimpleName() + "{" +
                 "information=" + information +
                 ", sender=" + sender +
+                ", senderId=" + senderId +
+                ", command=" + command +
                 ", started=" + started +
                 ", expiration=" + expiration +
                 '}';
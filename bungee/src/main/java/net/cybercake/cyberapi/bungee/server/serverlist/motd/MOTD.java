@@ -1,15 +1,13 @@
 package net.cybercake.cyberapi.bungee.server.serverlist.motd;
 
+import net.cybercake.cyberapi.common.chat.TextMetrics;
 import net.cybercake.cyberapi.bungee.chat.UChat;
-import net.cybercake.cyberapi.bungee.chat.centered.CenteredMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.md_5.bungee.api.ProxyServer;
 
 import javax.annotation.Nullable;
 import java.io.File;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @since 28
@@ -223,23 +221,18 @@ public class MOTD {
      * @since 28
      */
     public String getFormattedMOTD() {
-        boolean centered = isCentered();
         String text = getStringMOTD();
 
-        if (centered) {
-            List<String> newMOTD = new ArrayList<>();
-            for(String str : text.split("\\n"))
-                newMOTD.add(new CenteredMessage(str, 45).getString());
-            text = String.join("\n", newMOTD);
-        }
-
-        return switch(this.getMOTDTextFormatter()) {
+        String formatted = switch(this.getMOTDTextFormatter()) {
             case LEGACY -> UChat.chat(text);
             case MINIMESSAGE ->
                     LegacyComponentSerializer.builder().useUnusualXRepeatedCharacterHexFormat().hexColors().build()
                             .serialize(UChat.miniMessage(text));
             default -> text;
         };
+
+        // centered after formatting, so that MiniMessage tags are not measured as if they were text
+        return isCentered() ? TextMetrics.center(formatted, TextMetrics.MOTD_WIDTH) : formatted;
     }
 
 }
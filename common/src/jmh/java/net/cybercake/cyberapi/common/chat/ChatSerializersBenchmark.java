@@ -0,0 +1,55 @@
+package net.cybercake.cyberapi.common.chat;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached serializers in {@link ChatSerializers} against building a new serializer for every message, which is what
+ * {@code ChatFormatType} and {@code UChat} did before
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatSerializersBenchmark {
+
+    private static final String LEGACY = "&6&lShop &8» &#55ff55You bought &x&f&f&a&a&0&0a diamond sword &7for &e250 coins&7!";
+    private static final String MINI_MESSAGE = "<gold><bold>Shop</bold> <dark_gray>» <#55ff55>You bought <#ffaa00>a diamond sword <gray>for <yellow>250 coins<gray>!";
+
+    private Component component;
+
+    @Setup
+    public void setup() { this.component = ChatSerializers.legacy('&').deserialize(LEGACY); }
+
+    @Benchmark
+    public Component legacyCached() { return ChatSerializers.legacy('&').deserialize(LEGACY); }
+
+    @Benchmark
+    public Component legacyBuiltEveryTime() {
+        return LegacyComponentSerializer.builder()
+                .hexColors()
+                .useUnusualXRepeatedCharacterHexFormat()
+                .character('&')
+                .build()
+                .deserialize(LEGACY);
+    }
+
+    @Benchmark
+    public String legacySerializeCached() { return ChatSerializers.legacy('&').serialize(this.component); }
+
+    @Benchmark
+    public Component miniMessageCached() { return ChatSerializers.miniMessage(false).deserialize(MINI_MESSAGE); }
+
+    @Benchmark
+    public Component miniMessageBuiltEveryTime() { return MiniMessage.builder().strict(false).build().deserialize(MINI_MESSAGE); }
+
+}
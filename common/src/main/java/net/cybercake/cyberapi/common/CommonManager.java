@@ -5,6 +5,7 @@ import com.google.gson.JsonParser;
 import io.netty.util.internal.UnstableApi;
 import net.cybercake.cyberapi.common.basic.logs.Logs;
 import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.player.ProfileCache;
 import net.cybercake.cyberapi.common.server.ConsoleModifiers;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
@@ -15,7 +16,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface CommonManager {
 
@@ -31,7 +35,9 @@ public interface CommonManager {
     @SuppressWarnings({"all"})
     default void registerLog4jModifiers() {
         try {
-            ((Logger) LogManager.getRootLogger()).addFilter(new ConsoleModifiers(this));
+            ConsoleModifiers modifiers = new ConsoleModifiers(this);
+            ((Logger) LogManager.getRootLogger()).addFilter(modifiers);
+            ConsoleModifiers.install(modifiers);
         } catch (Exception exception) {
             throw new IllegalArgumentException("Failed to register Log4J modified in CyberAPI! This is CyberAPI's fault.", exception);
         }
@@ -57,24 +63,31 @@ public interface CommonManager {
      */
     @SuppressWarnings({"deprecation"})
     default Logs createOrGetLogs(String id, File file) {
-        return (Logs.getFromID(id) != null ? new Logs(id, file) : Logs.getFromID(id));
+        return (Logs.getFromID(id) == null ? new Logs(id, file) : Logs.getFromID(id));
     }
 
     /**
      * Gets a player's {@link UUID} from a given {@link String} username
      * <br>
-     * <b>Note: This is obtaining the {@link UUID} from a URL, meaning you should cache this or use asynchronous events</b>
+     * <b>Note: This is obtaining the {@link UUID} from a URL, meaning you should cache this or use asynchronous events</b>, unless the player
+     * is already in the {@link ProfileCache} or the {@link net.cybercake.cyberapi.common.player.ProfileDirectory ProfileDirectory}
      * @param name the name to retrieve the UUID from
      * @return the UUID associated with the name
      * @since 1
+     * @see CommonManager#getUUIDAsync(String)
      */
     default UUID getUUID(String name) {
+        UUID cached = ProfileCache.getCachedUUID(name);
+        if (cached != null) return cached;
         try {
             BufferedReader reader = new BufferedReader(new InputStreamReader(new URL("https://api.mojang.com/users/profiles/minecraft/" + name).openStream()));
-            String strUUID = (((JsonObject) JsonParser.parseReader(reader)).get("id")).toString().replaceAll("\"", "");
+            JsonObject profile = (JsonObject) JsonParser.parseReader(reader);
+            String strUUID = profile.get("id").toString().replaceAll("\"", "");
             strUUID = strUUID.replaceAll("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
             reader.close();
-            return UUID.fromString(strUUID);
+            UUID uuid = UUID.fromString(strUUID);
+            ProfileCache.put(uuid, profile.has("name") ? profile.get("name").getAsString() : name); // the name as it is actually capitalized
+            return uuid;
         } catch (ClassCastException | IOException exception) {
             throw new IllegalArgumentException("Unable to get the UUID of " + name, exception);
         }
@@ -83,12 +96,33 @@ public interface CommonManager {
     /**
      * Gets a player's {@link String} username from a given {@link UUID}
      * <br>
-     * <b>Note: This is obtaining the {@link UUID} from a URL, meaning you should cache this or use asynchronous events</b>
+     * <b>Note: This is obtaining the {@link UUID} from a URL, meaning you should cache this or use asynchronous events</b>, unless the player
+     * is already in the {@link ProfileCache} or the {@link net.cybercake.cyberapi.common.player.ProfileDirectory ProfileDirectory}
      * @param uuid the uuid to retrieve the name from
      * @return the name associated with the UUID
      * @since 1
+     * @see CommonManager#getNameAsync(UUID)
      */
     default String getName(UUID uuid) {
+        String cached = ProfileCache.getCachedName(uuid);
+        if (cached != null) return cached;
+        String name = lookupName(uuid);
+        ProfileCache.put(uuid, name);
+        return name;
+    }
+
+    /**
+     * Looks up a player's {@link String} username from Mojang's session server, without checking or adding to the {@link ProfileCache}.
+     * This is what the {@link ProfileCache} uses to look a name up (again), so that a player who changed their name is picked up.
+     * <br>
+     * <b>I would not recommend calling this method yourself, use {@link CommonManager#getName(UUID)} or {@link CommonManager#getNameAsync(UUID)} instead!</b>
+     * @param uuid the uuid to retrieve the name from
+     * @return the name associated with the UUID
+     * @throws IllegalArgumentException if the name could not be looked up
+     * @since 185
+     */
+    @ApiStatus.Internal
+    default String lookupName(UUID uuid) {
         try {
             String name;
             BufferedReader reader = new BufferedReader(new InputStreamReader(new URL("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid).openStream()));
@@ -100,6 +134,35 @@ public interface CommonManager {
         }
     }
 
+    /**
+     * Gets a player's {@link UUID} from a given {@link String} username, without blocking the calling thread. The result is kept in the
+     * {@link ProfileCache}, so asking for the same player again does not look them up again, and names asked for around the same time are
+     * looked up together by the {@link net.cybercake.cyberapi.common.player.ProfileResolver ProfileResolver}.
+     * @param name the name to retrieve the UUID from, not case-sensitive
+     * @return the UUID associated with the name, which completes exceptionally with an {@link IllegalArgumentException} if it could not be found
+     * @since 185
+     */
+    default CompletableFuture<UUID> getUUIDAsync(String name) { return ProfileCache.getUUID(name); }
+
+    /**
+     * Gets many players' {@link UUID UUIDs} from their {@link String} usernames at once, without blocking the calling thread. Any that are
+     * not in the {@link ProfileCache} are looked up in bulk, so a leaderboard of a hundred players only sends a handful of requests.
+     * @param names the names to retrieve the UUIDs from, not case-sensitive
+     * @return each name (in lowercase) and the UUID associated with it, leaving out any names that could not be found
+     * @since 185
+     */
+    default CompletableFuture<Map<String, UUID>> getUUIDsAsync(Collection<String> names) { return ProfileCache.getUUIDs(names); }
+
+    /**
+     * Gets a player's {@link String} username from a given {@link UUID}, without blocking the calling thread. The result is kept in the
+     * {@link ProfileCache}, so asking for the same player again does not look them up again, and many lookups for the same player at once
+     * only send one request.
+     * @param uuid the uuid to retrieve the name from
+     * @return the name associated with the UUID, which completes exceptionally with an {@link IllegalArgumentException} if it could not be found
+     * @since 185
+     */
+    default CompletableFuture<String> getNameAsync(UUID uuid) { return ProfileCache.getName(uuid); }
+
     /**
      * Gets the settings that were set in CyberAPI when the server was initialized.
      * @return the {@link Settings} object that was used to start CyberAPI
@@ -0,0 +1,102 @@
+package net.cybercake.cyberapi.common.basic;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * A bounded, lock-free queue that any amount of threads can add to, but only one thread may take from at a time (multi-producer,
+ * single-consumer). Every slot in the ring has a sequence number, so producers only ever compete over one {@link AtomicLong} and
+ * never block each other, and the consumer never needs a lock at all.
+ * @param <E> the type of element in the queue
+ * @since 185
+ */
+@ApiStatus.Internal
+public class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // only ever touched by the consumer
+
+    /**
+     * Creates a new ring buffer
+     * @param capacity the minimum amount of elements the ring buffer can hold, rounded up to the next power of two
+     * @since 185
+     */
+    public MpscRingBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= (1 << 30), "The capacity must be between 1 and 2^30, got " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int index = 0; index < size; index++)
+            this.sequences.set(index, index);
+    }
+
+    /**
+     * Adds an element to the queue, safe to call from any thread
+     * @param element the element to add
+     * @return true if the element was added, false if the ring buffer is full
+     * @since 185
+     */
+    public boolean offer(E element) {
+        Preconditions.checkNotNull(element, "Cannot add a null element to the ring buffer");
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.buffer.set(index, element);
+                    this.sequences.set(index, position + 1); // publishes the element to the consumer
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // the consumer has not caught up to this slot yet
+            }
+            position = this.tail.get();
+        }
+    }
+
+    /**
+     * Takes the oldest element from the queue, only one thread may call this at a time
+     * @return the oldest element, or null if the queue is empty
+     * @since 185
+     */
+    public @Nullable E poll() {
+        int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) return null;
+
+        E element = this.buffer.get(index);
+        this.buffer.set(index, null);
+        this.sequences.set(index, this.head + this.mask + 1); // hands the slot back to the producers for the next lap
+        this.head++;
+        return element;
+    }
+
+    /**
+     * @return an estimate of the amount of elements in the queue, which may already be out of date when returned
+     * @since 185
+     */
+    public int size() {
+        long size = this.tail.get() - this.head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * @return the amount of elements the ring buffer can hold
+     * @since 185
+     */
+    public int capacity() { return this.mask + 1; }
+
+}
@@ -0,0 +1,72 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Represents a single line read from a {@link Logs} file, see {@link Logs#query()}
+ * @since 185
+ */
+public class LogEntry {
+
+    private final long offset;
+    private final String line;
+    private final @Nullable String formattedTime;
+    private final @Nullable Logs.LogLevel level;
+    private final String message;
+    private final @Nullable Instant time;
+
+    LogEntry(long offset, String line, @Nullable String formattedTime, @Nullable Logs.LogLevel level, String message, @Nullable Instant time) {
+        this.offset = offset;
+        this.line = line;
+        this.formattedTime = formattedTime;
+        this.level = level;
+        this.message = message;
+        this.time = time;
+    }
+
+    /**
+     * @return the position in the file, in bytes, that this line starts at
+     * @since 185
+     */
+    public long getOffset() { return this.offset; }
+
+    /**
+     * @return the entire line, exactly as it is in the file
+     * @since 185
+     */
+    public String getLine() { return this.line; }
+
+    /**
+     * @return the time as it was written in the file, formatted using {@link Logs#getDateFormat()}, or null if the line is not a log
+     * written by {@link Logs#write(Logs.LogLevel, String, String...)}
+     * @since 185
+     */
+    public @Nullable String getFormattedTime() { return this.formattedTime; }
+
+    /**
+     * @return the {@link Logs.LogLevel} of the line, or null if the line is not a log written by {@link Logs#write(Logs.LogLevel, String, String...)}
+     * @since 185
+     */
+    public @Nullable Logs.LogLevel getLevel() { return this.level; }
+
+    /**
+     * @return the message of the line, including any extras, or the entire line if it is not a log written by {@link Logs#write(Logs.LogLevel, String, String...)}
+     * @since 185
+     */
+    public String getMessage() { return this.message; }
+
+    /**
+     * Gets the time that the line was logged. If the {@link Logs#getDateFormat() date format} does not include a date, the date comes from
+     * the timestamp index that is written alongside the log file, so lines written before the index existed (such as by a version of
+     * CyberAPI older than 185) have no time.
+     * @return the time the line was logged, or null if it cannot be worked out
+     * @since 185
+     */
+    public @Nullable Instant getTime() { return this.time; }
+
+    @Override
+    public String toString() { return this.line; }
+
+}
@@ -0,0 +1,108 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The sparse timestamp index written alongside a {@link Logs} file, as "{@code <name>.idx}". Every {@link LogIndex#INTERVAL} bytes of the
+ * log, and for the first line of every day, one record of the time (unix time in milliseconds) and the position of the line that was written
+ * is added, which lets a time range be found without reading the log from the start. Having a record every day also means log formats
+ * without a date can still be dated, since a day without any records could otherwise not be told apart from the day before.
+ */
+class LogIndex {
+
+    static final int INTERVAL = 64 * 1024;
+    private static final int RECORD_SIZE = Long.BYTES * 2;
+
+    static Path pathOf(File log) { return log.toPath().resolveSibling(log.getName() + ".idx"); }
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private long lastOffset = -1;
+    private long lastDay = Long.MIN_VALUE; // the local epoch day of the last record
+
+    private LogIndex(FileChannel channel) { this.channel = channel; }
+
+    /**
+     * Opens the index for writing, throwing out any records that point past the end of the log (for example if the log was replaced)
+     */
+    static LogIndex open(File log, long logSize, ZoneOffset zoneOffset) throws IOException {
+        FileChannel channel = FileChannel.open(pathOf(log), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LogIndex index = new LogIndex(channel);
+        long[] records = read(channel);
+        int valid = 0;
+        while (valid < records.length / 2 && records[valid * 2 + 1] < logSize) valid++;
+        channel.truncate((long) valid * RECORD_SIZE);
+        channel.position(channel.size());
+        if (valid > 0) {
+            index.lastOffset = records[(valid - 1) * 2 + 1];
+            index.lastDay = Instant.ofEpochMilli(records[(valid - 1) * 2]).atOffset(zoneOffset).toLocalDate().toEpochDay();
+        }
+        return index;
+    }
+
+    /**
+     * Adds a record for a line if the last record is far enough behind it, or was written on a different day
+     */
+    void record(long offset, OffsetDateTime time) throws IOException {
+        long day = time.toLocalDate().toEpochDay();
+        if (this.lastOffset >= 0 && offset - this.lastOffset < INTERVAL && day == this.lastDay) return;
+        this.record.clear();
+        this.record.putLong(time.toInstant().toEpochMilli()).putLong(offset).flip();
+        while (this.record.hasRemaining()) this.channel.write(this.record);
+        this.lastOffset = offset;
+        this.lastDay = day;
+    }
+
+    void close() throws IOException { this.channel.close(); }
+
+    /**
+     * Reads every record in an index, as pairs of time and offset
+     * @return the records, or an empty array if there is no index
+     */
+    static long[] read(File log) throws IOException {
+        Path path = pathOf(log);
+        if (!Files.exists(path)) return new long[0];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    private static long[] read(FileChannel channel) throws IOException {
+        int count = (int) (channel.size() / RECORD_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) { }
+        buffer.flip();
+        long[] records = new long[count * 2];
+        for (int index = 0; index < records.length; index++)
+            records[index] = buffer.getLong();
+        return records;
+    }
+
+    /**
+     * Finds the record to start reading from for a time, which is the last record at or before that time
+     * @return the index of the record, or -1 if the time is before every record
+     */
+    static int seek(long[] records, long time) {
+        int low = 0, high = records.length / 2 - 1, found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (records[middle * 2] <= time) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+}
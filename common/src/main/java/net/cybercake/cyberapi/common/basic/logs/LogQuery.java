@@ -0,0 +1,129 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents a query over a {@link Logs} file, which is read lazily from a memory-mapped file instead of being loaded into memory. When a
+ * start time is given, the sparse timestamp index written alongside the log is used to skip straight to about that time.
+ * <br> <br>
+ * Example usage:
+ * <pre>{@code
+ * try (Stream<LogEntry> entries = logs.query().levels(Logs.LogLevel.WARN, Logs.LogLevel.ERROR).since(Instant.now().minus(Duration.ofDays(1))).stream()) {
+ *     entries.forEach(entry -> ...);
+ * }
+ * }</pre>
+ * @since 185
+ * @see Logs#query()
+ */
+public class LogQuery {
+
+    private final Logs logs;
+    private final Set<Logs.LogLevel> levels = EnumSet.noneOf(Logs.LogLevel.class);
+    private boolean filterLevels;
+    private @Nullable Instant since;
+    private @Nullable Instant until;
+
+    LogQuery(Logs logs) { this.logs = logs; }
+
+    /**
+     * Only includes lines with one of the given {@link Logs.LogLevel levels}, lines that do not have a level (such as lines not written by
+     * {@link Logs#write(Logs.LogLevel, String, String...)}) are left out when this is used
+     * <br> <br>
+     * <em>Default Value:</em> every line, whether it has a level or not
+     * @param levels the levels to include
+     * @return the query, for chaining
+     * @since 185
+     */
+    public LogQuery levels(Logs.LogLevel... levels) {
+        this.levels.clear();
+        this.levels.addAll(Arrays.asList(levels));
+        this.filterLevels = true;
+        return this;
+    }
+
+    /**
+     * Only includes lines logged at or after a time, lines whose time cannot be worked out are left out when this is used (see {@link LogEntry#getTime()})
+     * <br> <br>
+     * <em>Default Value:</em> {@code null} (from the start of the file)
+     * @param since the earliest time to include, inclusive
+     * @return the query, for chaining
+     * @since 185
+     */
+    public LogQuery since(@Nullable Instant since) {
+        this.since = since;
+        return this;
+    }
+
+    /**
+     * Only includes lines logged before a time, lines whose time cannot be worked out are left out when this is used (see {@link LogEntry#getTime()})
+     * <br> <br>
+     * <em>Default Value:</em> {@code null} (until the end of the file)
+     * @param until the latest time to include, exclusive
+     * @return the query, for chaining
+     * @since 185
+     */
+    public LogQuery until(@Nullable Instant until) {
+        this.until = until;
+        return this;
+    }
+
+    /**
+     * Starts reading the log file. The {@link Stream} holds the file open, so it should be closed once done with, such as using a
+     * try-with-resources statement.
+     * @return the lazy {@link Stream} of every {@link LogEntry} that matches the query, oldest first
+     * @throws LoggingException if the log file could not be opened
+     * @since 185
+     */
+    public Stream<LogEntry> stream() {
+        this.logs.flush();
+        if (!this.logs.getFile().exists()) return Stream.empty();
+
+        try {
+            long[] anchors = LogIndex.read(this.logs.getFile());
+            long start = 0;
+            if (this.since != null) {
+                int anchor = LogIndex.seek(anchors, this.since.toEpochMilli());
+                if (anchor != -1) start = anchors[anchor * 2 + 1];
+            }
+
+            FileChannel channel = FileChannel.open(this.logs.getFile().toPath(), StandardOpenOption.READ);
+            LogReader reader = new LogReader(channel, channel.size(), start, this.logs.getFormatter(), this.logs.getZoneOffset(), anchors);
+            Stream<LogEntry> stream = StreamSupport.stream(reader, false).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+
+            if (this.since != null || this.until != null) stream = stream.filter(entry -> entry.getTime() != null);
+            if (this.since != null) {
+                Instant since = this.since;
+                stream = stream.filter(entry -> !entry.getTime().isBefore(since));
+            }
+            if (this.until != null) {
+                Instant until = this.until;
+                stream = stream.takeWhile(entry -> entry.getTime().isBefore(until)); // logs are written in order, so nothing after this matches
+            }
+            if (this.filterLevels) {
+                Set<Logs.LogLevel> levels = EnumSet.copyOf(this.levels);
+                stream = stream.filter(entry -> entry.getLevel() != null && levels.contains(entry.getLevel()));
+            }
+            return stream;
+        } catch (IOException exception) {
+            throw new LoggingException("Failed reading the logs for " + this.logs.getID() + " (file=" + this.logs.getFile().getAbsolutePath() + ")", exception);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads the lines of a {@link Logs} file one at a time from a memory-mapped window, so only the part of the file being read is ever mapped
+ * and nothing but the current line is copied onto the heap
+ */
+class LogReader extends Spliterators.AbstractSpliterator<LogEntry> implements Closeable {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final String LEVEL_SEPARATOR = " // ";
+    private static final String MESSAGE_SEPARATOR = "] ";
+    private static final int DAY_ROLLOVER_TOLERANCE_SECONDS = 60;
+    private static final Map<String, Logs.LogLevel> LEVELS = new HashMap<>();
+    static {
+        for (Logs.LogLevel level : Logs.LogLevel.values())
+            LEVELS.put(level.name(), level);
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final DateTimeFormatter formatter;
+    private final ZoneOffset zoneOffset;
+    private final long[] anchors; // the index records, as pairs of time and offset
+    private int nextAnchor;
+
+    private @Nullable MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    private @Nullable LocalDate date;
+    private @Nullable LocalTime previousTime;
+
+    LogReader(FileChannel channel, long size, long start, DateTimeFormatter formatter, ZoneOffset zoneOffset, long[] anchors) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        this.channel = channel;
+        this.size = size;
+        this.position = start;
+        this.formatter = formatter;
+        this.zoneOffset = zoneOffset;
+        this.anchors = anchors;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LogEntry> action) {
+        if (this.position >= this.size) return false;
+        try {
+            long offset = this.position;
+            action.accept(parse(offset, readLine()));
+            return true;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            if (this.window == null || this.position >= this.windowStart + this.window.limit())
+                map(this.position, WINDOW_SIZE);
+
+            MappedByteBuffer window = this.window;
+            int start = (int) (this.position - this.windowStart);
+            for (int index = start; index < window.limit(); index++) {
+                if (window.get(index) != '\n') continue;
+                String line = decode(window, start, index);
+                this.position = this.windowStart + index + 1;
+                return line;
+            }
+
+            long windowEnd = this.windowStart + window.limit();
+            if (windowEnd >= this.size) { // the last line, which has no newline
+                String line = decode(window, start, window.limit());
+                this.position = this.size;
+                return line;
+            }
+            // the line goes past the end of the window, so map again from the start of the line (bigger, if the line is bigger than a window)
+            map(this.position, this.windowStart == this.position ? (int) Math.min(Integer.MAX_VALUE, (long) window.limit() * 2) : WINDOW_SIZE);
+        }
+    }
+
+    private void map(long start, int length) throws IOException {
+        this.windowStart = start;
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(length, this.size - start));
+    }
+
+    private static String decode(MappedByteBuffer window, int start, int end) {
+        if (end > start && window.get(end - 1) == '\r') end--;
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private LogEntry parse(long offset, String line) {
+        while (this.nextAnchor * 2 < this.anchors.length && this.anchors[this.nextAnchor * 2 + 1] <= offset) { // passed an index record, so the date is known again
+            LocalDateTime anchor = Instant.ofEpochMilli(this.anchors[this.nextAnchor * 2]).atOffset(this.zoneOffset).toLocalDateTime();
+            this.date = anchor.toLocalDate();
+            this.previousTime = anchor.toLocalTime();
+            this.nextAnchor++;
+        }
+
+        int levelSeparator = line.startsWith("[") ? line.indexOf(LEVEL_SEPARATOR) : -1;
+        int messageSeparator = levelSeparator == -1 ? -1 : line.indexOf(MESSAGE_SEPARATOR, levelSeparator);
+        if (messageSeparator == -1) return new LogEntry(offset, line, null, null, line, null);
+
+        String formattedTime = line.substring(1, levelSeparator);
+        Logs.LogLevel level = levelOf(line.substring(levelSeparator + LEVEL_SEPARATOR.length(), messageSeparator));
+        String message = line.substring(messageSeparator + MESSAGE_SEPARATOR.length());
+        return new LogEntry(offset, line, formattedTime, level, message, timeOf(formattedTime));
+    }
+
+    private static @Nullable Logs.LogLevel levelOf(String name) { return LEVELS.get(name); }
+
+    private @Nullable Instant timeOf(String formattedTime) {
+        TemporalAccessor parsed;
+        try {
+            parsed = this.formatter.parse(formattedTime);
+        } catch (RuntimeException exception) {
+            return null;
+        }
+        if (!parsed.isSupported(ChronoField.HOUR_OF_DAY)) return null;
+        if (parsed.isSupported(ChronoField.EPOCH_DAY)) return LocalDateTime.from(parsed).toInstant(this.zoneOffset);
+
+        // the format has no date, so it comes from the index, moving to the next day whenever the time goes backwards (by more than the
+        // format's precision could explain)
+        LocalTime time = LocalTime.from(parsed);
+        if (this.date == null) return null;
+        if (this.previousTime != null && time.toSecondOfDay() + DAY_ROLLOVER_TOLERANCE_SECONDS < this.previousTime.toSecondOfDay()) this.date = this.date.plusDays(1);
+        this.previousTime = time;
+        return LocalDateTime.of(this.date, time).toInstant(this.zoneOffset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.window = null;
+        this.channel.close();
+    }
+
+}
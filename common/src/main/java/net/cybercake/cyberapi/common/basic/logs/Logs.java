@@ -3,18 +3,67 @@ package net.cybercake.cyberapi.common.basic.logs;
 import net.cybercake.cyberapi.common.basic.Time;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Represents ease-of-access creating log files for your plugin
+ * <br> <br>
+ * The log file is kept open for as long as the {@link Logs} instance is used, and lines are written to a buffer first. The buffer is written
+ * to the file once it is full, or in the background after the {@link Configuration#setFlushInterval(long) flush interval}. The file can also
+ * be rotated once it gets too big or too old, see {@link Configuration#setMaxFileSize(long)} and {@link Configuration#setRotationInterval(long, TimeUnit)}.
  * @since 43
  */
-public class Logs {
+public class Logs implements Closeable {
+
+    private static final ScheduledThreadPoolExecutor FLUSHER;
+    static {
+        FLUSHER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Logs Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        FLUSHER.setKeepAliveTime(30, TimeUnit.SECONDS);
+        FLUSHER.allowCoreThreadTimeOut(true); // so the thread does not outlive the plugin when nothing is being logged
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> Logs.logs.forEach(Logs::flush), "CyberAPI Logs Shutdown"));
+    }
+
+    // compressing a big rotated file can take a while, so it gets its own thread instead of holding up flushing
+    private static final ThreadPoolExecutor COMPRESSOR;
+    static {
+        COMPRESSOR = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Logs Compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        COMPRESSOR.allowCoreThreadTimeOut(true);
+    }
+
+    private static final int TAIL_CHUNK_SIZE = 8192;
 
     /**
      * Creates a new configuration instance
@@ -32,30 +81,122 @@ public class Logs {
     public static class Configuration {
         private String dateFormat = "HH:mm:ss";
         private int dateOffset = 0;
+        private DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
+        private ZoneOffset zoneOffset = ZoneOffset.UTC;
+        private int bufferSize = 8192;
+        private long flushInterval = 1000L;
+        private long maxFileSize = 0L;
+        private long rotationInterval = 0L;
+        private boolean compressRotated = false;
 
         private Configuration() {}
 
         /**
-         * Sets the date time format, using {@link java.text.SimpleDateFormat} formats
+         * Sets the date time format, using {@link DateTimeFormatter} formats (which, for most patterns such as "HH:mm:ss", are the same as
+         * {@link java.text.SimpleDateFormat} formats)
+         * <br> <br>
+         * <em>Default Value:</em> {@code HH:mm:ss}
          * @param pattern the pattern to set the format to
+         * @throws LoggingException if the pattern is not valid
          * @since 43
          */
-        public Configuration setDateTimeFormat(String pattern) { this.dateFormat = pattern; return this; }
+        public Configuration setDateTimeFormat(String pattern) {
+            try {
+                this.formatter = DateTimeFormatter.ofPattern(pattern);
+            } catch (IllegalArgumentException exception) {
+                throw new LoggingException("Invalid date time format for logs: " + pattern, exception);
+            }
+            this.dateFormat = pattern;
+            return this;
+        }
 
         /**
          * Sets the date time offset, imagine a GMT[+|-] in front of the integer, see {@link Time#getFormattedDate(String, int)}
+         * <br> <br>
+         * <em>Default Value:</em> {@code 0}
          * @param offset the offset to set the date with
          * @since 43
          * @see Time#getFormattedDate(String, int)
          */
-        public Configuration setDateTimeOffset(int offset) { this.dateOffset = offset; return this; }
+        public Configuration setDateTimeOffset(int offset) {
+            this.zoneOffset = ZoneOffset.ofHours(offset);
+            this.dateOffset = offset;
+            return this;
+        }
+
+        /**
+         * Sets the size of the buffer that lines are written to before they are written to the file, this is used the next time the file
+         * is opened
+         * <br> <br>
+         * <em>Default Value:</em> {@code 8192} bytes
+         * @param bytes the size of the buffer, in bytes
+         * @since 185
+         */
+        public Configuration setBufferSize(int bytes) {
+            if (bytes < 1) throw new IllegalArgumentException("The buffer size must be at least 1 byte");
+            this.bufferSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets how long lines can wait in the buffer before they are written to the file in the background
+         * <br> <br>
+         * <em>Default Value:</em> {@code 1000} milliseconds
+         * @param milliseconds the flush interval, in milliseconds, or 0 to write every line right away
+         * @since 185
+         */
+        public Configuration setFlushInterval(long milliseconds) {
+            if (milliseconds < 0) throw new IllegalArgumentException("The flush interval cannot be negative");
+            this.flushInterval = milliseconds;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the log file, once it gets bigger than this it is rotated
+         * <br> <br>
+         * <em>Default Value:</em> {@code 0} (never rotated because of size)
+         * @param bytes the maximum file size, in bytes, or 0 to never rotate because of size
+         * @since 185
+         */
+        public Configuration setMaxFileSize(long bytes) {
+            if (bytes < 0) throw new IllegalArgumentException("The maximum file size cannot be negative");
+            this.maxFileSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets how often the log file is rotated, the periods start at midnight using the {@link Configuration#setDateTimeOffset(int) date
+         * time offset}, so an interval of one day rotates the file every midnight
+         * <br> <br>
+         * <em>Default Value:</em> {@code 0} (never rotated because of time)
+         * @param interval the amount of time between rotations, or 0 to never rotate because of time
+         * @param unit the {@link TimeUnit} of the interval
+         * @since 185
+         */
+        public Configuration setRotationInterval(long interval, TimeUnit unit) {
+            if (interval < 0) throw new IllegalArgumentException("The rotation interval cannot be negative");
+            this.rotationInterval = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Sets whether rotated log files should be compressed using gzip, which happens in the background
+         * <br> <br>
+         * <em>Default Value:</em> {@code false}
+         * @param compressRotated true to compress rotated files into a ".gz" file
+         * @since 185
+         */
+        public Configuration setCompressRotated(boolean compressRotated) {
+            this.compressRotated = compressRotated;
+            return this;
+        }
     }
 
     public enum LogLevel {
         INFO, WARN, ERROR, DEBUG;
     }
 
-    private static final List<Logs> logs = new ArrayList<>();
+    private static final List<Logs> logs = new CopyOnWriteArrayList<>();
 
     /**
      * Get an already existing {@link Logs} instance
@@ -89,6 +230,14 @@ public class Logs {
     private List<String> cachedLogs = new ArrayList<>();
     private boolean requireRecache = true;
 
+    private @Nullable FileChannel channel;
+    private @Nullable LogIndex index;
+    private @Nullable ByteBuffer buffer;
+    private long fileSize;
+    private long period;
+    private boolean flushScheduled;
+    private boolean closed;
+
     @Deprecated
     private Logs() { this.id = null; this.file = null; }
 
@@ -106,6 +255,7 @@ public class Logs {
         this.id = id;
         this.file = file;
         this.configuration = new Configuration();
+        logs.add(this);
     }
 
     /**
@@ -125,19 +275,195 @@ public class Logs {
      * @since 43
      */
     public void write(LogLevel logLevel, String logged, String... extras) {
+        Configuration configuration = this.configuration;
+        OffsetDateTime now = OffsetDateTime.now(configuration.zoneOffset);
+        String line = "[" + configuration.formatter.format(now) + " // " + logLevel + "] " + logged + (extras.length < 1 ? "" : " (" + String.join(", ", extras) + ")") + "\n";
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try {
+            synchronized (this) {
+                this.requireRecache = true;
+                rotateIfNeeded(now, bytes.length);
+                if (this.index != null) this.index.record(this.fileSize, now);
+                append(bytes);
+            }
+        } catch (Exception exception) {
+            throw new LoggingException("Failed to write log: " + logLevel.name() + " " + logged + " (with extras: " + String.join(", ", extras) + ")", exception);
+        }
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        FileChannel channel = open();
+        ByteBuffer buffer = this.buffer;
+        if (buffer == null || bytes.length > buffer.remaining()) {
+            flushBuffer();
+            if (buffer == null || bytes.length > buffer.capacity()) { // too big for the buffer, so it goes straight to the file
+                writeFully(channel, ByteBuffer.wrap(bytes));
+                this.fileSize += bytes.length;
+                return;
+            }
+        }
+        buffer.put(bytes);
+        this.fileSize += bytes.length;
+
+        if (this.configuration.flushInterval == 0 || this.closed) flushBuffer(); // nothing flushes a closed instance later, so it writes right away
+        else if (!this.flushScheduled) {
+            this.flushScheduled = true;
+            FLUSHER.schedule(this::flush, this.configuration.flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (this.channel != null && this.channel.isOpen()) return this.channel;
+        if (this.closed && getFromID(this.id) == null && getFromFile(this.file) == null) logs.add(this); // so closeAll() still gets to it
+        File parent = this.file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+
+        this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocate(this.configuration.bufferSize);
+        this.fileSize = this.channel.size();
+        this.index = LogIndex.open(this.file, this.fileSize, this.configuration.zoneOffset);
+        this.period = periodOf(Files.getLastModifiedTime(this.file.toPath()).toInstant().atOffset(this.configuration.zoneOffset));
+        return this.channel;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.channel == null || this.buffer == null || this.buffer.position() == 0) return;
+        this.buffer.flip();
+        writeFully(this.channel, this.buffer);
+        this.buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    private long periodOf(OffsetDateTime time) {
+        long interval = this.configuration.rotationInterval;
+        if (interval == 0) return 0;
+        long localMillis = time.toInstant().toEpochMilli() + time.getOffset().getTotalSeconds() * 1000L;
+        return Math.floorDiv(localMillis, interval);
+    }
+
+    private void rotateIfNeeded(OffsetDateTime now, int incoming) throws IOException {
+        open();
+        boolean tooBig = this.configuration.maxFileSize > 0 && this.fileSize > 0 && this.fileSize + incoming > this.configuration.maxFileSize;
+        boolean tooOld = this.configuration.rotationInterval > 0 && this.fileSize > 0 && periodOf(now) != this.period;
+        if (!tooBig && !tooOld) {
+            if (this.configuration.rotationInterval > 0 && this.fileSize == 0) this.period = periodOf(now);
+            return;
+        }
+        rotate();
+        open();
+        this.period = periodOf(now);
+    }
+
+    /**
+     * Rotates the log file right away, which moves the current log file to "{@code <name>-<date>-<number>.log}" (compressing it if
+     * {@link Configuration#setCompressRotated(boolean) enabled}) and starts a new, empty log file
+     * @since 185
+     */
+    public void rotate() {
         try {
-            if (file.exists()) file.createNewFile();
-            this.requireRecache = true;
+            synchronized (this) {
+                closeChannel();
+                if (!this.file.exists() || this.file.length() == 0) return;
+
+                Path rotated = nextRotatedPath();
+                Files.move(this.file.toPath(), rotated, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(LogIndex.pathOf(this.file)); // the index only covers the current file
+                this.requireRecache = true;
+                if (this.configuration.compressRotated) COMPRESSOR.execute(() -> compress(rotated));
+            }
+        } catch (Exception exception) {
+            throw new LoggingException("Failed to rotate the logs for " + getID() + " (file=" + getFile().getAbsolutePath() + ")", exception);
+        }
+    }
 
-            FileWriter fileWriter = new FileWriter(file, true);
-            BufferedWriter writer = new BufferedWriter(fileWriter);
-            writer.write("[" + Time.getFormattedDate(configuration.dateFormat, configuration.dateOffset) + " // " + logLevel + "] " + logged + (extras.length < 1 ? "" : " (" + String.join(", ", extras) + ")") + "\n");
+    private Path nextRotatedPath() throws IOException {
+        String name = this.file.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot == -1 ? name : name.substring(0, dot);
+        String extension = dot == -1 ? "" : name.substring(dot);
+        LocalDate date = Files.getLastModifiedTime(this.file.toPath()).toInstant().atOffset(this.configuration.zoneOffset).toLocalDate();
+
+        Path directory = this.file.getAbsoluteFile().toPath().getParent();
+        for (int number = 1; ; number++) {
+            Path rotated = directory.resolve(base + "-" + date + "-" + number + extension);
+            if (!Files.exists(rotated) && !Files.exists(rotated.resolveSibling(rotated.getFileName() + ".gz"))) return rotated;
+        }
+    }
+
+    private static void compress(Path rotated) {
+        Path compressed = rotated.resolveSibling(rotated.getFileName() + ".gz");
+        try (InputStream input = Files.newInputStream(rotated); OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            input.transferTo(output);
+        } catch (IOException exception) {
+            try { Files.deleteIfExists(compressed); } catch (IOException ignored) { }
+            return; // the uncompressed file is kept
+        }
+        try { Files.delete(rotated); } catch (IOException ignored) { }
+    }
 
-            writer.close();
-            fileWriter.close();
+    /**
+     * Writes every buffered line to the log file, this is done automatically once the buffer is full or after the
+     * {@link Configuration#setFlushInterval(long) flush interval}
+     * @since 185
+     */
+    public void flush() {
+        try {
+            synchronized (this) {
+                this.flushScheduled = false;
+                flushBuffer();
+            }
         } catch (Exception exception) {
-            throw new LoggingException("Failed to write log: " + logLevel.name() + " " + logged + " (with extras: " + String.join(", ", extras) + ")", exception);
+            throw new LoggingException("Failed to flush the logs for " + getID() + " (file=" + getFile().getAbsolutePath() + ")", exception);
+        }
+    }
+
+    /**
+     * Writes every buffered line and closes the log file. The {@link Logs} instance can no longer be gotten from {@link Logs#getFromID(String)}
+     * or {@link Logs#getFromFile(File)} until it is written to again, which opens the file again and writes every line right away instead
+     * of buffering it, as CyberAPI closes every instance before the plugin's own {@code onDisable} runs
+     * @since 185
+     */
+    @Override
+    public void close() {
+        logs.remove(this);
+        try {
+            synchronized (this) {
+                this.closed = true;
+                closeChannel();
+            }
+        } catch (Exception exception) {
+            throw new LoggingException("Failed to close the logs for " + getID() + " (file=" + getFile().getAbsolutePath() + ")", exception);
+        }
+    }
+
+    /**
+     * {@link Logs#close() Closes} every {@link Logs} instance, which CyberAPI does when the plugin is disabled
+     * @throws LoggingException if any of them failed to close, after trying to close the rest
+     * @since 185
+     */
+    public static void closeAll() {
+        @Nullable LoggingException failed = null;
+        for (Logs log : logs) {
+            try {
+                log.close();
+            } catch (LoggingException exception) {
+                if (failed == null) failed = exception;
+                else failed.addSuppressed(exception);
+            }
         }
+        if (failed != null) throw failed;
+    }
+
+    private void closeChannel() throws IOException {
+        flushBuffer();
+        if (this.channel != null) this.channel.close();
+        if (this.index != null) this.index.close();
+        this.channel = null;
+        this.index = null;
+        this.buffer = null;
     }
 
     /**
@@ -164,28 +490,98 @@ public class Logs {
 
     /**
      * Gets the most recent log in the log {@link File}
-     * @return the most recent {@link String} log
+     * @return the most recent {@link String} log, or null if there are no logs
      * @since 43
+     * @see Logs#getRecentLogs(int)
      */
     public @Nullable String getMostRecentLog() {
-        return (getLogs() == null ? null : getLogs().get(getLogs().size()-1));
+        List<String> recent = getRecentLogs(1);
+        return recent.isEmpty() ? null : recent.get(0);
+    }
+
+    /**
+     * Gets the most recent logs in the log {@link File}, only reading the end of the file instead of the whole thing
+     * @param count the maximum amount of logs to get
+     * @return the most recent logs, oldest first, which may be less than the count if the file does not have that many
+     * @since 185
+     */
+    public List<String> getRecentLogs(int count) {
+        if (count < 1) return new ArrayList<>();
+        flush();
+        if (!this.file.exists()) return new ArrayList<>();
+
+        try (FileChannel reader = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            long end = reader.size();
+            long start = 0;
+            long position = end;
+            int lines = 0;
+            ByteBuffer chunk = ByteBuffer.allocate(TAIL_CHUNK_SIZE);
+            search:
+            while (position > 0) {
+                int length = (int) Math.min(TAIL_CHUNK_SIZE, position);
+                position -= length;
+                chunk.clear().limit(length);
+                readFully(reader, chunk, position);
+                for (int index = length - 1; index >= 0; index--) {
+                    if (chunk.get(index) != '\n' || position + index == end - 1) continue; // the last line's newline does not start a line
+                    if (++lines == count) {
+                        start = position + index + 1;
+                        break search;
+                    }
+                }
+            }
+
+            ByteBuffer tail = ByteBuffer.allocate((int) (end - start));
+            readFully(reader, tail, start);
+            tail.flip();
+            String text = StandardCharsets.UTF_8.decode(tail).toString();
+            return text.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(text.split("\r?\n")));
+        } catch (Exception exception) {
+            throw new LoggingException("Failed reading the logs for " + getID() + " (file=" + getFile().getAbsolutePath() + ")", exception);
+        }
+    }
+
+    private static void readFully(FileChannel reader, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining() && reader.read(buffer, position + buffer.position()) >= 0) { }
     }
 
     /**
      * Gets all the logs from the log {@link File}
      * @return all the logs in a {@link List} of {@link String}s
      * @since 43
+     * @apiNote this loads the entire file into memory, so for big log files, use {@link Logs#query()} instead
+     * @see Logs#getRecentLogs(int)
+     * @see Logs#query()
      */
     public @Nullable List<String> getLogs() {
         try {
-            if (this.requireRecache)
-                this.cachedLogs = Files.readAllLines(file.toPath());
+            if (this.requireRecache) {
+                flush();
+                this.cachedLogs = this.file.exists() ? Files.readAllLines(file.toPath()) : new ArrayList<>();
+                this.requireRecache = false;
+            }
             return cachedLogs;
         } catch (Exception exception) {
             throw new LoggingException("Failed reading the logs for " + getID() + " (file=" + getFile().getAbsolutePath() + ")", exception);
         }
     }
 
+    /**
+     * Creates a new query over the log {@link File}, which can filter by {@link LogLevel} and time range without loading the file into memory
+     * @return the new {@link LogQuery}
+     * @since 185
+     * @see Logs#stream()
+     */
+    public LogQuery query() { return new LogQuery(this); }
+
+    /**
+     * Lazily reads every line in the log {@link File}, the {@link Stream} should be closed once done with
+     * @return the {@link Stream} of every {@link LogEntry}, oldest first
+     * @since 185
+     * @see Logs#query()
+     */
+    public Stream<LogEntry> stream() { return query().stream(); }
+
     /**
      * Gets the log {@link String} ID
      * @return the log id
@@ -214,4 +610,8 @@ public class Logs {
      */
     public int getDateOffset() { return configuration.dateOffset; }
 
+    DateTimeFormatter getFormatter() { return configuration.formatter; }
+
+    ZoneOffset getZoneOffset() { return configuration.zoneOffset; }
+
 }
@@ -3,6 +3,8 @@ package net.cybercake.cyberapi.common.builders.settings;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+
 /**
  * @since 15
  */
@@ -20,10 +22,11 @@ public class Settings {
      * @since 15
      */
     public static class Builder {
-        private boolean verbose, silenced, checkForUpdates, showPrefixInLogs, muteStartMessage, hideReflections;
+        private boolean verbose, silenced, checkForUpdates, showPrefixInLogs, muteStartMessage, hideReflections, persistCooldowns, persistProfiles;
         private FeatureSupport adventureSupport, miniMessageSupport, luckPermsSupport, protocolLibSupport, placeholderAPISupport, protocolizeSupport;
-        private String name, prefix, mainPackage;
+        private String name, prefix, mainPackage, profileLookupURL, userHeadURL;
         private Class<?>[] disableAutoRegisterFor;
+        private File fontResourcePack;
 
         /**
          * Creates a new {@link Builder} instance, which then the method {@link Builder#build()} can build into a {@link Settings}
@@ -38,6 +41,8 @@ public class Settings {
             this.showPrefixInLogs = false;
             this.muteStartMessage = false;
             this.hideReflections = true;
+            this.persistCooldowns = false;
+            this.persistProfiles = false;
             this.adventureSupport = FeatureSupport.AUTO;
             this.miniMessageSupport = FeatureSupport.AUTO;
             this.luckPermsSupport = FeatureSupport.AUTO;
@@ -48,6 +53,9 @@ public class Settings {
             this.prefix = null;
             this.mainPackage = null;
             this.disableAutoRegisterFor = null;
+            this.fontResourcePack = null;
+            this.profileLookupURL = null;
+            this.userHeadURL = null;
         }
 
         /**
@@ -185,6 +193,54 @@ public class Settings {
          */
         public Builder hideReflections(boolean hideReflections) { this.hideReflections = hideReflections; return this; }
 
+        /**
+         * Sets whether CyberAPI should save active command cooldowns to a file ('cooldowns.bin' in your plugin's data folder), allowing long cooldowns to survive a restart.
+         * <br> <br>
+         * <em>Default Value:</em> {@code false}
+         * @param persistCooldowns set this to true to keep cooldowns between restarts
+         */
+        public Builder persistCooldowns(boolean persistCooldowns) { this.persistCooldowns = persistCooldowns; return this; }
+
+        /**
+         * Sets whether CyberAPI should save every player's {@link java.util.UUID} and username that it sees to a file ('profiles.bin' in your plugin's data folder), so that offline players' names do not have to be looked up from Mojang again after a restart.
+         * <br> <br>
+         * <em>Default Value:</em> {@code false}
+         * @param persistProfiles set this to true to keep usernames between restarts
+         * @see net.cybercake.cyberapi.common.player.ProfileDirectory
+         */
+        public Builder persistProfiles(boolean persistProfiles) { this.persistProfiles = persistProfiles; return this; }
+
+        /**
+         * Sets the resource pack whose font is used to measure text, such as when centering messages or wrapping item lore. Set this if your
+         * server's resource pack changes the default font, so that text is measured the same way your players see it. The font is only read
+         * once, when CyberAPI starts.
+         * <br> <br>
+         * <em>Default Value:</em> {@code null} (the vanilla font)
+         * @param fontResourcePack set this to the resource pack, either a folder or a '.zip' file
+         * @see net.cybercake.cyberapi.common.chat.FontMetrics#load(File)
+         */
+        public Builder fontResourcePack(@Nullable File fontResourcePack) { this.fontResourcePack = fontResourcePack; return this; }
+
+        /**
+         * Sets the base URL that usernames are looked up from in bulk, instead of Mojang's API. This is useful for pointing CyberAPI at a
+         * local stand-in server on a staging server.
+         * <br> <br>
+         * <em>Default Value:</em> {@code null} (Mojang's API, {@link net.cybercake.cyberapi.common.player.ProfileResolver#DEFAULT_BASE_URL})
+         * @param profileLookupURL set this to the base URL, such as "{@code http://localhost:8080}"
+         * @see net.cybercake.cyberapi.common.player.ProfileResolver
+         */
+        public Builder profileLookupURL(@Nullable String profileLookupURL) { this.profileLookupURL = profileLookupURL; return this; }
+
+        /**
+         * Sets the URL that player heads are downloaded from, such as a local skin service. {@code {type}}, {@code {uuid}} and {@code {scale}}
+         * are replaced with the type of head ({@code avatar} or {@code helm}), the player's UUID without dashes, and the image scale.
+         * <br> <br>
+         * <em>Default Value:</em> {@code null} ({@link net.cybercake.cyberapi.common.player.UserHeadRenderer#DEFAULT_URL_TEMPLATE})
+         * @param userHeadURL set this to the URL, such as "{@code http://localhost:8080/{type}/{uuid}/{scale}.png}"
+         * @see net.cybercake.cyberapi.common.player.UserHeadRenderer#setURLTemplate(String)
+         */
+        public Builder userHeadURL(@Nullable String userHeadURL) { this.userHeadURL = userHeadURL; return this; }
+
         /**
          * Sets the main package of the plugin to a certain path. This is for registering commands and registering listeners, and if no path is given, it will attempt to get your path for you, and it can take a while everytime your server starts if this value is not set.
          * <br> <br>
@@ -341,6 +397,41 @@ public class Settings {
      */
     public boolean shouldHideReflections() { return builder.hideReflections; }
 
+    /**
+     * Gets whether CyberAPI should save active command cooldowns to a file
+     * @return should persist cooldowns
+     * @since 185
+     */
+    public boolean shouldPersistCooldowns() { return builder.persistCooldowns; }
+
+    /**
+     * Gets whether CyberAPI should save players' usernames to a file
+     * @return should persist profiles
+     * @since 185
+     */
+    public boolean shouldPersistProfiles() { return builder.persistProfiles; }
+
+    /**
+     * Gets the resource pack whose font is used to measure text
+     * @return the font resource pack, or null if the vanilla font is used
+     * @since 185
+     */
+    public @Nullable File getFontResourcePack() { return builder.fontResourcePack; }
+
+    /**
+     * Gets the base URL that usernames are looked up from in bulk
+     * @return the base URL, or null if Mojang's API is used
+     * @since 185
+     */
+    public @Nullable String getProfileLookupURL() { return builder.profileLookupURL; }
+
+    /**
+     * Gets the URL that player heads are downloaded from
+     * @return the URL, with placeholders, or null if the default is used
+     * @since 185
+     */
+    public @Nullable String getUserHeadURL() { return builder.userHeadURL; }
+
     /**
      * Gets the package name where all the developer's commands are stored
      * @return the commands' path <em>(deprecated note: this will return the same thing as the main package path, so this no longer accurately reflects the plugin's command's path)</em>>
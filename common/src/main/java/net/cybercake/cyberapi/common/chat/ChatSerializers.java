@@ -0,0 +1,57 @@
+package net.cybercake.cyberapi.common.chat;
+
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Holds the serializers used by {@code ChatFormatType} and {@code UChat} on both platforms. Serializers are immutable and thread-safe, so one
+ * is built for every (alternate character, strict) combination the first time it is needed and reused for every message after that.
+ * <br> <br>
+ * The Adventure and MiniMessage serializers are kept in separate holder classes, so that neither is loaded unless it is actually used.
+ * @since 185
+ */
+@ApiStatus.Internal
+public class ChatSerializers {
+
+    /**
+     * Gets the legacy serializer used by {@code ChatFormatType.COMPONENT}, which supports hex colors in both the "{@code &#RRGGBB}" and
+     * "{@code &x&R&R&G&G&B&B}" formats
+     * @param character the alternate color code character, such as '{@literal &}'
+     * @return the cached serializer for that character
+     * @since 185
+     */
+    public static LegacyComponentSerializer legacy(char character) {
+        return Legacy.SERIALIZERS.computeIfAbsent(character, key -> LegacyComponentSerializer.builder()
+                .hexColors()
+                .useUnusualXRepeatedCharacterHexFormat()
+                .character(key)
+                .build()
+        );
+    }
+
+    /**
+     * Gets a {@link MiniMessage} instance with the default tags
+     * @param strict whether the message is held to be strict
+     * @return the cached {@link MiniMessage} instance
+     * @since 185
+     */
+    public static MiniMessage miniMessage(boolean strict) {
+        return strict ? MiniMessages.STRICT : MiniMessages.LENIENT;
+    }
+
+    private static class Legacy {
+        private static final Map<Character, LegacyComponentSerializer> SERIALIZERS = new ConcurrentHashMap<>();
+    }
+
+    private static class MiniMessages {
+        private static final MiniMessage LENIENT = MiniMessage.builder().strict(false).build();
+        private static final MiniMessage STRICT = MiniMessage.builder().strict(true).build();
+    }
+
+}
@@ -8,7 +8,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -139,6 +139,27 @@ public enum ColorTranslator {
     //</editor-fold>
 
 
+    private static final Map<org.bukkit.ChatColor, ColorTranslator> BY_BUKKIT = new EnumMap<>(org.bukkit.ChatColor.class);
+    private static final Map<ChatColor, ColorTranslator> BY_BUNGEE = new HashMap<>();
+    private static final Map<TextFormat, ColorTranslator> BY_ADVENTURE = new HashMap<>();
+    private static final Map<String, ColorTranslator> BY_MINI_MESSAGE = new HashMap<>(); // both "<red>" and "red"
+    private static final ColorTranslator[] BY_CODE = new ColorTranslator[128]; // both upper and lower case
+    static {
+        for (ColorTranslator color : values()) {
+            BY_BUKKIT.putIfAbsent(color.bukkit, color);
+            BY_BUNGEE.putIfAbsent(color.bungee, color);
+            if (color.adventure != null) BY_ADVENTURE.putIfAbsent(color.adventure, color);
+
+            String literal = color.miniMessage.getLiteral().toLowerCase(Locale.ROOT);
+            BY_MINI_MESSAGE.putIfAbsent(literal, color);
+            BY_MINI_MESSAGE.putIfAbsent(literal.replace("<", "").replace(">", ""), color);
+
+            char code = color.bukkit.getChar();
+            BY_CODE[Character.toLowerCase(code)] = color;
+            BY_CODE[Character.toUpperCase(code)] = color;
+        }
+    }
+
     private final org.bukkit.ChatColor bukkit;
     private final ChatColor bungee;
     private final TextFormat adventure;
@@ -190,10 +211,8 @@ public enum ColorTranslator {
      * @since 142
      */
     public static @Nullable ColorTranslator getColorFor(org.bukkit.ChatColor bukkitColor) {
-        return Arrays.stream(values())
-                .filter(translate -> translate.getBukkit().equals(bukkitColor))
-                .findFirst()
-                .orElse(null);
+        if (bukkitColor == null) return null;
+        return BY_BUKKIT.get(bukkitColor);
     }
 
     /**
@@ -202,10 +221,8 @@ public enum ColorTranslator {
      * @since 142
      */
     public static @Nullable ColorTranslator getColorFor(ChatColor bungeeColor) {
-        return Arrays.stream(values())
-                .filter(translate -> translate.getBungee().equals(bungeeColor))
-                .findFirst()
-                .orElse(null);
+        if (bungeeColor == null) return null;
+        return BY_BUNGEE.get(bungeeColor);
     }
 
     /**
@@ -214,28 +231,30 @@ public enum ColorTranslator {
      * @since 142
      */
     public static @Nullable ColorTranslator getColorFor(TextFormat adventureColor) {
-        return Arrays.stream(values())
-                .filter(translate ->
-                        translate.getAdventure() != null
-                        && translate.getAdventure().equals(adventureColor))
-                .findFirst()
-                .orElse(null);
+        if (adventureColor == null) return null;
+        return BY_ADVENTURE.get(adventureColor);
     }
 
     /**
-     * @param miniMessage the {@link String Mini Message Syntax} to translate (for example: "{@code <red>}" or "{@code red}" -- lowercase and only one format)
+     * @param miniMessage the {@link String Mini Message Syntax} to translate (for example: "{@code <red>}" or "{@code red}" -- only one format)
      * @return the {@link ColorTranslator} for the associated input color
      * @since 142
      */
     public static @Nullable ColorTranslator getColorFor(String miniMessage) {
-        String withoutPotentialBrackets = miniMessage.replace(">", "").replace("<", "");
-        return Arrays.stream(values())
-                .filter(translate ->
-                        translate.getMiniMessage().getLiteral().equalsIgnoreCase(miniMessage)
-                        || translate.getMiniMessage().getLiteral().equalsIgnoreCase(withoutPotentialBrackets)
-                )
-                .findFirst()
-                .orElse(null);
+        if (miniMessage == null) return null;
+        ColorTranslator color = BY_MINI_MESSAGE.get(miniMessage); // usually already lowercase, so this avoids copying the string
+        if (color != null) return color;
+        return BY_MINI_MESSAGE.get(miniMessage.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the color or format for a legacy color code character, such as the {@code a} in "{@code &a}" or "{@code §a}"
+     * @param code the character after the {@code &} or {@code §}, not case-sensitive
+     * @return the {@link ColorTranslator} for the associated code, or null if the character is not a color code
+     * @since 185
+     */
+    public static @Nullable ColorTranslator getColorForCode(char code) {
+        return code < BY_CODE.length ? BY_CODE[code] : null;
     }
 
 
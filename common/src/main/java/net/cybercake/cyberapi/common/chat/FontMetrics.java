@@ -0,0 +1,297 @@
+package net.cybercake.cyberapi.common.chat;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the width of every character of a Minecraft font, in pixels. The widths are kept in a flat table with one entry for every
+ * {@code char}, so looking one up never allocates or hashes anything.
+ * <br> <br>
+ * By default, the {@link FontMetrics#vanilla() vanilla font} is used. A resource pack's font can be loaded once at startup using
+ * {@link FontMetrics#load(File)}, which reads the bitmap ({@code .png} and {@code .json}) and space providers of the font.
+ * @since 185
+ * @see TextMetrics
+ */
+@SuppressWarnings({"unused"})
+public class FontMetrics {
+
+    /**
+     * The width of any character that the font does not know about, in pixels
+     * @since 185
+     */
+    public static final int DEFAULT_WIDTH = 4;
+
+    /**
+     * The name of the font that Minecraft uses for chat, item lore, and the server list
+     * @since 185
+     */
+    public static final String DEFAULT_FONT = "minecraft:default";
+
+    private static final String ASCII_WIDTHS = "31355551445515155555555555114545655555555355555555555555555353552555554551541555555545555554145"; // ' ' to '~'
+    private static final int MAX_REFERENCE_DEPTH = 8;
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
+    private static volatile FontMetrics active = vanilla();
+
+    private final byte[] widths = new byte[Character.MAX_VALUE + 1];
+    private final byte[] boldWidths = new byte[Character.MAX_VALUE + 1];
+
+    private FontMetrics() { }
+
+    /**
+     * Creates the widths of the vanilla Minecraft font, for the basic latin characters. Every other character is
+     * {@link FontMetrics#DEFAULT_WIDTH} pixels wide.
+     * @return a new instance with the vanilla widths
+     * @since 185
+     */
+    public static FontMetrics vanilla() {
+        FontMetrics metrics = new FontMetrics();
+        Arrays.fill(metrics.widths, (byte) DEFAULT_WIDTH);
+        Arrays.fill(metrics.boldWidths, (byte) (DEFAULT_WIDTH + 1));
+        for (int index = 0; index < ASCII_WIDTHS.length(); index++) {
+            char character = (char) (' ' + index);
+            int width = ASCII_WIDTHS.charAt(index) - '0';
+            metrics.widths[character] = (byte) width;
+            metrics.boldWidths[character] = (byte) (character == ' ' ? width : width + 1);
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets the font that is currently used by {@link TextMetrics} and message centering
+     * @return the active font
+     * @since 185
+     */
+    public static FontMetrics getActive() { return active; }
+
+    /**
+     * Sets the font that is used by {@link TextMetrics} and message centering from now on
+     * @param metrics the font to use
+     * @since 185
+     */
+    public static void setActive(FontMetrics metrics) {
+        Preconditions.checkNotNull(metrics, "The font metrics cannot be null");
+        active = metrics;
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Gets a number that changes whenever the active font, or any width in it, changes. Anything that caches measured text can compare
+     * this to know when the cache is out of date.
+     * @return the current version of the font widths
+     * @since 185
+     */
+    public static int getVersion() { return VERSION.get(); }
+
+    /**
+     * Gets the width of a character in pixels
+     * @param c the character
+     * @return the width of the character, not including the 1 pixel gap after it
+     * @since 185
+     */
+    public int getWidth(char c) { return this.widths[c]; }
+
+    /**
+     * Gets the width of a bold character in pixels
+     * @param c the character
+     * @return the width of the bold character, not including the 1 pixel gap after it
+     * @since 185
+     */
+    public int getBoldWidth(char c) { return this.boldWidths[c]; }
+
+    /**
+     * Gets how far a character moves the next character along, in pixels
+     * @param c the character
+     * @param bold whether the character is bold
+     * @return the width of the character, including the 1 pixel gap after it
+     * @since 185
+     */
+    public int getAdvance(char c, boolean bold) { return (bold ? this.boldWidths[c] : this.widths[c]) + 1; }
+
+    /**
+     * Sets the width of a character. The bold width will be one pixel wider.
+     * @param c the character
+     * @param width the width of the character in pixels, not including the 1 pixel gap after it
+     * @since 185
+     * @see FontMetrics#setWidth(char, int, int)
+     */
+    public void setWidth(char c, int width) { setWidth(c, width, width + 1); }
+
+    /**
+     * Sets the width of a character
+     * @param c the character
+     * @param width the width of the character in pixels, not including the 1 pixel gap after it
+     * @param boldWidth the width of the bold character in pixels, not including the 1 pixel gap after it
+     * @since 185
+     */
+    public void setWidth(char c, int width, int boldWidth) {
+        Preconditions.checkArgument(width >= 0 && width <= Byte.MAX_VALUE && boldWidth >= 0 && boldWidth <= Byte.MAX_VALUE, "Character widths must be between 0 and " + Byte.MAX_VALUE + " pixels");
+        this.widths[c] = (byte) width;
+        this.boldWidths[c] = (byte) boldWidth;
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Sets the widths of many characters at once. Every bold width will be one pixel wider.
+     * @param widths the characters and their widths in pixels, not including the 1 pixel gap after each character
+     * @since 185
+     */
+    public void setWidths(Map<Character, Integer> widths) {
+        widths.forEach(this::setWidth);
+    }
+
+    /**
+     * Creates a copy of these widths, which can be changed without changing this instance
+     * @return the copy
+     * @since 185
+     */
+    public FontMetrics copy() {
+        FontMetrics copy = new FontMetrics();
+        System.arraycopy(this.widths, 0, copy.widths, 0, this.widths.length);
+        System.arraycopy(this.boldWidths, 0, copy.boldWidths, 0, this.boldWidths.length);
+        return copy;
+    }
+
+    /**
+     * Loads the {@link FontMetrics#DEFAULT_FONT default font} of a resource pack
+     * @param resourcePack the resource pack, either a folder or a {@code .zip} file
+     * @return the widths of the font, with anything the resource pack does not change using the {@link FontMetrics#vanilla() vanilla} widths
+     * @throws IOException if the resource pack could not be read
+     * @since 185
+     * @see FontMetrics#load(File, String)
+     */
+    public static FontMetrics load(File resourcePack) throws IOException { return load(resourcePack, DEFAULT_FONT); }
+
+    /**
+     * Loads a font of a resource pack, reading its {@code bitmap}, {@code space}, and {@code reference} providers. Like Minecraft, when more
+     * than one provider has a character, the first one is used.
+     * @param resourcePack the resource pack, either a folder or a {@code .zip} file
+     * @param font the name of the font, such as {@code minecraft:default}
+     * @return the widths of the font, with anything the resource pack does not change using the {@link FontMetrics#vanilla() vanilla} widths
+     * @throws IOException if the resource pack could not be read
+     * @since 185
+     */
+    public static FontMetrics load(File resourcePack, String font) throws IOException {
+        if (!resourcePack.exists()) throw new IOException("The resource pack " + resourcePack.getAbsolutePath() + " does not exist");
+        FontMetrics metrics = vanilla();
+        boolean[] loaded = new boolean[Character.MAX_VALUE + 1];
+        if (resourcePack.isDirectory()) {
+            metrics.loadFont(resourcePack.toPath(), font, loaded, new HashSet<>());
+        } else {
+            try (FileSystem zip = FileSystems.newFileSystem(resourcePack.toPath())) {
+                metrics.loadFont(zip.getPath("/"), font, loaded, new HashSet<>());
+            }
+        }
+        return metrics;
+    }
+
+    private void loadFont(Path root, String font, boolean[] loaded, Set<String> visited) throws IOException {
+        if (visited.size() > MAX_REFERENCE_DEPTH || !visited.add(font)) return; // fonts that reference each other
+        Path path = resolve(root, font, "font/", ".json");
+        if (!Files.exists(path)) return;
+
+        JsonObject json;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            json = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (RuntimeException exception) {
+            throw new IOException("Failed to read the font " + font + " (" + path + ")", exception);
+        }
+        if (!json.has("providers")) return;
+
+        for (JsonElement element : json.getAsJsonArray("providers")) {
+            JsonObject provider = element.getAsJsonObject();
+            switch (provider.has("type") ? provider.get("type").getAsString() : "") {
+                case "bitmap" -> loadBitmap(root, provider, loaded);
+                case "space" -> loadSpace(provider, loaded);
+                case "reference" -> loadFont(root, provider.get("id").getAsString(), loaded, visited);
+                default -> { } // unihex and ttf fonts are not measured, so those characters keep their vanilla widths
+            }
+        }
+    }
+
+    private void loadBitmap(Path root, JsonObject provider, boolean[] loaded) throws IOException {
+        Path path = resolve(root, provider.get("file").getAsString(), "textures/", "");
+        if (!Files.exists(path)) return;
+
+        BufferedImage image;
+        try (InputStream stream = Files.newInputStream(path)) {
+            image = ImageIO.read(stream);
+        }
+        if (image == null) throw new IOException("Failed to read the font texture " + path);
+
+        JsonArray rows = provider.getAsJsonArray("chars");
+        if (rows == null || rows.isEmpty()) return;
+        int columns = rows.get(0).getAsString().codePointCount(0, rows.get(0).getAsString().length());
+        if (columns == 0) return;
+        int cellWidth = image.getWidth() / columns;
+        int cellHeight = image.getHeight() / rows.size();
+        float scale = (provider.has("height") ? provider.get("height").getAsInt() : 8) / (float) cellHeight;
+
+        for (int row = 0; row < rows.size(); row++) {
+            String characters = rows.get(row).getAsString();
+            int column = 0;
+            for (int index = 0; index < characters.length(); column++) {
+                int codePoint = characters.codePointAt(index);
+                index += Character.charCount(codePoint);
+                if (codePoint == 0 || codePoint > Character.MAX_VALUE || loaded[codePoint]) continue; // empty cells, and characters that a char cannot hold
+
+                int glyphWidth = glyphWidth(image, column * cellWidth, row * cellHeight, cellWidth, cellHeight);
+                int width = Math.min(Byte.MAX_VALUE - 1, (int) (0.5F + glyphWidth * scale));
+                this.widths[codePoint] = (byte) width;
+                this.boldWidths[codePoint] = (byte) (width + 1);
+                loaded[codePoint] = true;
+            }
+        }
+    }
+
+    private static int glyphWidth(BufferedImage image, int x, int y, int width, int height) {
+        for (int column = width - 1; column >= 0; column--) { // the rightmost column with anything in it
+            for (int row = 0; row < height; row++)
+                if ((image.getRGB(x + column, y + row) >>> 24) != 0) return column + 1;
+        }
+        return 0;
+    }
+
+    private void loadSpace(JsonObject provider, boolean[] loaded) {
+        JsonObject advances = provider.getAsJsonObject("advances");
+        if (advances == null) return;
+        for (Map.Entry<String, JsonElement> entry : advances.entrySet()) {
+            if (entry.getKey().length() != 1) continue;
+            char character = entry.getKey().charAt(0);
+            if (loaded[character]) continue;
+
+            int width = Math.max(0, Math.min(Byte.MAX_VALUE, Math.round(entry.getValue().getAsFloat()) - 1)); // advances include the gap
+            this.widths[character] = (byte) width;
+            this.boldWidths[character] = (byte) width;
+            loaded[character] = true;
+        }
+    }
+
+    private static Path resolve(Path root, String location, String folder, String extension) {
+        int separator = location.indexOf(':');
+        String namespace = separator == -1 ? "minecraft" : location.substring(0, separator);
+        String path = location.substring(separator + 1);
+        return root.resolve("assets").resolve(namespace).resolve(folder + path + extension);
+    }
+
+}
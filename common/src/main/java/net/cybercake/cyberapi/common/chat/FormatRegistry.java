@@ -0,0 +1,130 @@
+package net.cybercake.cyberapi.common.chat;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * The registry behind {@code ChatFormatType} on both platforms. Formats are looked up by name (not case-sensitive) in a single hash
+ * lookup, and whether a format returns an Adventure type is worked out once when it is registered, instead of every time it is used.
+ * @param <F> the type of format that is registered
+ * @since 185
+ */
+@ApiStatus.Internal
+public class FormatRegistry<F> {
+
+    private static final String ADVENTURE_PACKAGE = "net.kyori.adventure.";
+
+    private final Function<F, String> nameOf;
+    private final Function<F, Class<?>> returnTypeOf;
+    private final Map<String, F> byName = new ConcurrentHashMap<>();
+    private final Map<F, Boolean> requiresAdventure = new ConcurrentHashMap<>();
+    private final List<F> values = new CopyOnWriteArrayList<>();
+    private final List<F> unmodifiableValues = Collections.unmodifiableList(this.values);
+    private final List<F> builtIn = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new, empty format registry
+     * @param nameOf gets the name of a format
+     * @param returnTypeOf gets the type that a format returns
+     * @since 185
+     */
+    public FormatRegistry(Function<F, String> nameOf, Function<F, Class<?>> returnTypeOf) {
+        this.nameOf = nameOf;
+        this.returnTypeOf = returnTypeOf;
+    }
+
+    /**
+     * Registers a format that comes with CyberAPI, which cannot be unregistered
+     * @param format the format to register
+     * @since 185
+     */
+    public void registerBuiltIn(F format) {
+        register(format);
+        this.builtIn.add(format);
+    }
+
+    /**
+     * Registers a format, making it available by its name
+     * @param format the format to register
+     * @return the format, for assigning to a constant
+     * @throws IllegalArgumentException if a format with the same name (not case-sensitive) is already registered
+     * @since 185
+     */
+    public synchronized F register(F format) {
+        String name = this.nameOf.apply(format);
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("A chat format type must have a name");
+        String key = name.toUpperCase(Locale.ROOT);
+        if (this.byName.containsKey(key)) throw new IllegalArgumentException("A chat format type named " + key + " is already registered");
+
+        this.requiresAdventure.put(format, isAdventureType(this.returnTypeOf.apply(format)));
+        this.byName.put(key, format);
+        this.values.add(format);
+        return format;
+    }
+
+    /**
+     * Unregisters a format
+     * @param name the name of the format, not case-sensitive
+     * @return the format that was unregistered, or null if there was none by that name
+     * @throws IllegalArgumentException if the format comes with CyberAPI
+     * @since 185
+     */
+    public synchronized @Nullable F unregister(String name) {
+        F format = get(name);
+        if (format == null) return null;
+        if (this.builtIn.contains(format)) throw new IllegalArgumentException("The chat format type " + name + " comes with CyberAPI, so it cannot be unregistered");
+
+        this.byName.remove(name.toUpperCase(Locale.ROOT));
+        this.values.remove(format);
+        this.requiresAdventure.remove(format);
+        return format;
+    }
+
+    /**
+     * @param name the name of the format, not case-sensitive
+     * @return the format with that name, or null if there is none
+     * @since 185
+     */
+    public @Nullable F get(String name) {
+        if (name == null) return null;
+        F format = this.byName.get(name); // names are usually already uppercase, so this avoids copying the string
+        return format != null ? format : this.byName.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return every registered format, in the order they were registered, which cannot be changed
+     * @since 185
+     */
+    public List<F> values() { return this.unmodifiableValues; }
+
+    /**
+     * Checks if a format returns an Adventure type, which is only worked out again for formats that aren't registered
+     * @param format the format
+     * @return true if the format needs Adventure API support to be used
+     * @since 185
+     */
+    public boolean requiresAdventure(F format) {
+        Boolean requires = this.requiresAdventure.get(format);
+        return requires != null ? requires : isAdventureType(this.returnTypeOf.apply(format));
+    }
+
+    /**
+     * @param type the type
+     * @return true if the type is part of Adventure API
+     * @since 185
+     */
+    public static boolean isAdventureType(@Nullable Class<?> type) {
+        return type != null && type.getName().startsWith(ADVENTURE_PACKAGE);
+    }
+
+}
@@ -3,6 +3,7 @@ package net.cybercake.cyberapi.common.chat;
 /**
  * An enumeration which maps old legacy color codes, using the '{@literal &}' character, to its more modern counterpart in MiniMessage
  * @since 139
+ * @see LegacyTranslator LegacyTranslator, to translate every code in a single pass
  */
 public enum LegacyToMiniMessage {
 
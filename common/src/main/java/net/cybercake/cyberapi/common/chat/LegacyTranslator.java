@@ -0,0 +1,124 @@
+package net.cybercake.cyberapi.common.chat;
+
+import static net.cybercake.cyberapi.common.chat.LegacyToMiniMessage.LEGACY_AMPERSAND_SYMBOL;
+import static net.cybercake.cyberapi.common.chat.LegacyToMiniMessage.LEGACY_SECTION_SYMBOL;
+
+/**
+ * Translates legacy color codes into MiniMessage tags in a single pass over the {@link String}, which is what {@code ChatFormatType.COMBINED} uses
+ * before the message is given to MiniMessage. Both '{@literal &}' and '&sect;' codes are translated, along with hex colors in the
+ * "{@code &#RRGGBB}" and "{@code &x&R&R&G&G&B&B}" formats. Codes that are not known are kept as they are (though the section symbol is
+ * changed to '{@literal &}', just like {@link LegacyToMiniMessage#cleanse(String)}).
+ * <br> <br>
+ * For example, "{@code &cHello &#00ff00world}" becomes "{@code <red>Hello <#00ff00>world}"
+ * @since 185
+ * @see LegacyToMiniMessage
+ */
+public class LegacyTranslator {
+
+    private static final String[] TAGS = new String[128];
+    static {
+        for (LegacyToMiniMessage legacy : LegacyToMiniMessage.values()) {
+            char code = legacy.getOld().charAt(1);
+            TAGS[Character.toLowerCase(code)] = legacy.getNewer();
+            TAGS[Character.toUpperCase(code)] = legacy.getNewer();
+        }
+    }
+
+    private static final int HEX_LENGTH = 6;
+    private static final int SHORT_HEX_LENGTH = 2 + HEX_LENGTH; // &#RRGGBB
+    private static final int REPEATED_HEX_LENGTH = 2 + HEX_LENGTH * 2; // &x&R&R&G&G&B&B
+
+    /**
+     * Translates every legacy color code using '{@literal &}' or '&sect;' into MiniMessage tags
+     * @param input the legacy string, which contains a format such as "{@code &c}"
+     * @return the MiniMessage string, which would contain "{@code <red>}" if given "{@code &c}"
+     * @since 185
+     * @see LegacyTranslator#translate(char, String)
+     */
+    public static String translate(String input) { return translate(LEGACY_AMPERSAND_SYMBOL, input); }
+
+    /**
+     * Translates every legacy color code using '{@literal &}', '&sect;' or the alternate character into MiniMessage tags
+     * @param alternateCharacter another character that marks a color code, besides '{@literal &}' and '&sect;'
+     * @param input the legacy string, which contains a format such as "{@code &c}"
+     * @return the MiniMessage string, which would contain "{@code <red>}" if given "{@code &c}"
+     * @since 185
+     */
+    public static String translate(char alternateCharacter, String input) {
+        int length = input.length();
+        int first = firstCodeCharacter(alternateCharacter, input);
+        if (first == -1) return input; // nothing to translate, so nothing to copy
+
+        StringBuilder output = new StringBuilder(length + 16);
+        output.append(input, 0, first);
+        int index = first;
+        while (index < length) {
+            char character = input.charAt(index);
+            if (!isCodeCharacter(alternateCharacter, character)) {
+                output.append(character);
+                index++;
+                continue;
+            }
+
+            if (index + 1 < length) {
+                char code = input.charAt(index + 1);
+
+                if (code == '#' && index + SHORT_HEX_LENGTH <= length && isHex(input, index + 2, index + SHORT_HEX_LENGTH)) {
+                    output.append("<#").append(input, index + 2, index + SHORT_HEX_LENGTH).append('>');
+                    index += SHORT_HEX_LENGTH;
+                    continue;
+                }
+
+                if ((code == 'x' || code == 'X') && index + REPEATED_HEX_LENGTH <= length && isRepeatedHex(alternateCharacter, input, index + 2)) {
+                    output.append("<#");
+                    for (int digit = 0; digit < HEX_LENGTH; digit++)
+                        output.append(input.charAt(index + 3 + digit * 2));
+                    output.append('>');
+                    index += REPEATED_HEX_LENGTH;
+                    continue;
+                }
+
+                String tag = code < TAGS.length ? TAGS[code] : null;
+                if (tag != null) {
+                    output.append(tag);
+                    index += 2;
+                    continue;
+                }
+            }
+
+            output.append(LEGACY_AMPERSAND_SYMBOL); // unknown code, kept as it is
+            index++;
+        }
+        return output.toString();
+    }
+
+    private static int firstCodeCharacter(char alternateCharacter, String input) {
+        for (int index = 0; index < input.length(); index++)
+            if (isCodeCharacter(alternateCharacter, input.charAt(index))) return index;
+        return -1;
+    }
+
+    private static boolean isCodeCharacter(char alternateCharacter, char character) {
+        return character == LEGACY_AMPERSAND_SYMBOL || character == LEGACY_SECTION_SYMBOL || character == alternateCharacter;
+    }
+
+    private static boolean isHex(String input, int start, int end) {
+        for (int index = start; index < end; index++)
+            if (!isHexDigit(input.charAt(index))) return false;
+        return true;
+    }
+
+    private static boolean isHexDigit(char character) {
+        return (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f') || (character >= 'A' && character <= 'F');
+    }
+
+    // &R&R&G&G&B&B, starting at the first '&'
+    private static boolean isRepeatedHex(char alternateCharacter, String input, int start) {
+        for (int digit = 0; digit < HEX_LENGTH; digit++) {
+            if (!isCodeCharacter(alternateCharacter, input.charAt(start + digit * 2))) return false;
+            if (!isHexDigit(input.charAt(start + digit * 2 + 1))) return false;
+        }
+        return true;
+    }
+
+}
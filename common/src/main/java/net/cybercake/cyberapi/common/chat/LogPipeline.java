@@ -0,0 +1,203 @@
+package net.cybercake.cyberapi.common.chat;
+
+import net.cybercake.cyberapi.common.basic.MpscRingBuffer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * The queue behind {@code Log} on both platforms. Any thread can submit a log entry without blocking, and the entries are handed to the
+ * platform in one batch per scheduled drain, so a burst of logs from async threads only ever schedules a single task.
+ * <br> <br>
+ * The caller of a log is only found if something will actually read it, and even then only a couple of frames are walked using
+ * {@link StackWalker}, instead of copying the entire stack trace. The {@link StackTraceElement} itself is only created when asked for.
+ * @since 185
+ */
+@ApiStatus.Internal
+public class LogPipeline {
+
+    /**
+     * The default amount of log entries that can be waiting to be drained
+     * @since 185
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final StackTraceElement UNKNOWN_CALLER = new StackTraceElement("unknown", "unknown", null, -1);
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * A log waiting to be drained
+     * @since 185
+     */
+    public static final class Entry {
+        private final Level level;
+        private final String message;
+        private @Nullable StackWalker.StackFrame frame;
+        private @Nullable StackTraceElement caller;
+
+        private Entry(Level level, String message, @Nullable StackWalker.StackFrame frame, @Nullable StackTraceElement caller) {
+            this.level = level;
+            this.message = message;
+            this.frame = frame;
+            this.caller = caller;
+        }
+
+        /**
+         * @return the level of the log
+         * @since 185
+         */
+        public Level getLevel() { return this.level; }
+
+        /**
+         * @return the message of the log
+         * @since 185
+         */
+        public String getMessage() { return this.message; }
+
+        /**
+         * @return the caller of the log, or an "unknown" element if the caller was not found when the entry was submitted
+         * @since 185
+         */
+        public StackTraceElement getCaller() {
+            if (this.caller == null) {
+                this.caller = this.frame == null ? UNKNOWN_CALLER : this.frame.toStackTraceElement();
+                this.frame = null;
+            }
+            return this.caller;
+        }
+    }
+
+    private final MpscRingBuffer<Entry> queue;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Consumer<Runnable> scheduler;
+    private final Consumer<Entry> handler;
+
+    /**
+     * Creates a new log pipeline that holds at most {@link LogPipeline#DEFAULT_CAPACITY} entries
+     * @param scheduler schedules a drain to be run later, for example on the next tick
+     * @param handler what every drained entry is given to, always called on the thread the drain is running on
+     * @since 185
+     */
+    public LogPipeline(Consumer<Runnable> scheduler, Consumer<Entry> handler) {
+        this(DEFAULT_CAPACITY, scheduler, handler);
+    }
+
+    /**
+     * Creates a new log pipeline
+     * @param capacity the amount of entries that can be waiting to be drained
+     * @param scheduler schedules a drain to be run later, for example on the next tick
+     * @param handler what every drained entry is given to, always called on the thread the drain is running on
+     * @since 185
+     */
+    public LogPipeline(int capacity, Consumer<Runnable> scheduler, Consumer<Entry> handler) {
+        this.queue = new MpscRingBuffer<>(capacity);
+        this.scheduler = scheduler;
+        this.handler = handler;
+    }
+
+    /**
+     * Creates a log entry, finding the caller if needed
+     * @param level the level of the log
+     * @param message the message of the log
+     * @param findCaller whether to find the caller, which should only be true if something will read it
+     * @param loggingClasses the classes that are part of logging, whose frames are skipped when finding the caller
+     * @return the new entry
+     * @since 185
+     */
+    public static Entry entry(Level level, String message, boolean findCaller, Class<?>... loggingClasses) {
+        return new Entry(level, message, findCaller ? findCaller(loggingClasses) : null, null);
+    }
+
+    /**
+     * Creates a log entry with a known caller
+     * @param level the level of the log
+     * @param message the message of the log
+     * @param caller the caller of the log
+     * @return the new entry
+     * @since 185
+     */
+    public static Entry entry(Level level, String message, StackTraceElement caller) {
+        return new Entry(level, message, null, caller);
+    }
+
+    /**
+     * Finds the first frame on the current thread that is not part of logging
+     * @param loggingClasses the classes that are part of logging
+     * @return the frame, or null if there isn't one
+     * @since 185
+     */
+    public static @Nullable StackWalker.StackFrame findCaller(Class<?>... loggingClasses) {
+        return WALKER.walk(frames -> frames
+                .dropWhile(frame -> frame.getClassName().equals(LogPipeline.class.getName()) || isLoggingClass(frame.getClassName(), loggingClasses))
+                .findFirst()
+                .orElse(null)
+        );
+    }
+
+    private static boolean isLoggingClass(String className, Class<?>[] loggingClasses) {
+        for (Class<?> loggingClass : loggingClasses)
+            if (className.equals(loggingClass.getName())) return true;
+        return false;
+    }
+
+    /**
+     * Checks if a method with the name is anywhere on the current thread's stack, without copying the stack trace
+     * @param methodName the name of the method, not case-sensitive
+     * @return true if the method is currently being run
+     * @since 185
+     */
+    public static boolean isInMethod(String methodName) {
+        return WALKER.walk(frames -> frames.anyMatch(frame -> frame.getMethodName().equalsIgnoreCase(methodName)));
+    }
+
+    /**
+     * Submits an entry to be drained later, safe to call from any thread. A drain is only scheduled if one is not already waiting.
+     * @param entry the entry to submit
+     * @return true if the entry was queued, false if the queue is full and the entry should be logged some other way
+     * @since 185
+     */
+    public boolean submit(Entry entry) {
+        if (!this.queue.offer(entry)) return false;
+        if (this.drainScheduled.compareAndSet(false, true))
+            this.scheduler.accept(this::drain);
+        return true;
+    }
+
+    /**
+     * Gives the queued entries to the handler, at most one full ring at a time. If entries are still left over after that, another drain
+     * is scheduled for them.
+     * @since 185
+     */
+    public void drain() {
+        drain(this.handler, this.queue.capacity());
+        if (this.queue.size() > 0 && this.drainScheduled.compareAndSet(false, true))
+            this.scheduler.accept(this::drain);
+    }
+
+    /**
+     * Gives every queued entry to a handler right away, for example to log them directly when the plugin is disabling and drains can no
+     * longer be scheduled
+     * @param handler what every entry is given to
+     * @since 185
+     */
+    public void flush(Consumer<Entry> handler) { drain(handler, Integer.MAX_VALUE); }
+
+    private synchronized void drain(Consumer<Entry> handler, int limit) {
+        this.drainScheduled.set(false); // anything submitted from now on schedules a new drain
+        Entry entry;
+        while (limit-- > 0 && (entry = this.queue.poll()) != null)
+            handler.accept(entry);
+    }
+
+    /**
+     * @return an estimate of the amount of entries waiting to be drained
+     * @since 185
+     */
+    public int getPendingCount() { return this.queue.size(); }
+
+}
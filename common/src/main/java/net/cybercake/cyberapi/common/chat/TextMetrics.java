@@ -0,0 +1,266 @@
+package net.cybercake.cyberapi.common.chat;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures text in pixels, using the {@link FontMetrics#getActive() active font}. Both legacy strings (using either {@code §} or
+ * {@code &} color codes) and Adventure {@link Component Components} are measured in a single pass, without translating or copying them.
+ * <br> <br>
+ * Example usage:
+ * <pre>{@code
+ * int width = TextMetrics.width("&a&lHello there!");
+ * List<String> lines = TextMetrics.wrap("&7A long description of an item...", TextMetrics.LORE_WIDTH);
+ * String centered = TextMetrics.center("&6&lWelcome!", TextMetrics.CHAT_WIDTH);
+ * }</pre>
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public class TextMetrics {
+
+    /**
+     * The width of the chat box at the default chat settings, in pixels
+     * @since 185
+     */
+    public static final int CHAT_WIDTH = 320;
+
+    /**
+     * The width of a server's MOTD in the server list, in pixels
+     * @since 185
+     */
+    public static final int MOTD_WIDTH = 270;
+
+    /**
+     * A comfortable width for item lore, in pixels, as item tooltips have no maximum width
+     * @since 185
+     */
+    public static final int LORE_WIDTH = 200;
+
+    /**
+     * The width of an average character including the gap after it, in pixels, for turning a length in characters into a width
+     * @since 185
+     */
+    public static final int AVERAGE_CHARACTER_WIDTH = 6;
+
+    private static final char SECTION = '§';
+    private static final int BOLD = 1, RESET = 2; // what a color code does to the text after it, see codeEffect(...)
+
+    /**
+     * Measures a legacy string. Color codes take up no space, and anything after a bold code ({@code l}) is measured as bold until the
+     * next color or reset code.
+     * @param text the text to measure, which can contain new lines (they are measured as if they were one line)
+     * @return the width of the text in pixels
+     * @since 185
+     */
+    public static int width(String text) { return width(text, 0, text.length(), FontMetrics.getActive()); }
+
+    /**
+     * Measures an Adventure {@link Component}, including all of its children. Only the text of {@link TextComponent TextComponents} is
+     * measured, as anything else (such as translatable components) is only known by the client.
+     * @param component the component to measure
+     * @return the width of the component in pixels
+     * @apiNote requires Adventure API support
+     * @since 185
+     */
+    public static int width(Component component) { return width(component, false, FontMetrics.getActive()); }
+
+    private static int width(Component component, boolean parentBold, FontMetrics font) {
+        TextDecoration.State state = component.style().decoration(TextDecoration.BOLD);
+        boolean bold = state == TextDecoration.State.TRUE || (state == TextDecoration.State.NOT_SET && parentBold);
+
+        int width = 0;
+        if (component instanceof TextComponent text) {
+            String content = text.content();
+            for (int index = 0; index < content.length(); index++)
+                width += font.getAdvance(content.charAt(index), bold);
+        }
+        for (Component child : component.children())
+            width += width(child, bold, font);
+        return width;
+    }
+
+    private static int width(String text, int start, int end, FontMetrics font) {
+        int width = 0;
+        boolean bold = false;
+        for (int index = start; index < end; index++) {
+            int length = codeLength(text, index, end);
+            if (length == 0) {
+                width += font.getAdvance(text.charAt(index), bold);
+                continue;
+            }
+            int effect = codeEffect(text, index, length);
+            if (effect != 0) bold = effect == BOLD;
+            index += length - 1;
+        }
+        return width;
+    }
+
+    /**
+     * Splits a legacy string into lines that are no wider than a width, breaking at spaces where possible. Any colors and formatting
+     * that are active where a line is broken are carried onto the start of the next line, and existing new lines are kept.
+     * @param text the text to wrap
+     * @param maxWidth the widest a line can be, in pixels
+     * @return the wrapped lines
+     * @since 185
+     */
+    public static List<String> wrap(String text, int maxWidth) {
+        FontMetrics font = FontMetrics.getActive();
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        String color = "", formats = ""; // the color and formatting codes that are active, exactly as they were written
+        boolean bold = false;
+        int lineWidth = 0;
+        int lastSpace = -1, widthAfterSpace = 0; // the last space on this line, which is where the line is broken if it gets too wide
+        String colorAtSpace = "", formatsAtSpace = "";
+
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '\n') {
+                lines.add(line.toString());
+                line.setLength(0);
+                line.append(color).append(formats);
+                lineWidth = 0;
+                lastSpace = -1;
+                continue;
+            }
+
+            int length = codeLength(text, index, text.length());
+            if (length != 0) {
+                String code = text.substring(index, index + length);
+                int effect = codeEffect(text, index, length);
+                if (effect == RESET) {
+                    color = code.equalsIgnoreCase(SECTION + "r") || code.equalsIgnoreCase("&r") ? "" : code;
+                    formats = "";
+                    bold = false;
+                } else {
+                    formats = formats + code;
+                    bold |= effect == BOLD;
+                }
+                line.append(code);
+                index += length - 1;
+                continue;
+            }
+
+            int advance = font.getAdvance(character, bold);
+            if (lineWidth > 0 && lineWidth + advance > maxWidth) {
+                if (character == ' ') { // break right here, dropping the space
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(color).append(formats);
+                    lineWidth = 0;
+                    lastSpace = -1;
+                    continue;
+                }
+                if (lastSpace != -1) { // move the word that didn't fit onto the next line
+                    String word = line.substring(lastSpace + 1);
+                    line.setLength(lastSpace);
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(colorAtSpace).append(formatsAtSpace).append(word);
+                    lineWidth -= widthAfterSpace;
+                } else { // a single word wider than a line, so it has to be split
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(color).append(formats);
+                    lineWidth = 0;
+                }
+                lastSpace = -1;
+            }
+
+            if (character == ' ') {
+                lastSpace = line.length();
+                widthAfterSpace = lineWidth + advance;
+                colorAtSpace = color;
+                formatsAtSpace = formats;
+            }
+            line.append(character);
+            lineWidth += advance;
+        }
+        lines.add(line.toString());
+        return lines;
+    }
+
+    /**
+     * Centers a legacy string by adding spaces before it, so that its middle lines up with the middle of a line of a certain width. Each
+     * line of the text is centered by itself.
+     * @param text the text to center
+     * @param lineWidth the width of the line to center it on, in pixels, such as {@link TextMetrics#CHAT_WIDTH}
+     * @return the centered text
+     * @since 185
+     */
+    public static String center(String text, int lineWidth) {
+        FontMetrics font = FontMetrics.getActive();
+        int spaceAdvance = font.getAdvance(' ', false);
+        StringBuilder centered = new StringBuilder(text.length() + 32);
+        int lineStart = 0;
+        while (true) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd == -1) lineEnd = text.length();
+
+            int toCompensate = lineWidth / 2 - width(text, lineStart, lineEnd, font) / 2;
+            int spaces = lineStart == lineEnd || toCompensate <= 0 ? 0 : (toCompensate + spaceAdvance - 1) / spaceAdvance;
+            centered.append(" ".repeat(spaces)).append(text, lineStart, lineEnd);
+
+            if (lineEnd == text.length()) return centered.toString();
+            centered.append('\n');
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * @return the length of the color code at an index (including the {@code §} or {@code &}), or 0 if there isn't one
+     */
+    private static int codeLength(String text, int index, int end) {
+        char character = text.charAt(index);
+        if (character != SECTION && character != '&') return 0;
+        if (index + 1 >= end) return character == SECTION ? 1 : 0;
+
+        char code = text.charAt(index + 1);
+        if (character == '&' && code == '#') // &#RRGGBB
+            return index + 8 <= end && isHex(text, index + 2, index + 8) ? 8 : 0;
+        if ((code == 'x' || code == 'X') && isHexPairs(text, index + 2, end)) // §x§R§R§G§G§B§B
+            return 14;
+        if (character == SECTION) return 2; // the client hides whatever comes after a §, even if it isn't a code
+        return isCode(code) ? 2 : 0;
+    }
+
+    /**
+     * @return {@link TextMetrics#BOLD} if the code at an index makes text bold, {@link TextMetrics#RESET} if it is a color or reset code
+     * (which turns off all formatting), or 0 if it is any other formatting code
+     */
+    private static int codeEffect(String text, int index, int length) {
+        if (length < 2) return 0;
+        char code = Character.toLowerCase(text.charAt(index + 1));
+        if (code == 'l') return BOLD;
+        if (code == 'r' || code == 'x' || code == '#' || (code >= '0' && code <= '9') || (code >= 'a' && code <= 'f')) return RESET;
+        return 0;
+    }
+
+    /**
+     * @return whether the six pairs starting at an index are each a {@code §} or {@code &} followed by a hex digit
+     */
+    private static boolean isHexPairs(String text, int index, int end) {
+        if (index + 12 > end) return false;
+        for (int pair = index; pair < index + 12; pair += 2) {
+            char marker = text.charAt(pair);
+            if ((marker != SECTION && marker != '&') || !isHex(text, pair + 1, pair + 2)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isCode(char code) {
+        char lower = Character.toLowerCase(code);
+        return (lower >= '0' && lower <= '9') || (lower >= 'a' && lower <= 'f') || (lower >= 'k' && lower <= 'o') || lower == 'r';
+    }
+
+    private static boolean isHex(String text, int start, int end) {
+        for (int index = start; index < end; index++)
+            if (Character.digit(text.charAt(index), 16) == -1) return false;
+        return true;
+    }
+
+}
@@ -1,22 +1,17 @@
 package net.cybercake.cyberapi.common.player;
 
-import net.cybercake.cyberapi.common.CommonAdapter;
-import net.cybercake.cyberapi.common.basic.Time;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Represents a cached player's username
+ * Represents a cached player's username, which is kept in the {@link ProfileCache}
  */
 public class CachedUsername {
 
     private UUID uuid;
-    private long lastCached;
-    private String username;
-
-    private static final HashMap<UUID, CachedUsername> cachedUsernames = new HashMap<>();
 
     private CachedUsername() { }
 
@@ -31,15 +26,10 @@ public class CachedUsername {
     @Deprecated
     @SuppressWarnings({"all"})
     public CachedUsername(@NotNull UUID uuid) {
-        if (cachedUsernames.containsKey(uuid)) throw new IllegalArgumentException("That UUID is already stored in cached usernames!");
+        if (ProfileCache.getCachedAt(uuid) != 0L) throw new IllegalArgumentException("That UUID is already stored in cached usernames!");
 
         this.uuid = uuid;
-        this.lastCached = 0L;
-        this.username = null;
-
         forceRecache();
-
-        cachedUsernames.put(uuid, this);
     }
 
     /**
@@ -50,18 +40,20 @@ public class CachedUsername {
      * @since 15
      */
     public static CachedUsername cachedUsername(@NotNull UUID uuid) {
-        if (cachedUsernames.containsKey(uuid)) return cachedUsernames.get(uuid);
-        return new CachedUsername(uuid);
+        CachedUsername cachedUsername = new CachedUsername(); // only a view of the ProfileCache, so there is nothing to store
+        cachedUsername.uuid = uuid;
+        return cachedUsername;
     }
 
     /**
      * Forces the instance to re-cache the known username, uses {@code CyberAPI.getInstance().getName(UUID)}
-     * <p>This automatically happens every 30 minutes anyway!</p>
+     * <p>This automatically happens every 30 minutes anyway! The username is looked up in the background, and the old username keeps
+     * being used until that finishes.</p>
      * @since 15
+     * @see ProfileCache#refreshName(UUID)
      */
     public void forceRecache() {
-        this.lastCached = Time.getUnix();
-        this.username = CommonAdapter.adapter().getName(uuid);
+        ProfileCache.refreshName(this.uuid);
     }
 
     /**
@@ -76,7 +68,7 @@ public class CachedUsername {
      * @return when the last cached occurred, unix time
      * @since 15
      */
-    public long getLastCached() { return lastCached; }
+    public long getLastCached() { return ProfileCache.getCachedAt(this.uuid) / 1000L; }
 
     /**
      * Gets how long it's been since the last cache, returns -1 if it has not been cached yet
@@ -84,18 +76,36 @@ public class CachedUsername {
      * @since 15
      */
     public long getSecondsSinceLastCache() {
-        if (lastCached == 0L) return -1L;
-        return (Time.getUnix()-lastCached);
+        long cachedAt = ProfileCache.getCachedAt(this.uuid);
+        if (cachedAt == 0L) return -1L;
+        return (System.currentTimeMillis() - cachedAt) / 1000L;
     }
 
     /**
-     * Gets the cached username of the player involved
+     * Gets the cached username of the player involved. If the username has been cached before, this never waits, even if the username is
+     * out of date (it is looked up again in the background). Only the very first time a username is needed does this wait for it to be
+     * looked up, so {@link CachedUsername#getUsernameAsync()} should be preferred for players that may never have been cached.
      * @return the {@link String} username
+     * @throws IllegalArgumentException if the username was not cached and could not be looked up
      * @since 15
      */
     public String getUsername() {
-        if (getSecondsSinceLastCache() == -1 || getSecondsSinceLastCache() >= (30*60)) forceRecache();
-        return username;
+        String username = ProfileCache.getCachedName(this.uuid);
+        if (username != null) return username;
+        try {
+            return ProfileCache.getName(this.uuid).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalArgumentException("Unable to get the username of " + this.uuid, exception.getCause());
+        }
     }
 
+    /**
+     * Gets the cached username of the player involved, without ever waiting for it to be looked up
+     * @return the {@link String} username, which is already completed if it was cached
+     * @since 185
+     * @see ProfileCache#getName(UUID)
+     */
+    public CompletableFuture<String> getUsernameAsync() { return ProfileCache.getName(this.uuid); }
+
 }
@@ -0,0 +1,56 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A typed key for storing per-player state in {@link PlayerMetadata}. Keys are compared by identity, so they are usually kept as
+ * constants:
+ * <pre>{@code
+ * public static final MetadataKey<Integer> KILL_STREAK = MetadataKey.of("kill_streak", Integer.class);
+ *
+ * CyberPlayer.from(player).getMetadata().set(KILL_STREAK, 5);
+ * }</pre>
+ * @param <T> the type of value stored under this key
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public final class MetadataKey<T> {
+
+    /**
+     * Creates a new key
+     * @param name the name of the key, only used for debugging, as two keys with the same name are still different keys
+     * @param type the type of value stored under this key
+     * @return the key
+     * @param <T> the type of value stored under this key
+     * @since 185
+     */
+    public static <T> MetadataKey<T> of(String name, Class<T> type) {
+        Preconditions.checkArgument(name != null && !name.isBlank(), "The name of a metadata key cannot be blank");
+        Preconditions.checkNotNull(type, "type");
+        return new MetadataKey<>(name, type);
+    }
+
+    private final String name;
+    private final Class<T> type;
+
+    private MetadataKey(String name, Class<T> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * @return the name of the key
+     * @since 185
+     */
+    public String getName() { return this.name; }
+
+    /**
+     * @return the type of value stored under this key
+     * @since 185
+     */
+    public Class<T> getType() { return this.type; }
+
+    @Override
+    public String toString() { return "MetadataKey{" + this.name + ", " + this.type.getSimpleName() + "}"; }
+
+}
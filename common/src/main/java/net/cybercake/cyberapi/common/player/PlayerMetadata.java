@@ -0,0 +1,96 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-player state that plugins attach to a player's {@code CyberPlayer}, stored under {@link MetadataKey typed keys}. For online players,
+ * the metadata lives as long as the player's session, from when they join until they quit.
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public class PlayerMetadata {
+
+    private final Map<MetadataKey<?>, Object> values = new ConcurrentHashMap<>();
+
+    /**
+     * @param key the key
+     * @return the value stored under that key, or null if there is none
+     * @param <T> the type of value stored under the key
+     * @since 185
+     */
+    public <T> @Nullable T get(@NotNull MetadataKey<T> key) { return key.getType().cast(this.values.get(key)); }
+
+    /**
+     * @param key the key
+     * @param defaultValue the value to return if there is none stored under that key
+     * @return the value stored under that key, or the default value if there is none
+     * @param <T> the type of value stored under the key
+     * @since 185
+     */
+    public <T> T getOrDefault(@NotNull MetadataKey<T> key, T defaultValue) {
+        T value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Stores a value under a key, replacing any value already stored under it
+     * @param key the key
+     * @param value the value, or null to remove the value stored under the key
+     * @param <T> the type of value stored under the key
+     * @since 185
+     */
+    public <T> void set(@NotNull MetadataKey<T> key, @Nullable T value) {
+        Preconditions.checkNotNull(key, "key");
+        if (value == null) this.values.remove(key);
+        else this.values.put(key, key.getType().cast(value)); // so a raw key cannot store the wrong type
+    }
+
+    /**
+     * Gets the value stored under a key, storing a new one first if there is none
+     * @param key the key
+     * @param supplier supplies the value to store if there is none, which cannot return null
+     * @return the value stored under that key
+     * @param <T> the type of value stored under the key
+     * @since 185
+     */
+    public <T> T computeIfAbsent(@NotNull MetadataKey<T> key, @NotNull Supplier<? extends T> supplier) {
+        return key.getType().cast(this.values.computeIfAbsent(key, ignored -> Preconditions.checkNotNull(key.getType().cast(supplier.get()), "The supplied value cannot be null")));
+    }
+
+    /**
+     * Removes the value stored under a key
+     * @param key the key
+     * @return the value that was removed, or null if there was none
+     * @param <T> the type of value stored under the key
+     * @since 185
+     */
+    public <T> @Nullable T remove(@NotNull MetadataKey<T> key) { return key.getType().cast(this.values.remove(key)); }
+
+    /**
+     * @param key the key
+     * @return true if a value is stored under that key
+     * @since 185
+     */
+    public boolean has(@NotNull MetadataKey<?> key) { return this.values.containsKey(key); }
+
+    /**
+     * @return every key that has a value stored under it, which cannot be changed
+     * @since 185
+     */
+    public Set<MetadataKey<?>> keys() { return Collections.unmodifiableSet(this.values.keySet()); }
+
+    /**
+     * Removes every value
+     * @since 185
+     */
+    public void clear() { this.values.clear(); }
+
+}
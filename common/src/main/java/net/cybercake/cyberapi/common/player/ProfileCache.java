@@ -0,0 +1,342 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+import net.cybercake.cyberapi.common.CommonAdapter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The cache shared by everything in CyberAPI that turns a {@link UUID} into a username, or a username into a {@link UUID}, such as
+ * {@link CachedUsername} and {@code CommonManager#getNameAsync(UUID)}.
+ * <br> <br>
+ * Nothing here ever blocks the calling thread. Players that are not cached are first looked for in the
+ * {@link ProfileDirectory#getActive() profile directory} (if one is enabled), and only then looked up from Mojang on a background thread,
+ * where many lookups for the same player at once only ever send one request. Once an entry is older than the {@link ProfileCache#setSoftTTL(long, TimeUnit) soft TTL}, the old
+ * value keeps being given out while a new one is looked up in the background. The cache holds at most
+ * {@link ProfileCache#setMaximumSize(int) a certain amount} of players, removing those that were used least recently.
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public class ProfileCache {
+
+    /**
+     * The default amount of time before a cached entry is looked up again, which is 30 minutes
+     * @since 185
+     */
+    public static final long DEFAULT_SOFT_TTL = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * The default amount of players that can be cached, in each direction
+     * @since 185
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final long FAILED_REFRESH_RETRY = TimeUnit.MINUTES.toMillis(1);
+    private static final int LOOKUP_THREADS = 2;
+    private static final ThreadPoolExecutor LOOKUPS;
+    static {
+        LOOKUPS = new ThreadPoolExecutor(LOOKUP_THREADS, LOOKUP_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Profile Lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOOKUPS.allowCoreThreadTimeOut(true); // so the threads do not outlive the plugin when nothing is being looked up
+    }
+
+    private static volatile long softTTL = DEFAULT_SOFT_TTL;
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private static final Table<UUID, String> NAMES = new Table<>(
+            uuid -> CompletableFuture.supplyAsync(() -> CommonAdapter.adapter().lookupName(uuid), LOOKUPS), // not getName, which would give back the cached name
+            (uuid, name) -> put(uuid, name),
+            uuid -> {
+                ProfileDirectory directory = ProfileDirectory.getActive();
+                ProfileDirectory.Entry entry = directory == null ? null : directory.get(uuid);
+                return entry == null ? null : entry.name();
+            }
+    );
+    // names are looked up in bulk, and the resolver already puts what it finds into this cache
+    private static final Table<String, UUID> UUIDS = new Table<>(
+            name -> ProfileResolver.getDefault().resolve(name),
+            (name, uuid) -> { },
+            name -> {
+                ProfileDirectory directory = ProfileDirectory.getActive();
+                ProfileDirectory.Entry entry = directory == null ? null : directory.get(name);
+                return entry == null ? null : entry.uuid();
+            }
+    );
+
+    private ProfileCache() { }
+
+    /**
+     * Gets the username of a player, looking it up from Mojang if it is not cached
+     * @param uuid the {@link UUID} of the player
+     * @return the username, which is already completed if it was cached (even if it is being looked up again in the background), or
+     * which completes on a lookup thread once it has been looked up (exceptionally if it could not be)
+     * @since 185
+     */
+    public static CompletableFuture<String> getName(@NotNull UUID uuid) { return NAMES.get(uuid); }
+
+    /**
+     * Gets the {@link UUID} of a player, looking it up from Mojang if it is not cached
+     * @param name the username of the player, not case-sensitive
+     * @return the {@link UUID}, which is already completed if it was cached (even if it is being looked up again in the background), or
+     * which completes on a lookup thread once it has been looked up (exceptionally if it could not be)
+     * @since 185
+     */
+    public static CompletableFuture<UUID> getUUID(@NotNull String name) { return UUIDS.get(name.toLowerCase(Locale.ROOT)); }
+
+    /**
+     * Gets the {@link UUID UUIDs} of many players at once, such as for a leaderboard. Those that are not cached are looked up together by
+     * the {@link ProfileResolver#getDefault() default resolver}, using as few requests as possible.
+     * @param names the usernames of the players, not case-sensitive
+     * @return each name (in lowercase) and its {@link UUID}, leaving out any names that could not be looked up
+     * @since 185
+     */
+    public static CompletableFuture<Map<String, UUID>> getUUIDs(@NotNull Collection<String> names) {
+        Map<String, CompletableFuture<UUID>> futures = new HashMap<>();
+        for (String name : names)
+            futures.computeIfAbsent(name.toLowerCase(Locale.ROOT), ProfileCache::getUUID);
+
+        return CompletableFuture.allOf(futures.values().stream().map(future -> future.exceptionally(throwable -> null)).toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, UUID> resolved = new HashMap<>();
+                    futures.forEach((name, future) -> {
+                        UUID uuid = future.exceptionally(throwable -> null).join();
+                        if (uuid != null) resolved.put(name, uuid);
+                    });
+                    return resolved;
+                });
+    }
+
+    /**
+     * Gets the username of a player only if it is already cached, without looking it up. If it is older than the soft TTL, it is still
+     * given out, but also looked up again in the background.
+     * @param uuid the {@link UUID} of the player
+     * @return the cached username, or null if there is none
+     * @since 185
+     */
+    public static @Nullable String getCachedName(@NotNull UUID uuid) { return NAMES.getIfPresent(uuid); }
+
+    /**
+     * Gets the {@link UUID} of a player only if it is already cached, without looking it up. If it is older than the soft TTL, it is
+     * still given out, but also looked up again in the background.
+     * @param name the username of the player, not case-sensitive
+     * @return the cached {@link UUID}, or null if there is none
+     * @since 185
+     */
+    public static @Nullable UUID getCachedUUID(@NotNull String name) { return UUIDS.getIfPresent(name.toLowerCase(Locale.ROOT)); }
+
+    /**
+     * Gets when the username of a player was last looked up or {@link ProfileCache#put(UUID, String) put} into the cache
+     * @param uuid the {@link UUID} of the player
+     * @return when it was cached, in unix time (MILLISECONDS), or 0 if it is not cached
+     * @since 185
+     */
+    public static long getCachedAt(@NotNull UUID uuid) { return NAMES.getCachedAt(uuid); }
+
+    /**
+     * Looks up the username of a player again, even if it is cached and not out of date yet. The cached username keeps being given out
+     * until the lookup finishes.
+     * @param uuid the {@link UUID} of the player
+     * @return the new username, which completes on a lookup thread
+     * @since 185
+     */
+    public static CompletableFuture<String> refreshName(@NotNull UUID uuid) { return NAMES.refresh(uuid); }
+
+    /**
+     * Caches a player's username and {@link UUID} that are already known, such as when a player joins the server. They are also recorded
+     * in the {@link ProfileDirectory#getActive() profile directory}, if one is enabled.
+     * @param uuid the {@link UUID} of the player
+     * @param name the username of the player
+     * @since 185
+     */
+    public static void put(@NotNull UUID uuid, @NotNull String name) {
+        NAMES.put(uuid, name);
+        UUIDS.put(name.toLowerCase(Locale.ROOT), uuid);
+        ProfileDirectory directory = ProfileDirectory.getActive();
+        if (directory != null) directory.record(uuid, name);
+    }
+
+    /**
+     * Removes a player from the cache, so the next time they are asked for, they are looked up again
+     * @param uuid the {@link UUID} of the player
+     * @since 185
+     */
+    public static void invalidate(@NotNull UUID uuid) {
+        String name = NAMES.remove(uuid);
+        if (name != null) UUIDS.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Removes every player from the cache
+     * @since 185
+     */
+    public static void clear() {
+        NAMES.clear();
+        UUIDS.clear();
+    }
+
+    /**
+     * @return the amount of usernames that are cached
+     * @since 185
+     */
+    public static int size() { return NAMES.entries.size(); }
+
+    /**
+     * Sets how long an entry is given out before it is looked up again in the background
+     * <br> <br>
+     * <em>Default Value:</em> {@link ProfileCache#DEFAULT_SOFT_TTL 30 minutes}
+     * @param duration the amount of time
+     * @param unit the unit of the amount of time
+     * @since 185
+     */
+    public static void setSoftTTL(long duration, TimeUnit unit) {
+        Preconditions.checkArgument(duration >= 0, "The soft TTL cannot be negative");
+        softTTL = unit.toMillis(duration);
+    }
+
+    /**
+     * Sets how many players can be cached, in each direction, before those used least recently are removed
+     * <br> <br>
+     * <em>Default Value:</em> {@link ProfileCache#DEFAULT_MAXIMUM_SIZE 10,000}
+     * @param size the amount of players
+     * @since 185
+     */
+    public static void setMaximumSize(int size) {
+        Preconditions.checkArgument(size > 0, "The maximum size must be at least 1");
+        maximumSize = size;
+        NAMES.evictIfNeeded();
+        UUIDS.evictIfNeeded();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long cachedAt;
+        private volatile long retryAfter; // set when a refresh fails
+        private volatile long lastUsed;
+
+        private Entry(V value, long cachedAt) {
+            this.value = value;
+            this.cachedAt = cachedAt;
+            this.lastUsed = cachedAt;
+        }
+    }
+
+    // one direction of the cache, with its own in-flight lookups so that the same key is only ever looked up once at a time
+    private static final class Table<K, V> {
+        private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final Map<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+        private final Function<K, CompletableFuture<V>> lookup;
+        private final BiConsumer<K, V> store;
+        private final Function<K, V> directory;
+
+        private Table(Function<K, CompletableFuture<V>> lookup, BiConsumer<K, V> store, Function<K, V> directory) {
+            this.lookup = lookup;
+            this.store = store;
+            this.directory = directory;
+        }
+
+        private CompletableFuture<V> get(K key) {
+            V value = getIfPresent(key);
+            return value != null ? CompletableFuture.completedFuture(value) : refresh(key);
+        }
+
+        private @Nullable V getIfPresent(K key) {
+            Entry<V> entry = this.entries.get(key);
+            if (entry == null) {
+                V stored = this.directory.apply(key); // only this direction, as the other may belong to someone else by now
+                if (stored == null) return null;
+                put(key, stored);
+                entry = this.entries.get(key);
+                if (entry == null) return null;
+            }
+            long now = System.currentTimeMillis();
+            entry.lastUsed = now;
+            if (now - entry.cachedAt >= softTTL && now >= entry.retryAfter) refresh(key); // the old value is still given out until this finishes
+            return entry.value;
+        }
+
+        private long getCachedAt(K key) {
+            Entry<V> entry = this.entries.get(key);
+            return entry == null ? 0L : entry.cachedAt;
+        }
+
+        private CompletableFuture<V> refresh(K key) {
+            CompletableFuture<V> pending = this.pending.get(key);
+            if (pending != null) return pending;
+
+            CompletableFuture<V> future = new CompletableFuture<>();
+            pending = this.pending.putIfAbsent(key, future);
+            if (pending != null) return pending; // another thread started the same lookup first
+
+            CompletableFuture<V> lookup;
+            try {
+                lookup = this.lookup.apply(key);
+            } catch (RejectedExecutionException exception) {
+                lookup = CompletableFuture.failedFuture(exception);
+            }
+            lookup.whenComplete((value, throwable) -> {
+                try {
+                    if (throwable != null) {
+                        Entry<V> stale = this.entries.get(key);
+                        if (stale != null) stale.retryAfter = System.currentTimeMillis() + FAILED_REFRESH_RETRY; // so a failing lookup isn't retried on every use
+                        future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                        return;
+                    }
+                    if (value != null) this.store.accept(key, value);
+                    future.complete(value);
+                } finally {
+                    this.pending.remove(key, future);
+                }
+            });
+            return future;
+        }
+
+        private void put(K key, V value) {
+            this.entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+            evictIfNeeded();
+        }
+
+        private @Nullable V remove(K key) {
+            Entry<V> entry = this.entries.remove(key);
+            return entry == null ? null : entry.value;
+        }
+
+        private void clear() { this.entries.clear(); }
+
+        private void evictIfNeeded() {
+            if (this.entries.size() <= maximumSize) return;
+            synchronized (this) {
+                int maximum = maximumSize;
+                if (this.entries.size() <= maximum) return; // another thread already evicted
+
+                // evicting down to 90% means this only happens once every so many new entries, not on every one
+                List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(this.entries.entrySet());
+                oldest.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+                int toRemove = oldest.size() - Math.max(1, maximum - maximum / 10);
+                for (int index = 0; index < toRemove; index++)
+                    this.entries.remove(oldest.get(index).getKey(), oldest.get(index).getValue());
+            }
+        }
+    }
+
+}
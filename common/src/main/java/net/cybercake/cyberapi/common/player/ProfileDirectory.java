@@ -0,0 +1,280 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A directory of every player's {@link UUID} and username that has been seen, kept in a compact, append-only binary file so that it
+ * survives a restart. Each record is a (uuid, name, timestamp), and a newer record for the same player replaces the older one. A record is
+ * only written when a player is new or has changed their name. The file is read back in a single read, and rewritten with only
+ * the newest record of each player once enough of it is out of date.
+ * <br> <br>
+ * Once {@link ProfileDirectory#enable(File, Consumer) enabled}, the {@link ProfileCache} checks the directory before looking a player up
+ * from Mojang, and everything put into the cache (such as players joining) is written to it.
+ * @since 185
+ * @see net.cybercake.cyberapi.common.builders.settings.Settings.Builder#persistProfiles(boolean)
+ */
+@SuppressWarnings({"unused"})
+public class ProfileDirectory {
+
+    private static final int MAGIC = 0x50444952; // "PDIR"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final int COMPACT_AFTER_OUTDATED = 1024;
+
+    private static volatile @Nullable ProfileDirectory active;
+
+    /**
+     * Loads the directory from a file and starts using it in the {@link ProfileCache}, replacing any directory that was already enabled
+     * @param file the file to store the directory in, which is created if it does not exist
+     * @param errorHandler what to do when writing the file fails, since writing happens on a separate thread
+     * @return the directory that was enabled
+     * @throws IOException if the file exists but cannot be read
+     * @since 185
+     */
+    public static synchronized ProfileDirectory enable(File file, Consumer<Exception> errorHandler) throws IOException {
+        disable();
+        ProfileDirectory directory = new ProfileDirectory(file, errorHandler);
+        directory.load();
+        active = directory;
+        return directory;
+    }
+
+    /**
+     * Stops using the directory given to {@link ProfileDirectory#enable(File, Consumer)}, waiting for any queued writes to finish
+     * @since 185
+     */
+    public static synchronized void disable() {
+        ProfileDirectory directory = active;
+        if (directory == null) return;
+        active = null;
+        directory.close();
+    }
+
+    /**
+     * @return the directory being used by the {@link ProfileCache}, or null if there is none
+     * @since 185
+     */
+    public static @Nullable ProfileDirectory getActive() { return active; }
+
+    /**
+     * Represents one player stored in the directory
+     * @param uuid the {@link UUID} of the player
+     * @param name the username of the player
+     * @param timestamp when the player was seen with that username, in unix time (MILLISECONDS)
+     * @since 185
+     */
+    public record Entry(UUID uuid, String name, long timestamp) { }
+
+    private final File file;
+    private final Consumer<Exception> errorHandler;
+    private final ExecutorService writer;
+    private final Map<UUID, Entry> byUUID = new ConcurrentHashMap<>();
+    private final Map<String, UUID> byName = new ConcurrentHashMap<>(); // lowercase names
+    private int recordsInFile = 0; // only touched by the writer thread, once loaded
+
+    private ProfileDirectory(File file, Consumer<Exception> errorHandler) {
+        this.file = file;
+        this.errorHandler = errorHandler;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Profile Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.writer = executor;
+    }
+
+    private void load() throws IOException {
+        if (!file.exists() || file.length() < HEADER_SIZE) return;
+
+        // not memory-mapped, as the file is replaced by the compaction below, which fails on some systems (such as Windows) while it is mapped
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.getInt() != MAGIC) throw new IOException("Not a CyberAPI profile directory: " + file);
+        byte version = buffer.get();
+        if (version != VERSION) throw new IOException("Unsupported profile directory version " + version + " (expected " + VERSION + "): " + file);
+
+        int records = 0;
+        boolean torn = false;
+        while (buffer.hasRemaining()) {
+            Entry entry;
+            try {
+                UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                long timestamp = buffer.getLong();
+                byte[] name = new byte[Byte.toUnsignedInt(buffer.get())];
+                buffer.get(name);
+                entry = new Entry(uuid, new String(name, StandardCharsets.UTF_8), timestamp);
+            } catch (BufferUnderflowException ignored) { // the last record was only partially written, most likely the server crashed
+                torn = true;
+                break;
+            }
+            index(entry);
+            records++;
+        }
+
+        // the file was written by appending, so only keep the newest records, and anything appended after a partial record would be misread.
+        // this is done right away rather than on the writer, which would also write anything recorded in the meantime, before appending it again
+        if (torn || records > byUUID.size()) write(byUUID.values());
+        else recordsInFile = records;
+    }
+
+    /**
+     * Records a player's {@link UUID} and username, writing it to the file in the background if the player is new or their name changed
+     * @param uuid the {@link UUID} of the player
+     * @param name the username of the player
+     * @since 185
+     */
+    public void record(@NotNull UUID uuid, @NotNull String name) { record(uuid, name, System.currentTimeMillis()); }
+
+    /**
+     * Records a player's {@link UUID} and username, writing it to the file in the background if the player is new or their name changed
+     * @param uuid the {@link UUID} of the player
+     * @param name the username of the player
+     * @param timestamp when the player was seen with that username, in unix time (MILLISECONDS)
+     * @since 185
+     */
+    public void record(@NotNull UUID uuid, @NotNull String name, long timestamp) {
+        Preconditions.checkNotNull(uuid, "uuid");
+        Preconditions.checkArgument(name != null && !name.isEmpty(), "The name cannot be empty");
+        Entry existing = byUUID.get(uuid);
+        if (existing != null && existing.name().equals(name)) return; // nothing changed, so nothing needs to be written
+
+        Entry entry = new Entry(uuid, name, timestamp);
+        if (!index(entry)) return;
+        writer.execute(() -> {
+            try {
+                if (++recordsInFile - byUUID.size() >= COMPACT_AFTER_OUTDATED) {
+                    write(byUUID.values());
+                    return;
+                }
+                if (!file.exists() || file.length() < HEADER_SIZE) {
+                    write(List.of(entry));
+                    return;
+                }
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = encode(entry);
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                }
+            } catch (Exception exception) {
+                errorHandler.accept(exception);
+            }
+        });
+    }
+
+    /**
+     * @param uuid the {@link UUID} of the player
+     * @return the newest record of that player, or null if they are not in the directory
+     * @since 185
+     */
+    public @Nullable Entry get(@NotNull UUID uuid) { return byUUID.get(uuid); }
+
+    /**
+     * @param name the username of the player, not case-sensitive
+     * @return the newest record of the player who last had that name, or null if no player in the directory has it
+     * @since 185
+     */
+    public @Nullable Entry get(@NotNull String name) {
+        UUID uuid = byName.get(name.toLowerCase(Locale.ROOT));
+        return uuid == null ? null : byUUID.get(uuid);
+    }
+
+    /**
+     * @return the amount of players in the directory
+     * @since 185
+     */
+    public int size() { return byUUID.size(); }
+
+    /**
+     * Rewrites the file in the background so that it only contains the newest record of each player
+     * @since 185
+     */
+    public void compact() {
+        writer.execute(() -> {
+            try {
+                write(byUUID.values());
+            } catch (Exception exception) {
+                errorHandler.accept(exception);
+            }
+        });
+    }
+
+    private void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+                errorHandler.accept(new IOException("Timed out waiting for profiles to be written to " + file));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return false if the directory already has a newer record of that player
+     */
+    private synchronized boolean index(Entry entry) {
+        Entry previous = byUUID.get(entry.uuid());
+        if (previous != null && previous.timestamp() > entry.timestamp()) return false;
+        byUUID.put(entry.uuid(), entry);
+        if (previous != null) byName.remove(previous.name().toLowerCase(Locale.ROOT), entry.uuid());
+
+        // names can be taken by someone else after they are changed, so the name belongs to whoever was seen with it most recently
+        String name = entry.name().toLowerCase(Locale.ROOT);
+        UUID owner = byName.get(name);
+        Entry ownerEntry = owner == null ? null : byUUID.get(owner);
+        if (ownerEntry == null || ownerEntry.timestamp() <= entry.timestamp()) byName.put(name, entry.uuid());
+        return true;
+    }
+
+    private void write(Collection<Entry> entries) throws IOException {
+        List<Entry> copy = List.copyOf(entries);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) Files.createDirectories(parent.toPath());
+
+        File temporary = new File(parent, file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).flip();
+            while (header.hasRemaining()) channel.write(header);
+            for (Entry entry : copy) {
+                ByteBuffer buffer = encode(entry);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordsInFile = copy.size();
+    }
+
+    private static ByteBuffer encode(Entry entry) {
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFF) throw new IllegalArgumentException("Username is too long to be stored: " + entry.name());
+        return ByteBuffer.allocate(Long.BYTES * 3 + Byte.BYTES + name.length)
+                .putLong(entry.uuid().getMostSignificantBits())
+                .putLong(entry.uuid().getLeastSignificantBits())
+                .putLong(entry.timestamp())
+                .put((byte) name.length)
+                .put(name)
+                .flip();
+    }
+
+}
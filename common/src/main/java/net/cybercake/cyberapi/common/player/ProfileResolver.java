@@ -0,0 +1,424 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Turns usernames into {@link UUID UUIDs} using Mojang's bulk profile endpoint, which looks up to
+ * {@link ProfileResolver#MAX_NAMES_PER_REQUEST} names in one request. Names that are asked for around the same time are grouped together
+ * into as few requests as possible, and requests are sent no faster than a token bucket allows, backing off when Mojang says that too many
+ * requests were sent. Every profile that is found is put into the {@link ProfileCache}, and names that no player has are remembered for
+ * {@link Builder#notFoundTTL(long, TimeUnit) a while} so they are not sent again right away.
+ * <br> <br>
+ * The default resolver is used by {@link ProfileCache#getUUID(String)} and {@link ProfileCache#getUUIDs(java.util.Collection)}. The base
+ * URL can be changed to point at a local stand-in server, for example when testing:
+ * <pre>{@code
+ * ProfileResolver.setDefault(ProfileResolver.builder().baseURL("http://localhost:8080").build());
+ * }</pre>
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public class ProfileResolver {
+
+    /**
+     * The base URL of Mojang's profile API
+     * @since 185
+     */
+    public static final String DEFAULT_BASE_URL = "https://api.minecraftservices.com";
+
+    /**
+     * The path of the bulk profile endpoint, added to the end of the base URL
+     * @since 185
+     */
+    public static final String BULK_PATH = "/minecraft/profile/lookup/bulk/byname";
+
+    /**
+     * The most names that Mojang's bulk profile endpoint accepts in one request
+     * @since 185
+     */
+    public static final int MAX_NAMES_PER_REQUEST = 10;
+
+    private static final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9_]{1,16}$"); // anything else makes the entire request fail
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER;
+    static {
+        SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Profile Resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        SCHEDULER.setKeepAliveTime(30, TimeUnit.SECONDS);
+        SCHEDULER.allowCoreThreadTimeOut(true); // so the thread does not outlive the plugin when nothing is being resolved
+    }
+
+    private static volatile ProfileResolver defaultResolver = builder().build();
+
+    /**
+     * @return the resolver used by {@link ProfileCache#getUUID(String)}
+     * @since 185
+     */
+    public static ProfileResolver getDefault() { return defaultResolver; }
+
+    /**
+     * Sets the resolver used by {@link ProfileCache#getUUID(String)}, for example to use a different base URL
+     * @param resolver the new default resolver
+     * @since 185
+     */
+    public static void setDefault(@NotNull ProfileResolver resolver) {
+        Preconditions.checkNotNull(resolver, "The resolver cannot be null");
+        defaultResolver = resolver;
+    }
+
+    /**
+     * Creates a new {@link Builder} instance, which then the method {@link Builder#build()} can build into a {@link ProfileResolver}
+     * @return the Builder instance
+     * @since 185
+     */
+    public static Builder builder() { return new Builder(); }
+
+    /**
+     * @since 185
+     */
+    public static class Builder {
+        private String baseURL = DEFAULT_BASE_URL;
+        private int bucketSize = 10;
+        private long refillMillis = 1000;
+        private long batchDelayMillis = 50;
+        private long maxBackoffMillis = TimeUnit.MINUTES.toMillis(1);
+        private long notFoundTTLMillis = TimeUnit.MINUTES.toMillis(5);
+
+        private Builder() { }
+
+        /**
+         * Sets the base URL that the {@link ProfileResolver#BULK_PATH bulk path} is added to
+         * <br> <br>
+         * <em>Default Value:</em> {@link ProfileResolver#DEFAULT_BASE_URL}
+         * @param baseURL the base URL, such as "{@code http://localhost:8080}"
+         * @return the builder, for chaining
+         * @since 185
+         */
+        public Builder baseURL(@NotNull String baseURL) {
+            Preconditions.checkArgument(baseURL != null && !baseURL.isBlank(), "The base URL cannot be blank");
+            this.baseURL = baseURL.endsWith("/") ? baseURL.substring(0, baseURL.length() - 1) : baseURL;
+            return this;
+        }
+
+        /**
+         * Sets how many requests can be sent at once before having to wait for the bucket to refill, and how often one more request is
+         * allowed
+         * <br> <br>
+         * <em>Default Value:</em> 10 requests, refilling one every second (Mojang allows about 600 requests every 10 minutes)
+         * @param bucketSize the most requests that can be sent at once
+         * @param refill how long it takes for one more request to be allowed
+         * @param unit the unit of the refill time
+         * @return the builder, for chaining
+         * @since 185
+         */
+        public Builder rateLimit(int bucketSize, long refill, TimeUnit unit) {
+            Preconditions.checkArgument(bucketSize > 0, "The bucket size must be at least 1");
+            Preconditions.checkArgument(refill > 0, "The refill time must be more than 0");
+            this.bucketSize = bucketSize;
+            this.refillMillis = unit.toMillis(refill);
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for more names after the first one is asked for, so that they can be sent in the same request
+         * <br> <br>
+         * <em>Default Value:</em> 50 milliseconds
+         * @param delay how long to wait
+         * @param unit the unit of the delay
+         * @return the builder, for chaining
+         * @since 185
+         */
+        public Builder batchDelay(long delay, TimeUnit unit) {
+            Preconditions.checkArgument(delay >= 0, "The batch delay cannot be negative");
+            this.batchDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Sets the longest time to wait before trying again after a request fails or is rate limited. The time doubles after every failed
+         * attempt, up to this.
+         * <br> <br>
+         * <em>Default Value:</em> 1 minute
+         * @param maxBackoff the longest time to wait
+         * @param unit the unit of the time
+         * @return the builder, for chaining
+         * @since 185
+         */
+        public Builder maxBackoff(long maxBackoff, TimeUnit unit) {
+            Preconditions.checkArgument(maxBackoff > 0, "The max backoff must be more than 0");
+            this.maxBackoffMillis = unit.toMillis(maxBackoff);
+            return this;
+        }
+
+        /**
+         * Sets how long to remember that no player has a name, during which resolving that name fails right away instead of being sent
+         * to Mojang again
+         * <br> <br>
+         * <em>Default Value:</em> 5 minutes
+         * @param ttl how long to remember, or 0 to always ask again
+         * @param unit the unit of the time
+         * @return the builder, for chaining
+         * @since 185
+         */
+        public Builder notFoundTTL(long ttl, TimeUnit unit) {
+            Preconditions.checkArgument(ttl >= 0, "The not found TTL cannot be negative");
+            this.notFoundTTLMillis = unit.toMillis(ttl);
+            return this;
+        }
+
+        /**
+         * @return the built {@link ProfileResolver}
+         * @since 185
+         */
+        public ProfileResolver build() { return new ProfileResolver(this); }
+    }
+
+    private final String bulkURL;
+    private final long batchDelayMillis;
+    private final long maxBackoffMillis;
+    private final long notFoundTTLMillis;
+    private final TokenBucket bucket;
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>(); // lowercase names, each only queued once at a time
+    private final Map<String, CompletableFuture<UUID>> waiting = new ConcurrentHashMap<>();
+    private final Map<String, Long> notFound = new ConcurrentHashMap<>(); // lowercase names, to when they should be asked for again
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile long blockedUntil; // nothing is sent before this, while backing off
+    private int attempts; // failed attempts in a row, only touched by the scheduler thread
+
+    private ProfileResolver(Builder builder) {
+        this.bulkURL = builder.baseURL + BULK_PATH;
+        this.batchDelayMillis = builder.batchDelayMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.notFoundTTLMillis = builder.notFoundTTLMillis;
+        this.bucket = new TokenBucket(builder.bucketSize, builder.refillMillis);
+    }
+
+    /**
+     * Resolves a username into a {@link UUID}, grouped together with any other names asked for around the same time. Asking for a name that
+     * is already waiting to be resolved gives back the same future.
+     * @param name the username, not case-sensitive
+     * @return the {@link UUID}, which completes on the resolver's thread, or completes exceptionally with an {@link IllegalArgumentException}
+     * if there is no player with that name
+     * @since 185
+     */
+    public CompletableFuture<UUID> resolve(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        if (!VALID_NAME.matcher(key).matches())
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unable to get the UUID of " + name + ", as it is not a valid username"));
+        Long askAgainAt = this.notFound.get(key);
+        if (askAgainAt != null) {
+            if (askAgainAt > System.currentTimeMillis()) return CompletableFuture.failedFuture(notFoundException(name));
+            this.notFound.remove(key, askAgainAt);
+        }
+
+        CompletableFuture<UUID> future = this.waiting.get(key);
+        if (future != null) return future;
+        future = new CompletableFuture<>();
+        CompletableFuture<UUID> existing = this.waiting.putIfAbsent(key, future);
+        if (existing != null) return existing;
+
+        this.queue.add(key);
+        scheduleDrain(this.batchDelayMillis);
+        return future;
+    }
+
+    /**
+     * @return the amount of names waiting to be resolved
+     * @since 185
+     */
+    public int getPendingCount() { return this.waiting.size(); }
+
+    private void scheduleDrain(long delayMillis) {
+        long delay = Math.max(delayMillis, this.blockedUntil - System.currentTimeMillis());
+        if (this.drainScheduled.compareAndSet(false, true))
+            SCHEDULER.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+        this.drainScheduled.set(false);
+        // a name asked for during the last request can schedule a drain before the backoff was known, so it waits out the rest here
+        long blocked = this.blockedUntil - System.currentTimeMillis();
+        if (blocked > 0) {
+            scheduleDrain(blocked);
+            return;
+        }
+
+        while (!this.queue.isEmpty()) {
+            long wait = this.bucket.tryAcquire();
+            if (wait > 0) { // out of requests for now, so try again once the bucket has refilled
+                scheduleDrain(wait);
+                return;
+            }
+
+            List<String> batch = new ArrayList<>(MAX_NAMES_PER_REQUEST);
+            String name;
+            while (batch.size() < MAX_NAMES_PER_REQUEST && (name = this.queue.poll()) != null)
+                batch.add(name);
+            if (batch.isEmpty()) return;
+
+            long backoff = send(batch);
+            if (backoff > 0) {
+                this.blockedUntil = System.currentTimeMillis() + backoff;
+                scheduleDrain(backoff);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 0 if the batch was resolved, or how long to wait before trying again (in which case the batch has been queued again)
+     */
+    private long send(List<String> batch) {
+        int retryAfterSeconds = -1;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(this.bulkURL).openConnection();
+            connection.setRequestMethod("POST");
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+
+            JsonArray body = new JsonArray();
+            batch.forEach(body::add);
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(body.toString().getBytes(StandardCharsets.UTF_8));
+            }
+
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_OK) {
+                Map<String, UUID> found = new HashMap<>();
+                try (InputStream input = connection.getInputStream()) {
+                    for (JsonElement element : JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8)).getAsJsonArray()) {
+                        JsonObject profile = element.getAsJsonObject();
+                        String profileName = profile.get("name").getAsString();
+                        UUID uuid = parseUUID(profile.get("id").getAsString());
+                        ProfileCache.put(uuid, profileName);
+                        found.put(profileName.toLowerCase(Locale.ROOT), uuid);
+                    }
+                }
+                this.attempts = 0;
+                long now = System.currentTimeMillis();
+                this.notFound.values().removeIf(askAgainAt -> askAgainAt <= now); // so names that were never asked for again do not pile up
+                for (String name : batch) {
+                    UUID uuid = found.get(name);
+                    if (uuid == null && this.notFoundTTLMillis > 0) this.notFound.put(name, now + this.notFoundTTLMillis);
+                    CompletableFuture<UUID> future = this.waiting.remove(name);
+                    if (future == null) continue;
+                    if (uuid != null) future.complete(uuid);
+                    else future.completeExceptionally(notFoundException(name));
+                }
+                return 0;
+            }
+
+            if (status == 429) retryAfterSeconds = connection.getHeaderFieldInt("Retry-After", -1);
+            else if (status < 500) { // the request itself is wrong, so trying again would not help
+                failAll(batch, new IllegalArgumentException("Unable to get the UUIDs of " + batch + ", the server responded with " + status));
+                return 0;
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (++this.attempts >= MAX_ATTEMPTS) {
+                this.attempts = 0;
+                failAll(batch, new IllegalArgumentException("Unable to get the UUIDs of " + batch, exception));
+                return 0;
+            }
+            requeue(batch);
+            return backoff();
+        }
+
+        // rate limited or a server error, so wait and try again
+        if (++this.attempts >= MAX_ATTEMPTS && retryAfterSeconds < 0) {
+            this.attempts = 0;
+            failAll(batch, new IllegalArgumentException("Unable to get the UUIDs of " + batch + ", the server kept failing"));
+            return 0;
+        }
+        requeue(batch);
+        return retryAfterSeconds >= 0 ? Math.min(this.maxBackoffMillis, TimeUnit.SECONDS.toMillis(retryAfterSeconds)) : backoff();
+    }
+
+    private long backoff() {
+        return Math.min(this.maxBackoffMillis, 1000L << Math.min(this.attempts - 1, 16)); // 1s, 2s, 4s, ...
+    }
+
+    private void requeue(List<String> batch) {
+        // goes to the back of the queue, which is fine, as nothing is sent until the backoff is over anyway
+        this.queue.addAll(batch);
+    }
+
+    private void failAll(List<String> batch, Throwable throwable) {
+        for (String name : batch) {
+            CompletableFuture<UUID> future = this.waiting.remove(name);
+            if (future != null) future.completeExceptionally(throwable);
+        }
+    }
+
+    private static IllegalArgumentException notFoundException(String name) {
+        return new IllegalArgumentException("Unable to get the UUID of " + name + ", as no player has that name");
+    }
+
+    private static UUID parseUUID(String id) {
+        if (id.length() != 32) return UUID.fromString(id);
+        return new UUID(Long.parseUnsignedLong(id.substring(0, 16), 16), Long.parseUnsignedLong(id.substring(16), 16));
+    }
+
+    // refills one token every so often, up to the size of the bucket
+    private static final class TokenBucket {
+        private final int size;
+        private final long refillMillis;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int size, long refillMillis) {
+            this.size = size;
+            this.refillMillis = refillMillis;
+            this.tokens = size;
+            this.lastRefill = System.currentTimeMillis();
+        }
+
+        /**
+         * @return 0 if a token was taken, or how long until one is available
+         */
+        private synchronized long tryAcquire() {
+            long now = System.currentTimeMillis();
+            this.tokens = Math.min(this.size, this.tokens + (now - this.lastRefill) / (double) this.refillMillis);
+            this.lastRefill = now;
+            if (this.tokens >= 1) {
+                this.tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - this.tokens) * this.refillMillis);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package net.cybercake.cyberapi.common.player;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Keeps one handle for every online player, so that looking up an online player gives back the same handle (and anything cached on it)
+ * instead of creating a new one. A session is opened when the player joins and closed when they quit.
+ * @param <P> the type of handle kept for each player
+ * @since 185
+ */
+@ApiStatus.Internal
+public class SessionRegistry<P> {
+
+    private final Map<UUID, P> sessions = new ConcurrentHashMap<>();
+    private final Collection<P> unmodifiableSessions = Collections.unmodifiableCollection(this.sessions.values());
+
+    /**
+     * Opens a session, replacing any session that was never closed (for example if the quit was missed)
+     * @param uuid the {@link UUID} of the player
+     * @param handle the handle to keep for the player
+     * @return the session that was replaced, or null if there was none
+     * @since 185
+     */
+    public @Nullable P open(UUID uuid, P handle) { return this.sessions.put(uuid, handle); }
+
+    /**
+     * Closes a session
+     * @param uuid the {@link UUID} of the player
+     * @return the handle that was kept for the player, or null if they had no session
+     * @since 185
+     */
+    public @Nullable P close(UUID uuid) { return this.sessions.remove(uuid); }
+
+    /**
+     * @param uuid the {@link UUID} of the player
+     * @return the handle kept for the player, or null if they have no session
+     * @since 185
+     */
+    public @Nullable P get(UUID uuid) { return this.sessions.get(uuid); }
+
+    /**
+     * @return the handle of every player with a session, which cannot be changed
+     * @since 185
+     */
+    public Collection<P> values() { return this.unmodifiableSessions; }
+
+    /**
+     * @return the amount of players with a session
+     * @since 185
+     */
+    public int size() { return this.sessions.size(); }
+
+}
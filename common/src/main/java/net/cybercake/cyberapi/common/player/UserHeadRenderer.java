@@ -0,0 +1,301 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.common.base.Preconditions;
+import net.cybercake.cyberapi.common.builders.player.UserHeadSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a player's head into a {@link String} of colored characters that can be sent in chat, such as for
+ * {@code CyberPlayer#getUserHead(UserHeadSettings)}.
+ * <br> <br>
+ * Images are downloaded on a background thread, and many requests for the same image at once only download it once. Both the downloaded
+ * images and the rendered heads are kept for {@link UserHeadRenderer#setTTL(long, TimeUnit) a while}, holding at most
+ * {@link UserHeadRenderer#setMaximumSize(int) a certain amount} of each, removing those that were used least recently.
+ * @since 185
+ */
+@SuppressWarnings({"unused"})
+public class UserHeadRenderer {
+
+    /**
+     * The default URL that heads are downloaded from, see {@link UserHeadRenderer#setURLTemplate(String)}
+     * @since 185
+     */
+    public static final String DEFAULT_URL_TEMPLATE = "https://minotar.net/{type}/{uuid}/{scale}.png";
+
+    /**
+     * The default amount of time that images and rendered heads are kept for, which is 10 minutes
+     * @since 185
+     */
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * The default amount of images, and of rendered heads, that are kept
+     * @since 185
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final char SECTION = '§';
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int TIMEOUT_MILLIS = 10_000;
+    private static final int DOWNLOAD_THREADS = 2;
+    private static final ThreadPoolExecutor DOWNLOADS;
+    static {
+        DOWNLOADS = new ThreadPoolExecutor(DOWNLOAD_THREADS, DOWNLOAD_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI User Head Download");
+            thread.setDaemon(true);
+            return thread;
+        });
+        DOWNLOADS.allowCoreThreadTimeOut(true); // so the threads do not outlive the plugin when nothing is being downloaded
+    }
+
+    private static volatile String urlTemplate = DEFAULT_URL_TEMPLATE;
+    private static volatile long ttl = DEFAULT_TTL;
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private static final Lru<String, BufferedImage> IMAGES = new Lru<>(); // by URL
+    private static final Lru<String, String[]> RENDERED = new Lru<>(); // by URL and character, without the lines next to the head
+    private static final Map<String, CompletableFuture<BufferedImage>> PENDING = new ConcurrentHashMap<>();
+
+    private UserHeadRenderer() { }
+
+    /**
+     * Renders a player's head without blocking the calling thread
+     * @param uuid the {@link UUID} of the player
+     * @param settings the settings to render the head with, or null for the default settings
+     * @return the head, preferably to be printed in chat, which is already completed if it was cached, or which completes on a download
+     * thread (exceptionally with an {@link IOException} if the image could not be downloaded)
+     * @since 185
+     */
+    public static CompletableFuture<String> render(@NotNull UUID uuid, @Nullable UserHeadSettings settings) {
+        UserHeadSettings actualSettings = settings == null ? UserHeadSettings.builder().build() : settings;
+        String url = getURL(uuid, actualSettings);
+        String renderKey = url + '|' + actualSettings.getCharacter();
+
+        String[] rows = RENDERED.get(renderKey);
+        if (rows != null) return CompletableFuture.completedFuture(withLines(rows, actualSettings.getLines()));
+        return getImage(url).thenApply(image -> {
+            String[] rendered = renderRows(image, actualSettings.getCharacter());
+            RENDERED.put(renderKey, rendered);
+            return withLines(rendered, actualSettings.getLines());
+        });
+    }
+
+    /**
+     * Renders a player's head, blocking the calling thread if the image has to be downloaded
+     * @param uuid the {@link UUID} of the player
+     * @param settings the settings to render the head with, or null for the default settings
+     * @return the head, preferably to be printed in chat
+     * @throws IOException if the image could not be downloaded
+     * @see UserHeadRenderer#render(UUID, UserHeadSettings)
+     * @since 185
+     */
+    public static String renderNow(@NotNull UUID uuid, @Nullable UserHeadSettings settings) throws IOException {
+        try {
+            return render(uuid, settings).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof IOException ioException) throw ioException;
+            if (exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw exception;
+        }
+    }
+
+    /**
+     * Sets the URL that heads are downloaded from, for example to use a local skin service. These placeholders are replaced:
+     * <ul>
+     *     <li>{@code {type}}: {@code helm} if the {@link UserHeadSettings#shouldShowHelmet() helmet} should show, otherwise {@code avatar}</li>
+     *     <li>{@code {uuid}}: the player's {@link UUID}, without dashes</li>
+     *     <li>{@code {scale}}: the {@link UserHeadSettings#getImageScale() image scale}</li>
+     * </ul>
+     * <em>Default Value:</em> {@link UserHeadRenderer#DEFAULT_URL_TEMPLATE}
+     * @param template the URL, with placeholders
+     * @since 185
+     */
+    public static void setURLTemplate(@NotNull String template) {
+        Preconditions.checkArgument(template != null && !template.isBlank(), "The URL template cannot be blank");
+        urlTemplate = template;
+        clear(); // anything cached came from the old URL
+    }
+
+    /**
+     * @return the URL that heads are downloaded from, with placeholders
+     * @see UserHeadRenderer#setURLTemplate(String)
+     * @since 185
+     */
+    public static String getURLTemplate() { return urlTemplate; }
+
+    /**
+     * Sets how long downloaded images and rendered heads are kept for, after which they are downloaded again
+     * <br> <br>
+     * <em>Default Value:</em> {@link UserHeadRenderer#DEFAULT_TTL 10 minutes}
+     * @param duration the amount of time
+     * @param unit the unit of the amount of time
+     * @since 185
+     */
+    public static void setTTL(long duration, TimeUnit unit) {
+        Preconditions.checkArgument(duration >= 0, "The TTL cannot be negative");
+        ttl = unit.toMillis(duration);
+    }
+
+    /**
+     * Sets how many downloaded images, and how many rendered heads, are kept before those used least recently are removed
+     * <br> <br>
+     * <em>Default Value:</em> {@link UserHeadRenderer#DEFAULT_MAXIMUM_SIZE 256}
+     * @param size the amount of each
+     * @since 185
+     */
+    public static void setMaximumSize(int size) {
+        Preconditions.checkArgument(size > 0, "The maximum size must be at least 1");
+        maximumSize = size;
+        IMAGES.trim();
+        RENDERED.trim();
+    }
+
+    /**
+     * Removes every downloaded image and rendered head, so they are downloaded again the next time they are needed
+     * @since 185
+     */
+    public static void clear() {
+        IMAGES.clear();
+        RENDERED.clear();
+    }
+
+    private static String getURL(UUID uuid, UserHeadSettings settings) {
+        return urlTemplate
+                .replace("{type}", settings.shouldShowHelmet() ? "helm" : "avatar")
+                .replace("{uuid}", uuid.toString().replace("-", ""))
+                .replace("{scale}", String.valueOf(settings.getImageScale()));
+    }
+
+    private static CompletableFuture<BufferedImage> getImage(String url) {
+        BufferedImage image = IMAGES.get(url);
+        if (image != null) return CompletableFuture.completedFuture(image);
+
+        CompletableFuture<BufferedImage> pending = PENDING.get(url);
+        if (pending != null) return pending;
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        pending = PENDING.putIfAbsent(url, future);
+        if (pending != null) return pending; // another thread started the same download first
+
+        try {
+            DOWNLOADS.execute(() -> {
+                // removed from the pending downloads before completing, so anyone asking after it completes checks the cache instead
+                try {
+                    BufferedImage downloaded = download(url);
+                    IMAGES.put(url, downloaded);
+                    PENDING.remove(url, future);
+                    future.complete(downloaded);
+                } catch (Throwable throwable) {
+                    PENDING.remove(url, future);
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            PENDING.remove(url, future);
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    private static BufferedImage download(String url) throws IOException {
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        try (InputStream input = connection.getInputStream()) {
+            BufferedImage image = ImageIO.read(input);
+            if (image == null) throw new IOException("Unable to read the image at " + url);
+            return image;
+        }
+    }
+
+    private static String[] renderRows(BufferedImage image, Character character) {
+        int width = image.getWidth();
+        String[] rows = new String[image.getHeight()];
+        StringBuilder row = new StringBuilder(width * 16);
+        for (int y = 0; y < rows.length; y++) {
+            row.setLength(0);
+            int previous = -1;
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y) & 0xFFFFFF;
+                if (rgb != previous) { // pixels next to each other are often the same color, which only needs to be written once
+                    appendColor(row, rgb);
+                    previous = rgb;
+                }
+                row.append(character);
+            }
+            rows[y] = row.toString();
+        }
+        return rows;
+    }
+
+    // the same as ChatColor.of("#rrggbb").toString(), without building a color and a string for every pixel
+    private static void appendColor(StringBuilder builder, int rgb) {
+        builder.append(SECTION).append('x');
+        for (int shift = 20; shift >= 0; shift -= 4)
+            builder.append(SECTION).append(HEX[(rgb >> shift) & 0xF]);
+    }
+
+    private static String withLines(String[] rows, String[] lines) {
+        int length = 0;
+        for (String row : rows) length += row.length() + 2;
+        for (String line : lines) length += line == null ? 4 : line.length();
+
+        StringBuilder head = new StringBuilder(length);
+        for (int index = 0; index < rows.length; index++) {
+            head.append(rows[index]).append(' ');
+            if (index < lines.length) head.append(lines[index]);
+            head.append('\n');
+        }
+        return head.toString();
+    }
+
+    // a small least-recently-used map where entries also expire after the TTL
+    private static final class Lru<K, V> {
+        private record Timed<V>(V value, long cachedAt) { }
+
+        private final LinkedHashMap<K, Timed<V>> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+        private synchronized @Nullable V get(K key) {
+            Timed<V> timed = this.entries.get(key);
+            if (timed == null) return null;
+            if (System.currentTimeMillis() - timed.cachedAt() >= ttl) {
+                this.entries.remove(key);
+                return null;
+            }
+            return timed.value();
+        }
+
+        private synchronized void put(K key, V value) {
+            this.entries.put(key, new Timed<>(value, System.currentTimeMillis()));
+            trim();
+        }
+
+        private synchronized void trim() {
+            var iterator = this.entries.values().iterator();
+            while (this.entries.size() > maximumSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        private synchronized void clear() { this.entries.clear(); }
+    }
+
+}
@@ -10,14 +10,43 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.filter.AbstractFilter;
 import org.apache.logging.log4j.message.Message;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 
 public class ConsoleModifiers extends AbstractFilter implements Filter {
 
     private static final Level DEFAULT_LEVEL = Level.INFO;
+    private static final char SEPARATION_CHARACTER = CommonManager.THREE_SEPARATION_CHARACTERS.charAt(0);
+    private static final String REFLECTIONS_MESSAGE = "Reflections took";
+
+    private static volatile @Nullable ConsoleModifiers installed;
+
+    /**
+     * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+     * <br> <br>
+     * Marks the installed filter as the one CyberAPI registered, so that it can be told when startup scanning is finished
+     * @param modifiers the filter that was added to the root logger
+     * @since 185
+     */
+    @ApiStatus.Internal
+    public static void install(ConsoleModifiers modifiers) { installed = modifiers; }
+
+    /**
+     * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+     * <br> <br>
+     * Called once CyberAPI has finished scanning for classes during startup. Reflections only logs while scanning, so from then on the
+     * filter stops looking for its messages and only handles messages marked by CyberAPI.
+     * @since 185
+     */
+    @ApiStatus.Internal
+    public static void finishStartupScanning() {
+        ConsoleModifiers modifiers = installed;
+        if (modifiers != null) modifiers.scanning = false;
+    }
 
     private final CommonManager manager;
+    private volatile boolean scanning = true;
 
     public ConsoleModifiers() {
         this.manager = null;
@@ -134,10 +163,14 @@ public class ConsoleModifiers extends AbstractFilter implements Filter {
         }
     }
 
+    // a single indexOf for the (rare) first separation character, nothing is allocated unless the message was marked by CyberAPI
     private @Nullable String[] checkContains(@Nullable String msg) {
         if (msg == null) return null;
-        if (!msg.contains(CommonManager.THREE_SEPARATION_CHARACTERS)) return null;
-        return new String[]{msg.split(CommonManager.THREE_SEPARATION_CHARACTERS)[0], msg.split(CommonManager.THREE_SEPARATION_CHARACTERS)[1]};
+        int separator = msg.indexOf(SEPARATION_CHARACTER);
+        if (separator == -1 || !msg.startsWith(CommonManager.THREE_SEPARATION_CHARACTERS, separator)) return null;
+        int start = separator + CommonManager.THREE_SEPARATION_CHARACTERS.length();
+        int end = msg.indexOf(CommonManager.THREE_SEPARATION_CHARACTERS, start);
+        return new String[]{msg.substring(0, separator), end == -1 ? msg.substring(start) : msg.substring(start, end)};
     }
 
     private java.util.logging.Level toJavaLoggerLevel(String level) {
@@ -161,10 +194,8 @@ public class ConsoleModifiers extends AbstractFilter implements Filter {
     // my hard-coded way to remove Reflection's messages
     // create an issue on GitHub (https://github.com/CyberedCake/CyberAPI/issues) if you have a better way!
     private Result isLoggable(String msg) {
+        if (!this.scanning || msg == null) return Result.NEUTRAL; // Reflections only logs while CyberAPI is scanning on startup
         if (this.manager == null || !this.manager.getSettings().shouldHideReflections()) return Result.NEUTRAL;
-
-        if (msg == null) return Result.NEUTRAL;
-        if (!msg.contains("Reflections took") && !msg.contains(CommonManager.THREE_SEPARATION_CHARACTERS)) return Result.NEUTRAL;
-        return Result.DENY;
+        return msg.contains(REFLECTIONS_MESSAGE) ? Result.DENY : Result.NEUTRAL;
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package net.cybercake.cyberapi.common.server.autoregister;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Reads the auto-register index written by {@link AutoRegisterProcessor}, falling back to a Reflections package scan when the developer's jar does not contain one
+ * @since 185
+ */
+@ApiStatus.Internal
+public class AutoRegisterIndex {
+
+    /**
+     * The location inside the developer's jar that the index is written to
+     */
+    public static final String INDEX_LOCATION = "META-INF/cyberapi/auto-register.idx";
+
+    /**
+     * The classes whose (concrete) subtypes are written to the index
+     */
+    public static final List<String> INDEXED_SUPERTYPES = List.of(
+            "net.cybercake.cyberapi.spigot.server.commands.SpigotCommand",
+            "net.cybercake.cyberapi.spigot.server.listeners.SpigotListener",
+            "net.cybercake.cyberapi.bungee.server.commands.BungeeCommand",
+            "net.cybercake.cyberapi.bungee.server.listeners.BungeeListener"
+    );
+
+    /**
+     * Reads every index in the given {@link ClassLoader} and returns the class names inside the main package
+     * @param loader the class loader of the developer's plugin
+     * @param mainPackagePath the main package, or null to return every indexed class
+     * @return the indexed class names, or null if no index was found (meaning the developer did not enable {@link AutoRegisterProcessor})
+     * @since 185
+     */
+    public static @Nullable List<String> read(ClassLoader loader, @Nullable String mainPackagePath) {
+        try {
+            Enumeration<URL> resources = loader.getResources(INDEX_LOCATION);
+            if (!resources.hasMoreElements()) return null;
+
+            Set<String> classes = new LinkedHashSet<>();
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.strip();
+                        if (line.isEmpty()) continue;
+                        if (mainPackagePath != null && !line.startsWith(mainPackagePath)) continue;
+                        classes.add(line);
+                    }
+                }
+            }
+            return new ArrayList<>(classes);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read CyberAPI's auto-register index (" + INDEX_LOCATION + ")", exception);
+        }
+    }
+
+    /**
+     * Scans the main package for every class using Reflections, this is much slower than {@link AutoRegisterIndex#read(ClassLoader, String) reading the index}
+     * @param mainPackagePath the main package, or null to scan everything (which is <b>very</b> slow)
+     * @return the class names found in the scan
+     * @since 185
+     */
+    public static List<String> scan(@Nullable String mainPackagePath) {
+        return PackageScanner.scan(mainPackagePath);
+    }
+
+    // kept in its own class so that Reflections is only loaded when there is no index to read
+    private static class PackageScanner {
+        private static List<String> scan(@Nullable String mainPackagePath) {
+            return (mainPackagePath == null ? new Reflections() : new Reflections(mainPackagePath)).getAll(new SubTypesScanner(false))
+                    .stream()
+                    .filter(clazz -> mainPackagePath == null || clazz.startsWith(mainPackagePath))
+                    .toList();
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package net.cybercake.cyberapi.common.server.autoregister;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Finds the classes CyberAPI should auto-register. Classes are loaded on a bounded {@link ForkJoinPool} <b>without</b> being initialized, and only
+ * the ones that are a subtype of one of the given supertypes are handed back to be constructed and registered.
+ * @since 185
+ */
+@ApiStatus.Internal
+public class AutoRegisterPipeline {
+
+    /**
+     * The phases of auto-registration, in the order they happen
+     * @since 185
+     */
+    public enum Phase { SCAN, LOAD, FILTER, INSTANTIATE, REGISTER }
+
+    private static final int MAX_LOADER_THREADS = 4;
+
+    private final ClassLoader loader;
+    private final @Nullable String mainPackagePath;
+    private final List<Class<?>> supertypes;
+
+    private final long[] timings = new long[Phase.values().length];
+    private boolean indexed;
+    private List<String> classNames = List.of();
+    private List<Class<?>> classes = List.of();
+    private final Map<Class<?>, List<Class<?>>> matches = new HashMap<>();
+    private final List<String> unresolved = new ArrayList<>();
+
+    /**
+     * Creates a new pipeline, use {@link AutoRegisterPipeline#run()} to actually find the classes
+     * @param loader the class loader of the developer's plugin
+     * @param mainPackagePath the main package of the developer's plugin
+     * @param supertypes the types that should be auto-registered, such as commands and listeners
+     * @since 185
+     */
+    public AutoRegisterPipeline(ClassLoader loader, @Nullable String mainPackagePath, Class<?>... supertypes) {
+        this.loader = loader;
+        this.mainPackagePath = mainPackagePath;
+        this.supertypes = List.of(supertypes);
+    }
+
+    /**
+     * Runs the {@link Phase#SCAN scan}, {@link Phase#LOAD load} and {@link Phase#FILTER filter} phases
+     * @return this instance
+     * @throws IllegalStateException if a class inside the main package was found in the scan but could not be loaded
+     * @since 185
+     */
+    public AutoRegisterPipeline run() {
+        time(Phase.SCAN, () -> {
+            @Nullable List<String> read = AutoRegisterIndex.read(loader, mainPackagePath);
+            this.indexed = read != null;
+            this.classNames = read != null ? read : AutoRegisterIndex.scan(mainPackagePath);
+        });
+        time(Phase.LOAD, this::load);
+        time(Phase.FILTER, () -> {
+            for (Class<?> supertype : supertypes)
+                matches.put(supertype, new ArrayList<>());
+            for (Class<?> clazz : classes) {
+                if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) continue;
+                for (Class<?> supertype : supertypes)
+                    if (supertype.isAssignableFrom(clazz)) matches.get(supertype).add(clazz);
+            }
+        });
+        return this;
+    }
+
+    private void load() {
+        Queue<String> failed = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(MAX_LOADER_THREADS, Runtime.getRuntime().availableProcessors())));
+        try {
+            this.classes = pool.submit(() -> classNames.parallelStream()
+                    .<Class<?>>map(name -> {
+                        try {
+                            return Class.forName(name, false, loader);
+                        } catch (ClassNotFoundException | LinkageError exception) {
+                            failed.add(name + " (" + exception + ")");
+                            if (mainPackagePath != null && name.startsWith(mainPackagePath))
+                                throw new IllegalStateException("Class not found, despite it being included in the package scan! This is likely not your fault, please report to CyberAPI: https://github.com/CyberedCake/CyberAPI/issues (unable to find '" + name + "')", exception);
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .toList()
+            ).join();
+        } finally {
+            pool.shutdown();
+            this.unresolved.addAll(failed);
+        }
+    }
+
+    /**
+     * Times a phase, adding the time taken to any time already recorded for that phase
+     * @param phase the phase to record the time for
+     * @param runnable the work done in that phase
+     * @since 185
+     */
+    public void time(Phase phase, Runnable runnable) {
+        time(phase, () -> { runnable.run(); return null; });
+    }
+
+    /**
+     * Times a phase, adding the time taken to any time already recorded for that phase
+     * @param phase the phase to record the time for
+     * @param supplier the work done in that phase
+     * @return the value returned by the supplier
+     * @param <T> the type returned by the supplier
+     * @since 185
+     */
+    public <T> T time(Phase phase, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            timings[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Gets the time spent in a certain phase
+     * @param phase the phase
+     * @param unit the unit to return the time in
+     * @return the time spent in that phase
+     * @since 185
+     */
+    public long getTime(Phase phase, TimeUnit unit) { return unit.convert(timings[phase.ordinal()], TimeUnit.NANOSECONDS); }
+
+    /**
+     * Gets a readable summary of how long each phase took, for example {@code scan=1ms, load=3ms, filter=0ms, instantiate=2ms, register=5ms}
+     * @return the summary of phase timings
+     * @since 185
+     */
+    public String getTimingSummary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Phase phase : Phase.values())
+            joiner.add(phase.name().toLowerCase(Locale.ROOT) + "=" + getTime(phase, TimeUnit.MILLISECONDS) + "ms");
+        return joiner.toString();
+    }
+
+    /**
+     * @return whether the classes were read from the {@link AutoRegisterIndex auto-register index} rather than a package scan
+     * @since 185
+     */
+    public boolean isIndexed() { return this.indexed; }
+
+    /**
+     * @return the names of every class found in the scan phase
+     * @since 185
+     */
+    public List<String> getClassNames() { return this.classNames; }
+
+    /**
+     * @return every class that was loaded (but not initialized) in the load phase
+     * @since 185
+     */
+    public List<Class<?>> getClasses() { return this.classes; }
+
+    /**
+     * @return the classes, along with the reason, that were found in the scan phase but could not be loaded
+     * @since 185
+     */
+    public List<String> getUnresolvedClasses() { return this.unresolved; }
+
+    /**
+     * Gets the concrete classes that are a subtype of the given supertype
+     * @param supertype one of the supertypes given in the constructor
+     * @return the matching classes, which are safe to be constructed
+     * @param <T> the supertype
+     * @since 185
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<Class<? extends T>> getMatches(Class<T> supertype) {
+        List<Class<?>> found = matches.get(supertype);
+        if (found == null) return List.of();
+        return (List<Class<? extends T>>) (List<?>) Collections.unmodifiableList(found);
+    }
+
+}
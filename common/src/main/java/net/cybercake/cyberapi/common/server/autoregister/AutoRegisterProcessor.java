@@ -0,0 +1,91 @@
+package net.cybercake.cyberapi.common.server.autoregister;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that writes {@link AutoRegisterIndex#INDEX_LOCATION} into the developer's jar at compile time, containing
+ * every concrete class that CyberAPI would auto-register (commands and listeners for both Spigot and Bungee).
+ * <br> <br>
+ * When this index exists, CyberAPI reads it on start instead of scanning the main package with Reflections. To enable it, add
+ * CyberAPI's common module as an annotation processor, for example in Gradle: {@code annotationProcessor 'net.cybercake.cyberapi:common:LATEST BUILD'}
+ * @since 185
+ */
+@SupportedAnnotationTypes("*")
+public class AutoRegisterProcessor extends AbstractProcessor {
+
+    private final Set<String> indexed = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        List<TypeMirror> supertypes = new ArrayList<>();
+        for (String name : AutoRegisterIndex.INDEXED_SUPERTYPES) {
+            TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+            if (element != null) supertypes.add(processingEnv.getTypeUtils().erasure(element.asType()));
+        }
+        if (supertypes.isEmpty()) return false; // neither the spigot nor bungee module is on the classpath
+
+        for (Element element : roundEnv.getRootElements())
+            collect(element, supertypes);
+        return false;
+    }
+
+    private void collect(Element element, List<TypeMirror> supertypes) {
+        if (!(element instanceof TypeElement type)) return;
+        for (Element enclosed : type.getEnclosedElements())
+            collect(enclosed, supertypes);
+
+        if (type.getKind() != ElementKind.CLASS) return;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return;
+        if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) return; // inner classes can't be constructed without an outer instance
+
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type.asType());
+        for (TypeMirror supertype : supertypes) {
+            if (!processingEnv.getTypeUtils().isAssignable(erasure, supertype)) continue;
+            indexed.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            return;
+        }
+    }
+
+    private void writeIndex() {
+        if (indexed.isEmpty()) return;
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", AutoRegisterIndex.INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : indexed)
+                    writer.write(name + "\n");
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write CyberAPI's auto-register index (" + AutoRegisterIndex.INDEX_LOCATION + "): " + exception);
+        }
+    }
+
+}
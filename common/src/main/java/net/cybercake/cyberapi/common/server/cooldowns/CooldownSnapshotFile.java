@@ -0,0 +1,198 @@
+package net.cybercake.cyberapi.common.server.cooldowns;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * A compact, append-only binary file of cooldowns, stored as (sender {@link UUID}, command name, expiration) records. Newer records for the
+ * same sender and command replace older ones, and a record with an expiration of {@code 0} cancels the cooldown. Writes happen on a
+ * background thread and the file is read back in a single read.
+ * @since 185
+ */
+@ApiStatus.Internal
+public class CooldownSnapshotFile {
+
+    private static final int MAGIC = 0x4344574E; // "CDWN"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final int COMPACT_AFTER_APPENDS = 4096;
+
+    /**
+     * Represents one cooldown stored in the file
+     * @param sender the {@link UUID} of the sender
+     * @param command the name of the command
+     * @param expiration the unix time (in milliseconds) that the cooldown expires at, or {@code 0} if the cooldown was cancelled
+     * @since 185
+     */
+    public record Entry(UUID sender, String command, long expiration) { }
+
+    private final File file;
+    private final Supplier<Collection<Entry>> snapshot;
+    private final Consumer<Exception> errorHandler;
+    private final ExecutorService writer;
+    private int appendsSinceCompact = 0;
+
+    /**
+     * Creates a new snapshot file, nothing is read or written until {@link CooldownSnapshotFile#load()} or {@link CooldownSnapshotFile#append(Entry)} is called
+     * @param file the file to store the cooldowns in
+     * @param snapshot the supplier of every active cooldown, used when compacting the file
+     * @param errorHandler what to do when writing the file fails, since writing happens on a separate thread
+     * @since 185
+     */
+    public CooldownSnapshotFile(File file, Supplier<Collection<Entry>> snapshot, Consumer<Exception> errorHandler) {
+        this.file = file;
+        this.snapshot = snapshot;
+        this.errorHandler = errorHandler;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Cooldown Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.writer = executor;
+    }
+
+    /**
+     * Reads every cooldown that has not yet expired from the file, then compacts the file in the background so that it only contains those cooldowns
+     * @return the cooldowns that have not yet expired
+     * @throws IOException if the file cannot be read
+     * @since 185
+     */
+    public Collection<Entry> load() throws IOException {
+        if (!file.exists() || file.length() < HEADER_SIZE) return List.of();
+
+        Map<UUID, Map<String, Entry>> entries = new HashMap<>();
+        // not memory-mapped, as the file is replaced by the compaction below, which fails on some systems (such as Windows) while it is mapped
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.getInt() != MAGIC) throw new IOException("Not a CyberAPI cooldown file: " + file);
+        byte version = buffer.get();
+        if (version != VERSION) throw new IOException("Unsupported cooldown file version " + version + " (expected " + VERSION + "): " + file);
+
+        long now = System.currentTimeMillis();
+        while (buffer.hasRemaining()) {
+            Entry entry;
+            try {
+                UUID sender = new UUID(buffer.getLong(), buffer.getLong());
+                long expiration = buffer.getLong();
+                byte[] command = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(command);
+                entry = new Entry(sender, new String(command, StandardCharsets.UTF_8), expiration);
+            } catch (BufferUnderflowException ignored) { // the last record was only partially written, most likely the server crashed
+                break;
+            }
+
+            if (entry.expiration() > now) entries.computeIfAbsent(entry.sender(), key -> new HashMap<>()).put(entry.command(), entry);
+            else {
+                Map<String, Entry> commands = entries.get(entry.sender());
+                if (commands != null) commands.remove(entry.command());
+            }
+        }
+
+        List<Entry> loaded = new ArrayList<>();
+        entries.values().forEach(commands -> loaded.addAll(commands.values()));
+        compact(loaded);
+        return loaded;
+    }
+
+    /**
+     * Appends a cooldown to the file in the background
+     * @param entry the cooldown, or a cancellation if the {@link Entry#expiration() expiration} is {@code 0}
+     * @since 185
+     */
+    public void append(Entry entry) {
+        writer.execute(() -> {
+            try {
+                // the snapshot can be taken before or after the change this entry is for was made, so the entry is still appended after it
+                if (++appendsSinceCompact >= COMPACT_AFTER_APPENDS) write(snapshot.get());
+                if (!file.exists() || file.length() < HEADER_SIZE) {
+                    write(List.of(entry));
+                    return;
+                }
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = encode(entry);
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                }
+            } catch (Exception exception) {
+                errorHandler.accept(exception);
+            }
+        });
+    }
+
+    /**
+     * Rewrites the file in the background so that it only contains the given cooldowns
+     * @param entries the cooldowns to write
+     * @since 185
+     */
+    public void compact(Collection<Entry> entries) {
+        List<Entry> copy = List.copyOf(entries);
+        writer.execute(() -> {
+            try {
+                write(copy);
+            } catch (Exception exception) {
+                errorHandler.accept(exception);
+            }
+        });
+    }
+
+    /**
+     * Waits for any writes still queued to finish, after this no more writes will happen
+     * @since 185
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+                errorHandler.accept(new IOException("Timed out waiting for cooldowns to be written to " + file));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Collection<Entry> entries) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) Files.createDirectories(parent.toPath());
+
+        File temporary = new File(parent, file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).flip();
+            while (header.hasRemaining()) channel.write(header);
+            for (Entry entry : entries) {
+                ByteBuffer buffer = encode(entry);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appendsSinceCompact = 0;
+    }
+
+    private static ByteBuffer encode(Entry entry) {
+        byte[] command = entry.command().getBytes(StandardCharsets.UTF_8);
+        if (command.length > 0xFFFF) throw new IllegalArgumentException("Command name is too long to be stored: " + entry.command());
+        return ByteBuffer.allocate(Long.BYTES * 3 + Short.BYTES + command.length)
+                .putLong(entry.sender().getMostSignificantBits())
+                .putLong(entry.sender().getLeastSignificantBits())
+                .putLong(entry.expiration())
+                .putShort((short) command.length)
+                .put(command)
+                .flip();
+    }
+
+}
@@ -0,0 +1,229 @@
+package net.cybercake.cyberapi.common.server.cooldowns;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Stores cooldowns keyed by the sender's {@link UUID} and the command, so that looking up or cancelling a cooldown does not need to
+ * walk every active cooldown. Expired cooldowns are evicted in the background using a queue ordered by expiration, which is cleaned of
+ * cooldowns that were replaced or removed before they expired once they make up half of it.
+ * @param <C> the type of command the cooldown is for
+ * @param <V> the type of cooldown stored
+ * @since 185
+ */
+@ApiStatus.Internal
+public class CooldownStore<C, V> {
+
+    private static final long PURGE_INTERVAL_MILLISECONDS = 1000L;
+
+    private static @Nullable ScheduledThreadPoolExecutor evictor; // created again after a shutdown, as the plugin can be enabled again
+
+    private static synchronized ScheduledThreadPoolExecutor evictor() {
+        if (evictor != null && !evictor.isShutdown()) return evictor;
+        evictor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CyberAPI Cooldown Evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.setKeepAliveTime(PURGE_INTERVAL_MILLISECONDS * 5, TimeUnit.MILLISECONDS);
+        evictor.allowCoreThreadTimeOut(true); // so the thread does not outlive the plugin when there are no cooldowns
+        evictor.setRemoveOnCancelPolicy(true);
+        return evictor;
+    }
+
+    private record Expiry<C, V>(UUID sender, C command, V cooldown, long expiration) { }
+
+    private final ToLongFunction<V> expiration;
+    private final Map<UUID, Map<C, V>> bySender = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Expiry<C, V>> expiries = new PriorityBlockingQueue<>(16, Comparator.comparingLong(Expiry::expiration));
+    private final AtomicInteger stale = new AtomicInteger(); // about how many expiries are for cooldowns that were replaced or removed
+    private @Nullable ScheduledFuture<?> purgeTask;
+
+    /**
+     * Creates a new cooldown store
+     * @param expiration the function to get the expiration (unix time in milliseconds) of a cooldown
+     * @since 185
+     */
+    public CooldownStore(ToLongFunction<V> expiration) {
+        this.expiration = expiration;
+    }
+
+    /**
+     * Puts a cooldown into the store, replacing any existing cooldown for that sender and command
+     * @param sender the sender's {@link UUID}
+     * @param command the command
+     * @param cooldown the cooldown
+     * @since 185
+     */
+    public void put(UUID sender, C command, V cooldown) {
+        Preconditions.checkNotNull(sender, "sender");
+        Preconditions.checkNotNull(command, "command");
+        bySender.compute(sender, (key, commands) -> {
+            if (commands == null) commands = new ConcurrentHashMap<>();
+            if (commands.put(command, cooldown) != null) stale.incrementAndGet();
+            return commands;
+        });
+        expiries.add(new Expiry<>(sender, command, cooldown, expiration.applyAsLong(cooldown)));
+        schedulePurge();
+    }
+
+    /**
+     * Gets a cooldown that has not yet expired
+     * @param sender the sender's {@link UUID}
+     * @param command the command
+     * @return the cooldown, or null if there is none (or it has expired)
+     * @since 185
+     */
+    public @Nullable V get(UUID sender, C command) {
+        Map<C, V> commands = bySender.get(sender);
+        if (commands == null) return null;
+        V cooldown = commands.get(command);
+        if (cooldown == null) return null;
+        if (expiration.applyAsLong(cooldown) <= System.currentTimeMillis()) {
+            remove(sender, command, cooldown);
+            return null;
+        }
+        return cooldown;
+    }
+
+    /**
+     * @param sender the sender's {@link UUID}
+     * @return every cooldown that sender has
+     * @since 185
+     */
+    public List<V> get(UUID sender) {
+        Map<C, V> commands = bySender.get(sender);
+        return commands == null ? List.of() : List.copyOf(commands.values());
+    }
+
+    /**
+     * @param command the command
+     * @return every cooldown for that command
+     * @since 185
+     */
+    public List<V> getFor(C command) {
+        List<V> cooldowns = new ArrayList<>();
+        for (Map<C, V> commands : bySender.values()) {
+            V cooldown = commands.get(command);
+            if (cooldown != null) cooldowns.add(cooldown);
+        }
+        return cooldowns;
+    }
+
+    /**
+     * @return every cooldown in the store
+     * @since 185
+     */
+    public List<V> values() {
+        List<V> cooldowns = new ArrayList<>();
+        for (Map<C, V> commands : bySender.values())
+            cooldowns.addAll(commands.values());
+        return cooldowns;
+    }
+
+    /**
+     * Removes the cooldown for a sender and command
+     * @param sender the sender's {@link UUID}
+     * @param command the command
+     * @since 185
+     */
+    public void remove(UUID sender, C command) {
+        remove(sender, command, null);
+    }
+
+    /**
+     * Removes every cooldown for a sender
+     * @param sender the sender's {@link UUID}
+     * @since 185
+     */
+    public void remove(UUID sender) {
+        Map<C, V> removed = bySender.remove(sender);
+        if (removed != null) stale.addAndGet(removed.size());
+    }
+
+    /**
+     * Removes every cooldown for a command
+     * @param command the command
+     * @since 185
+     */
+    public void removeFor(C command) {
+        for (UUID sender : bySender.keySet())
+            remove(sender, command);
+    }
+
+    private void remove(UUID sender, C command, @Nullable V cooldown) {
+        bySender.computeIfPresent(sender, (key, commands) -> {
+            if (cooldown == null) {
+                if (commands.remove(command) != null) stale.incrementAndGet();
+            } else {
+                commands.remove(command, cooldown); // only if it has not been replaced by a newer cooldown
+            }
+            return commands.isEmpty() ? null : commands;
+        });
+    }
+
+    /**
+     * Evicts every cooldown that has expired
+     * @since 185
+     */
+    public void purge() {
+        long now = System.currentTimeMillis();
+        Expiry<C, V> head;
+        while ((head = expiries.poll()) != null) {
+            if (head.expiration() > now) {
+                expiries.add(head);
+                break;
+            }
+            remove(head.sender(), head.command(), head.cooldown());
+        }
+
+        int stale = this.stale.get();
+        if (stale > 0 && stale * 2 >= expiries.size()) { // otherwise they would only leave the queue once they would have expired
+            this.stale.set(0);
+            expiries.removeIf(expiry -> !isCurrent(expiry));
+        }
+
+        synchronized (this) {
+            if (expiries.isEmpty() && purgeTask != null) {
+                purgeTask.cancel(false);
+                purgeTask = null;
+            }
+        }
+    }
+
+    private boolean isCurrent(Expiry<C, V> expiry) {
+        Map<C, V> commands = bySender.get(expiry.sender());
+        return commands != null && commands.get(expiry.command()) == expiry.cooldown();
+    }
+
+    private synchronized void schedulePurge() {
+        if (purgeTask != null && !purgeTask.isDone()) return;
+        try {
+            purgeTask = evictor().scheduleWithFixedDelay(this::purge, PURGE_INTERVAL_MILLISECONDS, PURGE_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // shut down at the same time, so expired cooldowns are only removed when they are gotten until the next purge is scheduled
+            purgeTask = null;
+        }
+    }
+
+    /**
+     * Stops evicting expired cooldowns in the background for every store, which CyberAPI does when the plugin is disabled. Eviction
+     * starts again the next time a cooldown is put into a store.
+     * @since 185
+     */
+    public static synchronized void shutdown() {
+        if (evictor == null) return;
+        for (Runnable task : evictor.shutdownNow())
+            if (task instanceof Future<?> future) future.cancel(false); // so each store sees that its purge is no longer scheduled
+        evictor = null;
+    }
+
+}
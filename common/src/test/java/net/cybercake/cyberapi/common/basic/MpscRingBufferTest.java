@@ -0,0 +1,76 @@
+package net.cybercake.cyberapi.common.basic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        assertEquals(1, new MpscRingBuffer<>(1).capacity());
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertEquals(1024, new MpscRingBuffer<>(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(0));
+    }
+
+    @Test
+    void keepsOrderAndRejectsWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int lap = 0; lap < 3; lap++) { // the slots are reused on every lap
+            for (int number = 0; number < 4; number++)
+                assertTrue(buffer.offer(number));
+            assertFalse(buffer.offer(4), "the ring buffer is full");
+            assertEquals(4, buffer.size());
+
+            for (int number = 0; number < 4; number++)
+                assertEquals((Integer) number, buffer.poll());
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+        }
+    }
+
+    @Test
+    void deliversEveryElementFromManyProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<int[]> buffer = new MpscRingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int id = producer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                for (int number = 0; number < perProducer; number++)
+                    while (!buffer.offer(new int[]{id, number})) Thread.onSpinWait();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            int[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(next[element[0]]++, element[1], "elements from one producer should arrive in order");
+            received++;
+        }
+        for (Thread thread : threads) thread.join();
+        assertNull(buffer.poll());
+    }
+
+}
@@ -0,0 +1,142 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogQueryTest {
+
+    private static final DateTimeFormatter TIME_ONLY = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final OffsetDateTime BEFORE_MIDNIGHT = OffsetDateTime.of(2026, 3, 1, 23, 59, 58, 0, ZoneOffset.UTC);
+    private static final Instant MIDNIGHT = Instant.parse("2026-03-02T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private Logs logs;
+
+    @AfterEach
+    void close() {
+        if (this.logs != null) this.logs.close();
+    }
+
+    @Test
+    void datesTimeOnlyLinesAcrossMidnight() throws IOException {
+        File file = writeLog(true,
+                BEFORE_MIDNIGHT,
+                BEFORE_MIDNIGHT.plusSeconds(1),
+                BEFORE_MIDNIGHT.plusSeconds(3),
+                BEFORE_MIDNIGHT.plusSeconds(4)
+        );
+        assertEquals(4, LogIndex.read(file).length, "a record for the first line, and one for the first line after midnight");
+        this.logs = logs(file);
+
+        assertEquals(List.of(
+                Instant.parse("2026-03-01T23:59:58Z"),
+                Instant.parse("2026-03-01T23:59:59Z"),
+                Instant.parse("2026-03-02T00:00:01Z"),
+                Instant.parse("2026-03-02T00:00:02Z")
+        ), times(this.logs.query()));
+        assertEquals(List.of(Instant.parse("2026-03-02T00:00:01Z"), Instant.parse("2026-03-02T00:00:02Z")), times(this.logs.query().since(MIDNIGHT)));
+        assertEquals(List.of(Instant.parse("2026-03-01T23:59:58Z"), Instant.parse("2026-03-01T23:59:59Z")), times(this.logs.query().until(MIDNIGHT)));
+    }
+
+    @Test
+    void movesToTheNextDayWhenTheTimeGoesBackwards() throws IOException {
+        File file = writeLog(false, BEFORE_MIDNIGHT, BEFORE_MIDNIGHT.plusSeconds(3));
+        this.logs = logs(file);
+
+        assertEquals(List.of(Instant.parse("2026-03-01T23:59:58Z"), Instant.parse("2026-03-02T00:00:01Z")), times(this.logs.query()));
+    }
+
+    @Test
+    void leavesOutLinesWithoutATimeWhenFilteringByTime() throws IOException {
+        File file = this.directory.resolve("old.log").toFile();
+        Files.writeString(file.toPath(), "[23:59:58 // INFO] written before there was an index\n", StandardCharsets.UTF_8);
+        this.logs = logs(file);
+
+        try (Stream<LogEntry> entries = this.logs.query().stream()) {
+            LogEntry entry = entries.findFirst().orElseThrow();
+            assertEquals(Logs.LogLevel.INFO, entry.getLevel());
+            assertEquals("written before there was an index", entry.getMessage());
+            assertNull(entry.getTime());
+        }
+        assertEquals(List.of(), times(this.logs.query().since(Instant.EPOCH)));
+    }
+
+    @Test
+    void filtersByLevel() {
+        this.logs = logs(this.directory.resolve("levels.log").toFile());
+        this.logs.write(Logs.LogLevel.INFO, "started");
+        this.logs.write(Logs.LogLevel.WARN, "low on memory");
+        this.logs.write(Logs.LogLevel.ERROR, "crashed", "code 1");
+
+        try (Stream<LogEntry> entries = this.logs.query().levels(Logs.LogLevel.WARN, Logs.LogLevel.ERROR).stream()) {
+            assertEquals(List.of("low on memory", "crashed (code 1)"), entries.map(LogEntry::getMessage).toList());
+        }
+        try (Stream<LogEntry> entries = this.logs.query().since(Instant.now().minusSeconds(60)).stream()) {
+            assertEquals(3, entries.count());
+        }
+    }
+
+    @Test
+    void seeksToTheLastRecordAtOrBeforeATime() {
+        long[] records = {100, 0, 200, 10, 300, 20};
+        assertEquals(-1, LogIndex.seek(records, 99));
+        assertEquals(0, LogIndex.seek(records, 100));
+        assertEquals(1, LogIndex.seek(records, 299));
+        assertEquals(2, LogIndex.seek(records, Long.MAX_VALUE));
+    }
+
+    @Test
+    void dropsIndexRecordsPastTheEndOfTheLog() throws IOException {
+        File file = writeLog(true, BEFORE_MIDNIGHT, BEFORE_MIDNIGHT.plusSeconds(3));
+        long firstLine = Files.readAllLines(file.toPath()).get(0).length() + 1;
+
+        LogIndex.open(file, firstLine, ZoneOffset.UTC).close(); // as if the log was cut down to its first line
+        assertArrayEquals(new long[]{BEFORE_MIDNIGHT.toInstant().toEpochMilli(), 0}, LogIndex.read(file));
+    }
+
+    // writes one line for each time, in the same format as Logs#write, optionally recording them in the index like Logs#write does
+    private File writeLog(boolean recordEveryLine, OffsetDateTime... times) throws IOException {
+        File file = this.directory.resolve("test.log").toFile();
+        LogIndex index = LogIndex.open(file, 0, ZoneOffset.UTC);
+        try {
+            long offset = 0;
+            for (OffsetDateTime time : times) {
+                byte[] line = ("[" + TIME_ONLY.format(time) + " // INFO] line at " + time + "\n").getBytes(StandardCharsets.UTF_8);
+                if (recordEveryLine || offset == 0) index.record(offset, time);
+                Files.write(file.toPath(), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                offset += line.length;
+            }
+        } finally {
+            index.close();
+        }
+        return file;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Logs logs(File file) { return new Logs(file.getName(), file); }
+
+    private static List<Instant> times(LogQuery query) {
+        try (Stream<LogEntry> entries = query.stream()) {
+            return entries.map(LogEntry::getTime).toList();
+        }
+    }
+
+}
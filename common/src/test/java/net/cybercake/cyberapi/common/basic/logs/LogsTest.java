@@ -0,0 +1,45 @@
+package net.cybercake.cyberapi.common.basic.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogsTest {
+
+    @TempDir
+    Path directory;
+
+    private Logs logs;
+
+    @AfterEach
+    void close() {
+        if (this.logs != null) this.logs.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void keepsWritingAfterBeingClosed() throws IOException {
+        File file = this.directory.resolve("shutdown.log").toFile();
+        this.logs = new Logs("shutdown", file);
+        this.logs.setConfiguration(Logs.newConfiguration().setFlushInterval(60_000L));
+        this.logs.write("enabled");
+        Logs.closeAll(); // as if the plugin was disabled
+        assertNull(Logs.getFromID("shutdown"));
+
+        this.logs.write("disabling"); // as if the plugin logged from its own onDisable
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(2, lines.size(), "written right away, without waiting for the flush interval");
+        assertTrue(lines.get(1).endsWith("] disabling"));
+        assertSame(this.logs, Logs.getFromID("shutdown"), "registered again, so closeAll() and the shutdown hook still get to it");
+        assertSame(this.logs, Logs.getFromFile(file));
+    }
+
+}
@@ -0,0 +1,49 @@
+package net.cybercake.cyberapi.common.chat;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.md_5.bungee.api.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColorTranslatorTest {
+
+    @Test
+    void findsEveryColorFromEachSystem() {
+        for (ColorTranslator color : ColorTranslator.values()) {
+            assertSame(color, ColorTranslator.getColorFor(color.getBukkit()), color.name());
+            assertSame(color, ColorTranslator.getColorFor(color.getBungee()), color.name());
+            assertSame(color, ColorTranslator.getColorFor(color.getMiniMessage().getLiteral()), color.name());
+            if (color.getAdventure() != null) assertSame(color, ColorTranslator.getColorFor(color.getAdventure()), color.name());
+        }
+    }
+
+    @Test
+    void findsMiniMessageTagsWithoutBracketsOrCase() {
+        assertSame(ColorTranslator.RED, ColorTranslator.getColorFor("red"));
+        assertSame(ColorTranslator.RED, ColorTranslator.getColorFor("<RED>"));
+        assertSame(ColorTranslator.DARK_PURPLE, ColorTranslator.getColorFor("Dark_Purple"));
+        assertNull(ColorTranslator.getColorFor("rainbow"));
+        assertNull(ColorTranslator.getColorFor((String) null));
+    }
+
+    @Test
+    void findsAdventureFormats() {
+        assertSame(ColorTranslator.GOLD, ColorTranslator.getColorFor(NamedTextColor.GOLD));
+        assertSame(ColorTranslator.BOLD, ColorTranslator.getColorFor(TextDecoration.BOLD));
+        assertSame(ColorTranslator.RESET, ColorTranslator.getColorFor(ChatColor.RESET));
+    }
+
+    @Test
+    void findsLegacyCodesInEitherCase() {
+        for (ColorTranslator color : ColorTranslator.values()) {
+            char code = color.getBukkit().getChar();
+            assertSame(color, ColorTranslator.getColorForCode(Character.toLowerCase(code)), color.name());
+            assertSame(color, ColorTranslator.getColorForCode(Character.toUpperCase(code)), color.name());
+        }
+        assertNull(ColorTranslator.getColorForCode('z'));
+        assertNull(ColorTranslator.getColorForCode('§'));
+    }
+
+}
@@ -0,0 +1,56 @@
+package net.cybercake.cyberapi.common.chat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegacyTranslatorTest {
+
+    @Test
+    void translatesEveryLegacyCode() {
+        for (LegacyToMiniMessage legacy : LegacyToMiniMessage.values()) {
+            assertEquals(legacy.getNewer() + "text", LegacyTranslator.translate(legacy.getOld() + "text"), legacy.name());
+            assertEquals(legacy.getNewer() + "text", LegacyTranslator.translate("§" + legacy.getOld().charAt(1) + "text"), legacy.name());
+        }
+        assertEquals("<red>Hello <bold>world", LegacyTranslator.translate("&CHello &Lworld"));
+    }
+
+    @Test
+    void matchesCleansingEachCodeOneByOne() {
+        String input = "§6&lShop &8» &7You bought &ea sword &r&kx";
+        String cleansed = input;
+        for (LegacyToMiniMessage legacy : LegacyToMiniMessage.values())
+            cleansed = legacy.cleanse(cleansed);
+        assertEquals(cleansed, LegacyTranslator.translate(input));
+    }
+
+    @Test
+    void translatesHexColors() {
+        assertEquals("<red>Hello <#00ff00>world", LegacyTranslator.translate("&cHello &#00ff00world"));
+        assertEquals("<#AABBCC>hex", LegacyTranslator.translate("&x&A&A&B&B&C&Chex"));
+        assertEquals("<#aabbcc>hex", LegacyTranslator.translate("§x§a§a§b§b§c§chex"));
+    }
+
+    @Test
+    void keepsUnknownAndIncompleteCodes() {
+        assertEquals("&zoops", LegacyTranslator.translate("&zoops"));
+        assertEquals("&zoops", LegacyTranslator.translate("§zoops"));
+        assertEquals("&#12345g", LegacyTranslator.translate("&#12345g"));
+        assertEquals("&#123", LegacyTranslator.translate("&#123"));
+        assertEquals("&x<green><green><blue>", LegacyTranslator.translate("&x&a&a&9")); // too short to be a hex color
+        assertEquals("trailing &", LegacyTranslator.translate("trailing &"));
+    }
+
+    @Test
+    void returnsTheSameStringWithoutCodes() {
+        String input = "nothing to translate";
+        assertSame(input, LegacyTranslator.translate(input));
+    }
+
+    @Test
+    void translatesTheAlternateCharacter() {
+        assertEquals("<red>red <green>green <blue>blue", LegacyTranslator.translate('%', "%cred &agreen §9blue"));
+        assertEquals("<#112233>hex", LegacyTranslator.translate('%', "%x%1%1&2&2§3§3hex"));
+    }
+
+}
@@ -0,0 +1,103 @@
+package net.cybercake.cyberapi.common.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextMetricsTest {
+
+    @Test
+    void colorCodesTakeNoSpace() {
+        int plain = plainWidth("Hi");
+        assertEquals(plain, TextMetrics.width("Hi"));
+        assertEquals(plain, TextMetrics.width("&aHi"));
+        assertEquals(plain, TextMetrics.width("§AHi"));
+        assertEquals(plain, TextMetrics.width("&#ff0000Hi"));
+        assertEquals(plain, TextMetrics.width("&x&f&f&0&0&0&0Hi"));
+        assertEquals(plain, TextMetrics.width("§x§f§f§0§0§0§0Hi"));
+        assertEquals(plain, TextMetrics.width("§x&f§f&0§0&0§0Hi"));
+    }
+
+    @Test
+    void measuresCodesThatAreNotCodes() {
+        assertEquals(plainWidth("&zHi"), TextMetrics.width("&zHi"));
+        assertEquals(plainWidth("&#ff00Hi"), TextMetrics.width("&#ff00Hi"), "too short to be a hex color");
+        assertEquals(plainWidth("&xHi"), TextMetrics.width("&xHi"), "&x is only a code when six hex pairs follow it");
+        assertEquals(plainWidth("Hi"), TextMetrics.width("§x&fHi"), "§x still hides the x, even when no hex pairs follow it");
+        assertEquals(plainWidth("Hi"), TextMetrics.width("§zHi"), "the client hides whatever comes after a §");
+        assertEquals(plainWidth("Hi&"), TextMetrics.width("Hi&"));
+    }
+
+    @Test
+    void measuresBoldUntilTheNextColor() {
+        assertEquals(boldWidth("Hi"), TextMetrics.width("&lHi"));
+        assertEquals(boldWidth("Hi"), TextMetrics.width("&a&lHi"));
+        assertEquals(boldWidth("Hi") + plainWidth("Hi"), TextMetrics.width("&lHi&aHi"));
+        assertEquals(boldWidth("Hi") + plainWidth("Hi"), TextMetrics.width("&lHi&#00ff00Hi"));
+        assertEquals(boldWidth("Hi") + plainWidth("Hi"), TextMetrics.width("&lHi&x&0&0&f&f&0&0Hi"));
+        assertEquals(boldWidth("Hi") + boldWidth("Hi"), TextMetrics.width("&lHi&oHi"), "formatting codes keep the text bold");
+        assertEquals(plainWidth("Hi"), TextMetrics.width("&l&rHi"));
+    }
+
+    @Test
+    void wrapsAtSpacesAndCarriesTheFormatting() {
+        assertEquals(List.of("&aone two", "&athree"), TextMetrics.wrap("&aone two three", TextMetrics.width("one two")));
+        assertEquals(List.of("&lab", "&lcd"), TextMetrics.wrap("&lab cd", TextMetrics.width("&lab")));
+        assertEquals(List.of("&#112233one", "&#112233two"), TextMetrics.wrap("&#112233one two", TextMetrics.width("one")));
+        assertEquals(List.of("§x§1§1§2§2§3§3one", "§x§1§1§2§2§3§3two"), TextMetrics.wrap("§x§1§1§2§2§3§3one two", TextMetrics.width("one")));
+        assertEquals(List.of("&aone", "&a&rtwo"), TextMetrics.wrap("&aone &rtwo", TextMetrics.width("one")), "the color is carried from the break, before the word resets it");
+    }
+
+    @Test
+    void wrapsAtTheWidthOfBoldText() {
+        int width = TextMetrics.width("abcd"); // bold text is wider, so fewer bold letters fit
+        List<String> lines = TextMetrics.wrap("&labcd", width);
+        assertTrue(lines.size() > 1, "bold text should not fit: " + lines);
+        for (String line : lines)
+            assertTrue(TextMetrics.width(line) <= width, line + " is too wide");
+    }
+
+    @Test
+    void splitsWordsWiderThanALine() {
+        assertEquals(List.of("abc", "def"), TextMetrics.wrap("abcdef", TextMetrics.width("abc")));
+        assertEquals(List.of("&cab", "&ccd"), TextMetrics.wrap("&cab\ncd", 1000), "new lines are kept, with the color carried over");
+    }
+
+    @Test
+    void centersEachLine() {
+        String text = "&6&lWelcome!";
+        String centered = TextMetrics.center(text, TextMetrics.CHAT_WIDTH);
+        assertEquals(" ".repeat(spacesToCenter(TextMetrics.width(text), TextMetrics.CHAT_WIDTH)) + text, centered);
+        assertTrue(spacesToCenter(TextMetrics.width(text), TextMetrics.CHAT_WIDTH) < spacesToCenter(plainWidth("Welcome!"), TextMetrics.CHAT_WIDTH), "bold text needs fewer spaces");
+
+        assertEquals(" ".repeat(spacesToCenter(plainWidth("Hi"), 100)) + "Hi\n\n" + " ".repeat(spacesToCenter(plainWidth("Hello"), 100)) + "&aHello",
+                TextMetrics.center("Hi\n\n&aHello", 100));
+    }
+
+    @Test
+    void centersAnMotdLikeBefore() { // the same amount of spaces as CenteredMessage added before it measured in pixels
+        assertEquals(" ".repeat(21) + "Welcome to CyberAPI", TextMetrics.center("Welcome to CyberAPI", TextMetrics.MOTD_WIDTH));
+        assertEquals(" ".repeat(17) + "Survival, Skyblock and more", TextMetrics.center("Survival, Skyblock and more", TextMetrics.MOTD_WIDTH));
+    }
+
+    private static int spacesToCenter(int width, int lineWidth) {
+        int spaceAdvance = FontMetrics.getActive().getAdvance(' ', false);
+        int toCompensate = lineWidth / 2 - width / 2;
+        return (toCompensate + spaceAdvance - 1) / spaceAdvance;
+    }
+
+    private static int plainWidth(String text) {
+        int width = 0;
+        for (char character : text.toCharArray()) width += FontMetrics.getActive().getAdvance(character, false);
+        return width;
+    }
+
+    private static int boldWidth(String text) {
+        int width = 0;
+        for (char character : text.toCharArray()) width += FontMetrics.getActive().getAdvance(character, true);
+        return width;
+    }
+
+}
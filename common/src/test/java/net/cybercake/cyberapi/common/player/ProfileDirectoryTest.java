@@ -0,0 +1,120 @@
+package net.cybercake.cyberapi.common.player;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileDirectoryTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void disable() { ProfileDirectory.disable(); }
+
+    @Test
+    void survivesARestart() throws IOException {
+        File file = this.directory.resolve("profiles.dat").toFile();
+        ProfileDirectory profiles = enable(file);
+        profiles.record(ALICE, "Alice", 1000);
+        profiles.record(BOB, "Bob", 1000);
+        ProfileDirectory.disable();
+
+        profiles = enable(file);
+        assertEquals(2, profiles.size());
+        assertEquals(new ProfileDirectory.Entry(ALICE, "Alice", 1000), profiles.get(ALICE));
+        assertEquals(BOB, profiles.get("bOB").uuid());
+        assertSame(profiles, ProfileDirectory.getActive());
+    }
+
+    @Test
+    void keepsTheNewestNameOfEachPlayer() throws IOException {
+        ProfileDirectory profiles = enable(this.directory.resolve("profiles.dat").toFile());
+        profiles.record(ALICE, "Alice", 1000);
+        profiles.record(ALICE, "Alicia", 2000);
+        profiles.record(ALICE, "Ally", 1500); // older than what is already known, so it is ignored
+
+        assertEquals("Alicia", profiles.get(ALICE).name());
+        assertNull(profiles.get("alice"), "the old name should no longer point at the player");
+        assertEquals(ALICE, profiles.get("ALICIA").uuid());
+    }
+
+    @Test
+    void givesANameToWhoeverHadItMostRecently() throws IOException {
+        ProfileDirectory profiles = enable(this.directory.resolve("profiles.dat").toFile());
+        profiles.record(ALICE, "Shared", 1000);
+        profiles.record(ALICE, "Alice", 2000);
+        profiles.record(BOB, "Shared", 3000);
+
+        assertEquals(BOB, profiles.get("shared").uuid());
+        assertEquals(ALICE, profiles.get("alice").uuid());
+    }
+
+    @Test
+    void compactsOutdatedRecordsWhenLoaded() throws IOException {
+        File file = this.directory.resolve("profiles.dat").toFile();
+        ProfileDirectory profiles = enable(file);
+        profiles.record(ALICE, "Alice", 1000);
+        profiles.record(ALICE, "Alicia", 2000);
+        profiles.record(ALICE, "Ali", 3000);
+        ProfileDirectory.disable();
+        assertEquals(HEADER_SIZE + recordSize("Alice") + recordSize("Alicia") + recordSize("Ali"), file.length(), "every change should be appended");
+
+        enable(file);
+        ProfileDirectory.disable(); // waits for the compaction to be written
+        assertEquals(HEADER_SIZE + recordSize("Ali"), file.length());
+        assertEquals("Ali", enable(file).get(ALICE).name());
+    }
+
+    @Test
+    void ignoresAPartiallyWrittenRecord() throws IOException {
+        File file = this.directory.resolve("profiles.dat").toFile();
+        ProfileDirectory profiles = enable(file);
+        profiles.record(ALICE, "Alice", 1000);
+        profiles.record(BOB, "Bob", 1000);
+        ProfileDirectory.disable();
+
+        try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+            access.setLength(access.length() - 2); // as if the server crashed while writing Bob
+        }
+        profiles = enable(file);
+        assertEquals(1, profiles.size());
+        assertNull(profiles.get(BOB));
+
+        profiles.record(BOB, "Bob", 2000); // must not be appended after the partial record, or it would be misread
+        ProfileDirectory.disable();
+        profiles = enable(file);
+        assertEquals(2, profiles.size());
+        assertEquals(new ProfileDirectory.Entry(ALICE, "Alice", 1000), profiles.get(ALICE));
+        assertEquals(new ProfileDirectory.Entry(BOB, "Bob", 2000), profiles.get(BOB));
+        assertEquals(HEADER_SIZE + recordSize("Alice") + recordSize("Bob"), file.length());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotProfiles() throws IOException {
+        File file = this.directory.resolve("profiles.dat").toFile();
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> enable(file));
+        assertNull(ProfileDirectory.getActive());
+    }
+
+    private static ProfileDirectory enable(File file) throws IOException {
+        return ProfileDirectory.enable(file, exception -> fail(exception.toString()));
+    }
+
+    private static int recordSize(String name) { return Long.BYTES * 3 + Byte.BYTES + name.length(); }
+
+}
@@ -0,0 +1,147 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileResolverTest {
+
+    private HttpServer server;
+    private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger rateLimitedRequests = new AtomicInteger(); // how many of the next requests get a 429
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext(ProfileResolver.BULK_PATH, this::respond);
+        this.server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+        ProfileCache.clear();
+    }
+
+    @Test
+    void groupsNamesIntoAsFewRequestsAsPossible() {
+        ProfileResolver resolver = resolver().build();
+        List<CompletableFuture<UUID>> futures = new ArrayList<>();
+        for (int player = 0; player < 12; player++)
+            futures.add(resolver.resolve("Player" + player));
+
+        for (int player = 0; player < 12; player++)
+            assertEquals(uuidOf("player" + player), futures.get(player).join());
+        assertEquals(2, this.requests.size(), "12 names should fit into 2 requests: " + this.requests);
+        assertEquals(ProfileResolver.MAX_NAMES_PER_REQUEST, this.requests.get(0).size());
+        assertEquals(uuidOf("player3"), ProfileCache.getCachedUUID("PLAYER3"), "found profiles should be put into the cache");
+    }
+
+    @Test
+    void givesBackTheSameFutureForANameAlreadyWaiting() {
+        ProfileResolver resolver = resolver().build();
+        CompletableFuture<UUID> first = resolver.resolve("Notch");
+        assertSame(first, resolver.resolve("notch"));
+        first.join();
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    void waitsForRetryAfterWhenRateLimited() {
+        this.rateLimitedRequests.set(1);
+        ProfileResolver resolver = resolver().build();
+
+        assertEquals(uuidOf("notch"), resolver.resolve("Notch").join());
+        assertEquals(2, this.requests.size());
+        long waited = this.requestTimes.get(1) - this.requestTimes.get(0);
+        assertTrue(waited >= 900, "the second request should wait for Retry-After (1 second), but only waited " + waited + "ms");
+    }
+
+    @Test
+    void remembersNamesThatNoPlayerHas() {
+        ProfileResolver resolver = resolver().build();
+
+        assertNotFound(resolver.resolve("Nobody"));
+        assertNotFound(resolver.resolve("NOBODY"));
+        assertEquals(1, this.requests.size(), "the name should not be sent again right away");
+
+        ProfileResolver forgetful = resolver().notFoundTTL(0, TimeUnit.MILLISECONDS).build();
+        assertNotFound(forgetful.resolve("Nobody"));
+        assertNotFound(forgetful.resolve("Nobody"));
+        assertEquals(3, this.requests.size());
+    }
+
+    @Test
+    void rejectsInvalidNamesWithoutARequest() {
+        ProfileResolver resolver = resolver().build();
+        CompletionException exception = assertThrows(CompletionException.class, () -> resolver.resolve("not a name!").join());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertTrue(this.requests.isEmpty());
+    }
+
+    private ProfileResolver.Builder resolver() {
+        return ProfileResolver.builder()
+                .baseURL("http://localhost:" + this.server.getAddress().getPort())
+                .batchDelay(50, TimeUnit.MILLISECONDS);
+    }
+
+    private static void assertNotFound(CompletableFuture<UUID> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    // a stand-in for Mojang's bulk endpoint, where every name except "nobody" belongs to a player
+    private void respond(HttpExchange exchange) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (JsonElement name : JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)).getAsJsonArray())
+            names.add(name.getAsString());
+        this.requests.add(names);
+        this.requestTimes.add(System.currentTimeMillis());
+
+        if (this.rateLimitedRequests.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+            return;
+        }
+
+        JsonArray profiles = new JsonArray();
+        for (String name : names) {
+            if (name.equals("nobody")) continue;
+            JsonObject profile = new JsonObject();
+            profile.addProperty("id", uuidOf(name).toString().replace("-", ""));
+            profile.addProperty("name", name);
+            profiles.add(profile);
+        }
+        byte[] body = profiles.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static UUID uuidOf(String name) { return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)); }
+
+}
@@ -0,0 +1,130 @@
+package net.cybercake.cyberapi.common.player;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.cybercake.cyberapi.common.builders.player.UserHeadSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserHeadRendererTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UserHeadSettings SETTINGS = UserHeadSettings.builder().character('#').build();
+
+    private HttpServer server;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0); // held by a test to keep downloads waiting
+    private byte[] png;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+        image.setRGB(1, 0, 0x00FF00);
+        image.setRGB(0, 1, 0x0000FF);
+        image.setRGB(1, 1, 0x0000FF);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        this.png = output.toByteArray();
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", this::respond);
+        this.server.start();
+        UserHeadRenderer.setURLTemplate("http://localhost:" + this.server.getAddress().getPort() + "/{type}/{uuid}/{scale}.png");
+    }
+
+    @AfterEach
+    void reset() {
+        this.server.stop(0);
+        UserHeadRenderer.setURLTemplate(UserHeadRenderer.DEFAULT_URL_TEMPLATE);
+        UserHeadRenderer.setTTL(UserHeadRenderer.DEFAULT_TTL, TimeUnit.MILLISECONDS);
+        UserHeadRenderer.setMaximumSize(UserHeadRenderer.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Test
+    void rendersEachPixelAsAColoredCharacter() throws IOException {
+        assertEquals("§x§f§f§0§0§0§0#§x§0§0§f§f§0§0# \n§x§0§0§0§0§f§f## \n", UserHeadRenderer.renderNow(ALICE, SETTINGS));
+        assertEquals("§x§f§f§0§0§0§0#§x§0§0§f§f§0§0# Alice\n§x§0§0§0§0§f§f## \n",
+                UserHeadRenderer.renderNow(ALICE, UserHeadSettings.builder().character('#').lines("Alice").build()));
+        assertEquals(1, this.downloads.get(), "the image should only be downloaded once");
+    }
+
+    @Test
+    void downloadsTheSameImageOnceForManyRequests() throws IOException {
+        this.release = new CountDownLatch(1);
+        List<CompletableFuture<String>> renders = new ArrayList<>();
+        for (int request = 0; request < 5; request++)
+            renders.add(UserHeadRenderer.render(ALICE, SETTINGS));
+        this.release.countDown();
+
+        for (CompletableFuture<String> render : renders)
+            assertEquals(UserHeadRenderer.renderNow(ALICE, SETTINGS), render.join());
+        assertEquals(1, this.downloads.get());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedHead() throws IOException {
+        UserHeadRenderer.setMaximumSize(1);
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        assertEquals(1, this.downloads.get());
+
+        UserHeadRenderer.renderNow(BOB, SETTINGS); // pushes Alice out
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        assertEquals(3, this.downloads.get());
+    }
+
+    @Test
+    void downloadsAgainOnceExpiredOrCleared() throws IOException {
+        UserHeadRenderer.setTTL(0, TimeUnit.MILLISECONDS);
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        assertEquals(2, this.downloads.get());
+
+        UserHeadRenderer.setTTL(1, TimeUnit.MINUTES); // the image from the last download is fresh again
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        assertEquals(2, this.downloads.get());
+        UserHeadRenderer.clear();
+        UserHeadRenderer.renderNow(ALICE, SETTINGS);
+        assertEquals(3, this.downloads.get());
+    }
+
+    @Test
+    void failsWhenTheImageCannotBeDownloaded() {
+        this.png = new byte[0];
+        assertThrows(IOException.class, () -> UserHeadRenderer.renderNow(ALICE, SETTINGS));
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        this.downloads.incrementAndGet();
+        try {
+            this.release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = this.png;
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package net.cybercake.cyberapi.common.server.autoregister;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoRegisterIndexTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void indexesOnlyConstructableSubtypes() throws IOException {
+        compile(
+                source("net.cybercake.cyberapi.spigot.server.commands.SpigotCommand", "package net.cybercake.cyberapi.spigot.server.commands; public abstract class SpigotCommand { }"),
+                source("net.cybercake.cyberapi.bungee.server.listeners.BungeeListener", "package net.cybercake.cyberapi.bungee.server.listeners; public interface BungeeListener { }"),
+                source("me.dev.plugin.HelloCommand", "package me.dev.plugin; public class HelloCommand extends net.cybercake.cyberapi.spigot.server.commands.SpigotCommand { }"),
+                source("me.dev.plugin.JoinListener", "package me.dev.plugin; public class JoinListener implements net.cybercake.cyberapi.bungee.server.listeners.BungeeListener { " +
+                        "public static class Nested implements net.cybercake.cyberapi.bungee.server.listeners.BungeeListener { } " +
+                        "public class Inner implements net.cybercake.cyberapi.bungee.server.listeners.BungeeListener { } }"),
+                source("me.dev.plugin.BaseCommand", "package me.dev.plugin; public abstract class BaseCommand extends net.cybercake.cyberapi.spigot.server.commands.SpigotCommand { }"),
+                source("me.dev.plugin.Unrelated", "package me.dev.plugin; public class Unrelated { }"),
+                source("me.dev.other.OtherCommand", "package me.dev.other; public class OtherCommand extends net.cybercake.cyberapi.spigot.server.commands.SpigotCommand { }")
+        );
+
+        Path index = output.resolve(AutoRegisterIndex.INDEX_LOCATION);
+        assertTrue(Files.exists(index), "the processor should have written the index");
+        assertEquals(List.of(
+                "me.dev.other.OtherCommand",
+                "me.dev.plugin.HelloCommand",
+                "me.dev.plugin.JoinListener",
+                "me.dev.plugin.JoinListener$Nested"
+        ), Files.readAllLines(index, StandardCharsets.UTF_8));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null)) {
+            assertEquals(List.of("me.dev.plugin.HelloCommand", "me.dev.plugin.JoinListener", "me.dev.plugin.JoinListener$Nested"), AutoRegisterIndex.read(loader, "me.dev.plugin"));
+            assertEquals(4, AutoRegisterIndex.read(loader, null).size());
+        }
+    }
+
+    @Test
+    void writesNothingWithoutCyberAPIOnTheClasspath() throws IOException {
+        compile(source("me.dev.plugin.Unrelated", "package me.dev.plugin; public class Unrelated { }"));
+
+        assertFalse(Files.exists(output.resolve(AutoRegisterIndex.INDEX_LOCATION)));
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null)) {
+            assertNull(AutoRegisterIndex.read(loader, "me.dev.plugin"), "no index means CyberAPI should fall back to scanning");
+        }
+    }
+
+    private void compile(JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, List.of("-proc:only"), null, List.of(sources));
+            task.setProcessors(List.of(new AutoRegisterProcessor()));
+            assertTrue(task.call(), "the sources should compile");
+        }
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) { return code; }
+        };
+    }
+
+}
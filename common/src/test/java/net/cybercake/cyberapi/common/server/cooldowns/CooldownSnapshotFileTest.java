@@ -0,0 +1,98 @@
+package net.cybercake.cyberapi.common.server.cooldowns;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownSnapshotFileTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsTheNewestCooldowns() throws IOException {
+        File file = directory.resolve("cooldowns.dat").toFile();
+        long future = System.currentTimeMillis() + 60_000;
+        List<Exception> errors = new ArrayList<>();
+
+        CooldownSnapshotFile snapshot = new CooldownSnapshotFile(file, List::of, errors::add);
+        snapshot.append(new CooldownSnapshotFile.Entry(ALICE, "heal", future));
+        snapshot.append(new CooldownSnapshotFile.Entry(ALICE, "feed", future));
+        snapshot.append(new CooldownSnapshotFile.Entry(ALICE, "feed", 0)); // cancelled
+        snapshot.append(new CooldownSnapshotFile.Entry(BOB, "heal", future + 1));
+        snapshot.append(new CooldownSnapshotFile.Entry(BOB, "heal", future + 2)); // replaces the one before it
+        snapshot.append(new CooldownSnapshotFile.Entry(BOB, "kit", System.currentTimeMillis() - 1)); // already expired
+        snapshot.close();
+        assertTrue(errors.isEmpty(), "writing failed: " + errors);
+
+        assertEquals(Set.of(
+                new CooldownSnapshotFile.Entry(ALICE, "heal", future),
+                new CooldownSnapshotFile.Entry(BOB, "heal", future + 2)
+        ), load(file));
+    }
+
+    @Test
+    void keepsACancellationThatStartsACompaction() throws IOException {
+        File file = directory.resolve("cooldowns.dat").toFile();
+        long future = System.currentTimeMillis() + 60_000;
+        CooldownSnapshotFile.Entry heal = new CooldownSnapshotFile.Entry(ALICE, "heal", future);
+        CooldownSnapshotFile.Entry kit = new CooldownSnapshotFile.Entry(BOB, "kit", future);
+
+        // taken before ALICE's cooldown was removed, which can happen as the snapshot is taken on the writer thread
+        CooldownSnapshotFile snapshot = new CooldownSnapshotFile(file, () -> List.of(heal, kit), exception -> fail(exception.toString()));
+        snapshot.append(heal); // creates the file
+        for (int append = 1; append < 4096; append++)
+            snapshot.append(kit);
+        snapshot.append(new CooldownSnapshotFile.Entry(ALICE, "heal", 0)); // the 4096th append since the file was created, which compacts it
+        snapshot.close();
+
+        assertEquals(Set.of(kit), load(file));
+    }
+
+    @Test
+    void ignoresAPartiallyWrittenRecord() throws IOException {
+        File file = directory.resolve("cooldowns.dat").toFile();
+        long future = System.currentTimeMillis() + 60_000;
+
+        CooldownSnapshotFile snapshot = new CooldownSnapshotFile(file, List::of, exception -> fail(exception.toString()));
+        snapshot.append(new CooldownSnapshotFile.Entry(ALICE, "heal", future));
+        snapshot.append(new CooldownSnapshotFile.Entry(BOB, "heal", future));
+        snapshot.close();
+
+        try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+            access.setLength(access.length() - 3); // as if the server crashed while writing BOB's cooldown
+        }
+        assertEquals(Set.of(new CooldownSnapshotFile.Entry(ALICE, "heal", future)), load(file));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotCooldowns() throws IOException {
+        File file = directory.resolve("cooldowns.dat").toFile();
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        CooldownSnapshotFile snapshot = new CooldownSnapshotFile(file, List::of, exception -> fail(exception.toString()));
+        assertThrows(IOException.class, snapshot::load);
+        snapshot.close();
+    }
+
+    private static Set<CooldownSnapshotFile.Entry> load(File file) throws IOException {
+        CooldownSnapshotFile snapshot = new CooldownSnapshotFile(file, List::of, exception -> fail(exception.toString()));
+        try {
+            return new HashSet<>(snapshot.load());
+        } finally {
+            snapshot.close();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package net.cybercake.cyberapi.common.server.cooldowns;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownStoreTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    @Test
+    void evictsAgainAfterBeingShutDown() throws InterruptedException {
+        CooldownStore<String, Long> store = new CooldownStore<>(expiration -> expiration);
+        Long heal = System.currentTimeMillis() + 60_000;
+        store.put(ALICE, "heal", heal); // schedules the purge
+        CooldownStore.shutdown(); // as if the plugin was disabled
+
+        store.put(ALICE, "kit", System.currentTimeMillis()); // and enabled again
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (store.values().size() > 1 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+        assertEquals(List.of(heal), store.values(), "the expired cooldown should have been evicted in the background");
+    }
+
+}
@@ -9,7 +9,13 @@ import net.cybercake.cyberapi.common.basic.logs.Logs;
 import net.cybercake.cyberapi.common.builders.player.UserHeadSettings;
 import net.cybercake.cyberapi.common.builders.settings.FeatureSupport;
 import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.chat.FontMetrics;
+import net.cybercake.cyberapi.common.player.ProfileDirectory;
+import net.cybercake.cyberapi.common.player.ProfileResolver;
+import net.cybercake.cyberapi.common.player.UserHeadRenderer;
 import net.cybercake.cyberapi.common.server.ConsoleModifiers;
+import net.cybercake.cyberapi.common.server.autoregister.AutoRegisterIndex;
+import net.cybercake.cyberapi.common.server.autoregister.AutoRegisterPipeline;
 import net.cybercake.cyberapi.spigot.basic.BetterStackTraces;
 import net.cybercake.cyberapi.spigot.basic.LocationUtils;
 import net.cybercake.cyberapi.spigot.chat.Broadcast;
@@ -20,8 +26,10 @@ import net.cybercake.cyberapi.spigot.inventory.GUIListeners;
 import net.cybercake.cyberapi.spigot.player.CyberPlayer;
 import net.cybercake.cyberapi.spigot.server.CyberAPIListeners;
 import net.cybercake.cyberapi.spigot.server.commands.CommandManager;
+import net.cybercake.cyberapi.spigot.server.commands.cooldown.ActiveCooldown;
 import net.cybercake.cyberapi.spigot.server.commands.SpigotCommand;
 import net.cybercake.cyberapi.spigot.server.listeners.ListenerManager;
+import net.cybercake.cyberapi.spigot.server.listeners.SpigotListener;
 import net.cybercake.cyberapi.spigot.server.placeholderapi.Placeholders;
 import net.cybercake.cyberapi.spigot.server.serverlist.ServerListInfo;
 import net.cybercake.cyberapi.spigot.server.serverlist.ServerListInfoListener;
@@ -47,8 +55,6 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.ChatPaginator;
 import org.jetbrains.annotations.NotNull;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
 
 import javax.annotation.Nullable;
 import java.io.*;
@@ -143,6 +149,7 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
         log.verbose("Loaded all potential supported libraries and classes");
 
         registerListener(new CyberAPIListeners());
+        Bukkit.getOnlinePlayers().forEach(CyberPlayer::openSession); // players already online when reloading never fire a join event
         registerListener(new GUIListeners());
 
         registerLog4jModifiers(); // deprecated because I don't want anyone else using it
@@ -150,36 +157,63 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
 
         @Nullable String mainPackagePath = this.getSettings().getMainPackagePath();
         long timedPackageSearcher = System.currentTimeMillis();
-        List<String> classes = new ArrayList<>();
-        this.classes = (mainPackagePath == null ? new Reflections() : new Reflections(mainPackagePath)).getAll(new SubTypesScanner(false))
-                .stream()
-                .filter(clazz -> {
-                    if (mainPackagePath == null) return true;
-                    return clazz.startsWith(mainPackagePath);
-                })
-                .map(clazz -> {
-                    try {
-                        classes.add(clazz);
-                        return Class.forName(clazz);
-                    } catch (ClassNotFoundException | NoClassDefFoundError exception) {
-                        log.verbose(ChatColor.RED + "Failed to find class despite being included in package scan: " + clazz);
-                        log.verbose(ChatColor.RED + "|-> Related exception: " + exception);
-                        if (mainPackagePath != null && clazz.startsWith(mainPackagePath))
-                            throw new IllegalStateException("Class not found, despite it being included in the package scan! This is likely not your fault, please report to CyberAPI: https://github.com/CyberedCake/CyberAPI/issues (unable to find '" + clazz + "')", exception);
-                        return null;
-                    }
-                })
-                .toList();
-        log.verbose("Found the following classes: [" + String.join(", ", classes) + "]");
+        this.autoRegisterPipeline = new AutoRegisterPipeline(this.getClass().getClassLoader(), mainPackagePath, SpigotListener.class, SpigotCommand.class).run();
+        if (autoRegisterPipeline.isIndexed()) log.verbose("Found auto-register index (" + AutoRegisterIndex.INDEX_LOCATION + "), skipping package scan");
+        for (String unresolved : autoRegisterPipeline.getUnresolvedClasses())
+            log.verbose(ChatColor.RED + "Failed to find class despite being included in package scan: " + unresolved);
+        this.classes = autoRegisterPipeline.getClasses();
+        log.verbose("Found the following classes: [" + String.join(", ", autoRegisterPipeline.getClassNames()) + "]");
 
         ListenerManager.listenerManager().init(settings.getMainPackagePath());
         CommandManager.commandManager().init(settings.getMainPackagePath());
+        log.verbose("Auto-registered " + ListenerManager.autoRegisteredListeners + " listener(s) and " + CommandManager.autoRegisteredCommands + " command(s) (" + autoRegisterPipeline.getTimingSummary() + ")");
+        ConsoleModifiers.finishStartupScanning(); // nothing scans after this, so the console filter can stop looking for Reflections' messages
+
+        if (settings.getFontResourcePack() != null) {
+            try {
+                FontMetrics.setActive(FontMetrics.load(settings.getFontResourcePack()));
+                log.verbose("Loaded the font of " + settings.getFontResourcePack().getName() + " for measuring text");
+            } catch (IOException exception) {
+                log.error("Failed to load the font resource pack, using the vanilla font instead: " + exception);
+                log.verboseException(exception);
+            }
+        }
+
+        if (settings.getProfileLookupURL() != null) {
+            ProfileResolver.setDefault(ProfileResolver.builder().baseURL(settings.getProfileLookupURL()).build());
+            log.verbose("Looking up usernames from " + settings.getProfileLookupURL() + " instead of Mojang's API");
+        }
+
+        if (settings.getUserHeadURL() != null) {
+            UserHeadRenderer.setURLTemplate(settings.getUserHeadURL());
+            log.verbose("Downloading player heads from " + settings.getUserHeadURL());
+        }
+
+        if (settings.shouldPersistProfiles()) {
+            try {
+                ProfileDirectory directory = ProfileDirectory.enable(new File(getDataFolder(), "profiles.bin"), exception -> log.error("Failed to save player profiles: " + exception));
+                log.verbose("Loaded " + directory.size() + " saved player profile(s)");
+            } catch (IOException exception) {
+                log.error("Failed to load saved player profiles: " + exception);
+                log.verboseException(exception);
+            }
+        }
+
+        if (settings.shouldPersistCooldowns()) {
+            try {
+                ActiveCooldown.enablePersistence(new File(getDataFolder(), "cooldowns.bin"), exception -> log.error("Failed to save command cooldowns: " + exception));
+                log.verbose("Loaded " + ActiveCooldown.getActiveCooldowns().size() + " saved command cooldown(s)");
+            } catch (IOException exception) {
+                log.error("Failed to load saved command cooldowns: " + exception);
+                log.verboseException(exception);
+            }
+        }
 
-        if (mainPackagePath == null) {
+        if (mainPackagePath == null && !autoRegisterPipeline.isIndexed()) {
             try {
                 Method method = CyberAPI.class.getDeclaredMethod("startCyberAPI", Settings.class);
                 CyberAPI.getInstance().getAPILogger().warn("Please specify a main package to speed up CyberAPI start time in " + method.getDeclaringClass().getCanonicalName() + "." + method.getName() + "(" + Settings.class.getCanonicalName() + ")! (registering took " + (System.currentTimeMillis()-timedPackageSearcher) + "ms!)");
-                log.verbose("Needed to scan an unnecessary amount of classes. Scanned " + classes.size() + ", need reduction to lower time.");
+                log.verbose("Needed to scan an unnecessary amount of classes. Scanned " + autoRegisterPipeline.getClassNames().size() + ", need reduction to lower time.");
             } catch (NoSuchMethodException noSuchMethodException) {
                 throw new IllegalStateException("Failed to find a method", noSuchMethodException);
             }
@@ -247,6 +281,7 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
     private final HashMap<String, Config> configs = new HashMap<>();
 
     private List<? extends Class<?>> classes = null;
+    private AutoRegisterPipeline autoRegisterPipeline = null;
 
     private FeatureSupport adventureAPISupport = null;
     private FeatureSupport miniMessageSupport = null;
@@ -316,11 +351,22 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
 
     /**
      * Gets the classes that the plugin (not CyberAPI) has set up. For example, if they include the main package name, this method will return all the classes under that package.
+     * <br> <br>
+     * If the plugin was compiled with {@link net.cybercake.cyberapi.common.server.autoregister.AutoRegisterProcessor}, this will only contain the classes written to the auto-register index (commands and listeners).
      * @return the classes of the plugin, assuming {@link Settings#getMainPackagePath() the main package path} is set
      * @since 98
      */
     public List<? extends Class<?>> getPluginClasses() { return this.classes; }
 
+    /**
+     * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+     * <br> <br>
+     * Gets the pipeline used to find the classes CyberAPI auto-registers, including how long each phase of auto-registration took
+     * @return the {@link AutoRegisterPipeline} used when starting CyberAPI
+     * @since 185
+     */
+    public AutoRegisterPipeline getAutoRegisterPipeline() { return this.autoRegisterPipeline; }
+
     /**
      * Gets the name of the server implementation being used
      * @return the server type, usually looks like 'Spigot' or 'Paper'
@@ -506,7 +552,7 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
     public String getServerUptime() { return getServerUptime(true); }
 
     /**
-     * Gets a new CyberPlayer. Please note: It's better to use {@link CyberPlayer} constructors or static methods instead of this method.
+     * Gets a CyberPlayer, which is the player's session if they are online. Please note: It's better to use {@link CyberPlayer} constructors or static methods instead of this method.
      * @param uuid the unique ID
      * @return the {@link CyberPlayer}
      * @deprecated It's better to use {@link CyberPlayer} constructors or static methods instead of this method.
@@ -514,7 +560,7 @@ public class CyberAPI extends JavaPlugin implements CommonManager {
      */
     @Deprecated
     public CyberPlayer getCyberPlayer(UUID uuid) {
-        return new CyberPlayer(uuid);
+        return CyberPlayer.from(uuid);
     }
 
     /**
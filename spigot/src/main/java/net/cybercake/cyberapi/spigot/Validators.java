@@ -59,15 +59,10 @@ public class Validators {
     /**
      * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
      * <br><br>
-     * Weird code, I know, but checks if a {@link ClassCastException} is not thrown when using {@link Class#asSubclass(Class)}
+     * Checks if {@code clazz} can be assigned to {@code subtype}, the same outcome as {@link Class#asSubclass(Class)} not throwing a {@link ClassCastException}
      */
     public static boolean isSubtype(Class<?> clazz, Class<?> subtype) {
-        try {
-            clazz.asSubclass(subtype);
-            return true;
-        } catch (ClassCastException ignored) { // ignored because it's not needed to determine the outcome
-            return false;
-        }
+        return subtype.isAssignableFrom(clazz);
     }
 
     /**
@@ -10,7 +10,9 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class Broadcast {
 
@@ -32,11 +34,7 @@ public class Broadcast {
      * @see Broadcast#chat(String, Predicate)
      */
     public static void chat(String message, @Nullable String permission) {
-        chat(message, player ->
-                permission == null
-                        || permission.strip().equalsIgnoreCase("")
-                        || player.hasPermission(permission)
-        );
+        chat(message, permissionFilter(permission));
     }
 
     /**
@@ -48,12 +46,7 @@ public class Broadcast {
      * @see Broadcast#chat(String, String)
      */
     public static void chat(String message, @Nullable Predicate<? super CommandSender> filter) {
-        for(Player player : CyberAPI.getInstance().getOnlinePlayers()) {
-            if (filter != null && !filter.test(player)) continue;
-            player.sendMessage(UChat.chat(message));
-        }
-        if (filter == null || filter.test(CyberAPI.getInstance().getServer().getConsoleSender()))
-            Log.info(message);
+        fanOut(filter, () -> UChat.chat(message), Player::sendMessage, message);
     }
 
     /**
@@ -145,11 +138,7 @@ public class Broadcast {
      * @see Broadcast#combined(String, Predicate)
      */
     public static void combined(String message, @Nullable String permission) {
-        combined(message, player ->
-                permission == null
-                        || permission.strip().equalsIgnoreCase("")
-                        || player.hasPermission(permission)
-        );
+        combined(message, permissionFilter(permission));
     }
 
     /**
@@ -162,12 +151,34 @@ public class Broadcast {
      */
     public static void combined(String message, @Nullable Predicate<? super CommandSender> filter) {
         Validators.validateAdventureSupport();
+        fanOut(filter,
+                () -> UChat.fromJsonBungee(GsonComponentSerializer.gson().serialize(UChat.combined(message))),
+                (player, component) -> player.spigot().sendMessage(component),
+                message
+        );
+    }
+
+    /**
+     * Renders the message (at most once, and only if at least one player will receive it) and sends that same rendered message to every
+     * player that passes the filter, then logs it to console if console passes the filter
+     */
+    private static <R> void fanOut(@Nullable Predicate<? super CommandSender> filter, Supplier<R> render, BiConsumer<Player, R> send, String logged) {
+        R rendered = null;
         for(Player player : CyberAPI.getInstance().getOnlinePlayers()) {
             if (filter != null && !filter.test(player)) continue;
-            player.spigot().sendMessage(UChat.fromJsonBungee(GsonComponentSerializer.gson().serialize(UChat.combined(message))));
+            if (rendered == null) rendered = render.get();
+            send.accept(player, rendered);
         }
         if (filter == null || filter.test(CyberAPI.getInstance().getServer().getConsoleSender()))
-            Log.info(message);
+            Log.info(logged);
+    }
+
+    /**
+     * @return the filter for a permission, or null if everyone should see the message (the permission is blank)
+     */
+    private static @Nullable Predicate<CommandSender> permissionFilter(@Nullable String permission) {
+        if (permission == null || permission.isBlank()) return null;
+        return sender -> sender.hasPermission(permission);
     }
 
 }
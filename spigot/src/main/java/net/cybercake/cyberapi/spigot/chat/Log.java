@@ -2,75 +2,121 @@ package net.cybercake.cyberapi.spigot.chat;
 
 import net.cybercake.cyberapi.common.CommonAdapter;
 import net.cybercake.cyberapi.common.builders.settings.FeatureSupport;
+import net.cybercake.cyberapi.common.chat.LogPipeline;
 import net.cybercake.cyberapi.spigot.CyberAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
-import java.util.Arrays;
 import java.util.logging.Level;
 
 public class Log {
 
+    private static final LogPipeline PIPELINE = new LogPipeline(
+            drain -> Bukkit.getScheduler().runTask(CyberAPI.getInstance(), drain), // run task sync because it's just better
+            Log::dispatch
+    );
+
     /**
      * Logs an "[INFO]" message to the console, typically in the default color
      * @param message the message to log
      * @since 1
      */
-    public static void info(String message) { log(Level.INFO, message, Thread.currentThread().getStackTrace()[2]); }
+    public static void info(String message) { log(Level.INFO, message); }
 
     /**
      * Logs a "[WARN]" message to the console, typically in yellow
      * @param message the message to log
      * @since 1
      */
-    public static void warn(String message) { log(Level.WARNING, message, Thread.currentThread().getStackTrace()[2]); }
+    public static void warn(String message) { log(Level.WARNING, message); }
 
     /**
      * Logs an "[ERROR]" message to the console, typically in red, also known as "SEVERE"
      * @param message the message to log
      * @since 1
      */
-    public static void error(String message) { log(Level.SEVERE, message, Thread.currentThread().getStackTrace()[2]); }
+    public static void error(String message) { log(Level.SEVERE, message); }
 
     /**
      * Logs a "[VERBOSE]" message to the console, typically in dark gray or the default color, but only if the verbose option for your plugin is set to true (see {@link CyberAPI#setPluginVerbose(boolean)})
      * @param message the message to send if verbose is enabled
      * @since 99
      */
-    public static void verbose(String message) { verbose(Thread.currentThread().getStackTrace()[2], message); }
+    public static void verbose(String message) {
+        if (CyberAPI.getInstance().isPluginVerbose())
+            verbose(LogPipeline.entry(Level.INFO, message, true, Log.class).getCaller(), message);
+    }
+
+    /**
+     * Log at whatever level you want to the console, the caller is found from the current thread
+     * @param level the level at which to log
+     * @param message the message to log
+     * @since 185
+     * @see Log#log(Level, String, StackTraceElement)
+     */
+    public static void log(Level level, String message) {
+        submit(LogPipeline.entry(level, message, CyberLogEvent.getHandlerList().getRegisteredListeners().length > 0, Log.class)); // only find the caller if a listener could read it
+    }
 
     /**
      * Log at whatever level you want to the console
+     * <br> <br>
+     * Logs can be sent from any thread, and are queued without blocking. Every log that is queued is given out in a single batch on the
+     * next tick, which is when the {@link CyberLogEvent} is called for each of them.
      * @param level the level at which to log
      * @param message the message to log
+     * @param stackTraceElement the caller of the log
      * @since 1
      */
     public static void log(Level level, String message, StackTraceElement stackTraceElement) {
+        submit(LogPipeline.entry(level, message, stackTraceElement));
+    }
+
+    /**
+     * Logs every queued log to the console right away, without calling the {@link CyberLogEvent} for them. CyberAPI does this when the
+     * plugin is disabled, as Bukkit cancels the drain that was scheduled for the next tick.
+     * @since 185
+     */
+    public static void flush() { PIPELINE.flush(Log::logDirectly); }
+
+    private static void submit(LogPipeline.Entry entry) {
         if (
                 CyberAPI.getInstance() == null // make sure CyberAPI is enabled
-                || Arrays.stream(Thread.currentThread().getStackTrace()).anyMatch(element -> element.getMethodName().equalsIgnoreCase("onDisable")) // fix the onDisable glitch where it would not work if being disabled
-                || !CyberAPI.getInstance().isEnabled() // make sure CyberAPI (and the plugin) is enabled!!!!1!
+                || !CyberAPI.getInstance().isEnabled() // make sure CyberAPI (and the plugin) is enabled, which is also false during onDisable
         ) {
-            Bukkit.getLogger().log(level, UChat.chat(Boolean.TRUE == CyberAPI.getInstance().getSettings().shouldShowPrefixInLogs() ? "[" + CyberAPI.getInstance().getPrefix() + "] " : "") + message);
+            flush(); // the queued logs go first so that the order is kept
+            logDirectly(entry);
             return;
         }
         try {
-            Bukkit.getScheduler().runTask(CyberAPI.getInstance(), () -> { // run task sync because it's just better
-                CyberLogEvent logEvent = new CyberLogEvent(stackTraceElement, level, (Boolean.TRUE.equals(CyberAPI.getInstance().getSettings().shouldShowPrefixInLogs()) ? "[" + CyberAPI.getInstance().getPrefix() + "] " : null), message);
-                Bukkit.getPluginManager().callEvent(logEvent);
-                if (logEvent.isCancelled()) return;
-                String realContent = (logEvent.getPrefix() == null ? "" : logEvent.getPrefix()) + logEvent.getMessage();
-                if (CyberAPI.getInstance().getAdventureAPISupport() == FeatureSupport.SUPPORTED && CyberAPI.getInstance().getConsoleAudience() != null) {
-                    CyberAPI.getInstance().getConsoleAudience().sendMessage(UChat.component("LEVEL_" + (javaLevelTo4jLevel(level)) + CommonAdapter.THREE_SEPARATION_CHARACTERS + realContent));
-                    return;
-                }
-                Bukkit.getLogger().log(logEvent.getLevel(), UChat.chat(realContent));
-            });
+            if (!PIPELINE.submit(entry))
+                logDirectly(entry); // the queue is full, so just log it now instead of losing it
         } catch (Exception exception) {
-            throw new IllegalStateException("Error occurred whilst logging in " + Log.class.getCanonicalName() + " (potential caller: " + stackTraceElement + ")", exception);
+            throw new IllegalStateException("Error occurred whilst logging in " + Log.class.getCanonicalName() + " (potential caller: " + entry.getCaller() + ")", exception);
         }
     }
 
+    private static void dispatch(LogPipeline.Entry entry) {
+        if (CyberAPI.getInstance() == null) {
+            logDirectly(entry);
+            return;
+        }
+        CyberLogEvent logEvent = new CyberLogEvent(entry::getCaller, entry.getLevel(), (Boolean.TRUE.equals(CyberAPI.getInstance().getSettings().shouldShowPrefixInLogs()) ? "[" + CyberAPI.getInstance().getPrefix() + "] " : null), entry.getMessage());
+        Bukkit.getPluginManager().callEvent(logEvent);
+        if (logEvent.isCancelled()) return;
+        String realContent = (logEvent.getPrefix() == null ? "" : logEvent.getPrefix()) + logEvent.getMessage();
+        if (CyberAPI.getInstance().getAdventureAPISupport() == FeatureSupport.SUPPORTED && CyberAPI.getInstance().getConsoleAudience() != null) {
+            CyberAPI.getInstance().getConsoleAudience().sendMessage(UChat.component("LEVEL_" + (javaLevelTo4jLevel(logEvent.getLevel())) + CommonAdapter.THREE_SEPARATION_CHARACTERS + realContent));
+            return;
+        }
+        Bukkit.getLogger().log(logEvent.getLevel(), UChat.chat(realContent));
+    }
+
+    private static void logDirectly(LogPipeline.Entry entry) {
+        boolean prefix = CyberAPI.getInstance() != null && Boolean.TRUE.equals(CyberAPI.getInstance().getSettings().shouldShowPrefixInLogs());
+        Bukkit.getLogger().log(entry.getLevel(), UChat.chat(prefix ? "[" + CyberAPI.getInstance().getPrefix() + "] " : "") + entry.getMessage());
+    }
+
     /**
      * <b>internal method only, do not touch!</b>
      */
@@ -1,6 +1,8 @@
 package net.cybercake.cyberapi.spigot.chat;
 
+import net.cybercake.cyberapi.common.chat.ChatSerializers;
 import net.cybercake.cyberapi.common.chat.ColorTranslator;
+import net.cybercake.cyberapi.common.chat.TextMetrics;
 import net.cybercake.cyberapi.spigot.CyberAPI;
 import net.cybercake.cyberapi.spigot.Validators;
 import net.cybercake.cyberapi.spigot.player.CyberPlayer;
@@ -13,13 +15,11 @@ import net.md_5.bungee.chat.ComponentSerializer;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.util.ChatPaginator;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 import java.util.function.Predicate;
 
 @SuppressWarnings({"unused"})
@@ -36,7 +36,7 @@ public class UChat {
      * @since 139
      */
     public static <T, R> R format(ChatFormatType<T, R> formatType, T input) {
-        if (formatType.getReturnType().getCanonicalName().toLowerCase(Locale.ROOT).contains("net.kyori.adventure"))
+        if (formatType.requiresAdventure())
             Validators.validateAdventureSupport();
         return formatType.execute(input);
     }
@@ -248,7 +248,7 @@ public class UChat {
      */
     public static Component miniMessage(boolean strict, String message) {
         Validators.validateMiniMessageSupport();
-        return miniMessage(MiniMessage.builder().strict(strict).build(), message);
+        return miniMessage(ChatSerializers.miniMessage(strict), message);
     }
 
     /**
@@ -274,7 +274,7 @@ public class UChat {
      */
     public static List<Component> listMiniMessage(String... messages) {
         Validators.validateMiniMessageSupport();
-        return listMiniMessage(MiniMessage.builder().build(), messages);
+        return listMiniMessage(ChatSerializers.miniMessage(false), messages);
     }
 
     /**
@@ -288,7 +288,7 @@ public class UChat {
      */
     public static List<Component> listMiniMessage(boolean strict, String... messages) {
         Validators.validateMiniMessageSupport();
-        return listMiniMessage(MiniMessage.builder().strict(strict).build(), messages);
+        return listMiniMessage(ChatSerializers.miniMessage(strict), messages);
     }
 
     /**
@@ -451,14 +451,7 @@ public class UChat {
      * @since 1
      */
     public static String getSeparator(ChatColor color, int characters) {
-        return getSeparator(
-                Arrays.stream(ColorTranslator.values())
-                        .filter(loopColor -> loopColor.getBukkit().equals(color))
-                        .findFirst()
-                        .orElse(null),
-                characters,
-                ChatFormatType.LEGACY
-        );
+        return getSeparator(ColorTranslator.getColorFor(color), characters, ChatFormatType.LEGACY);
     }
 
     /**
@@ -562,19 +555,16 @@ public class UChat {
 
     /**
      * Paginate strings into different lines based on length. This means that strings will be put on a separate item in a
-     * list if the line length does not match.
+     * list if the line length does not match. Lines are measured by the width of their characters, so a line of wide
+     * characters holds fewer characters than a line of thin ones, and colors are carried over onto the next line.
      * @param string the string you want to input, will be split up accordingly
-     * @param length the length of before the string should paginate itself
+     * @param length the length of before the string should paginate itself, in average-width characters
      * @return a list in which every item is a string
-     * @see ChatPaginator
+     * @see TextMetrics#wrap(String, int)
      * @since 1
      */
     public static List<String> paginate(String string, int length) {
-        List<String> pagination = new ArrayList<>();
-        for(String str : ChatPaginator.wordWrap(string, length)) {
-            pagination.add(ChatColor.getLastColors(pagination.size() > 1 ? pagination.get(pagination.size()-1) : "") + chat(str));
-        }
-        return pagination;
+        return TextMetrics.wrap(chat(string), length * TextMetrics.AVERAGE_CHARACTER_WIDTH);
     }
 
     /**
@@ -583,7 +573,7 @@ public class UChat {
      * the end.
      * @param string the string you want to input, will be split up accordingly
      * @return a list in which every item is a string
-     * @see ChatPaginator
+     * @see TextMetrics#wrap(String, int)
      * @since 1
      */
     public static List<String> paginate(String string) {
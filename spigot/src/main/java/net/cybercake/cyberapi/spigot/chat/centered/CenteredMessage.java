@@ -1,5 +1,7 @@
 package net.cybercake.cyberapi.spigot.chat.centered;
 
+import net.cybercake.cyberapi.common.chat.FontMetrics;
+import net.cybercake.cyberapi.common.chat.TextMetrics;
 import net.cybercake.cyberapi.spigot.CyberAPI;
 import net.cybercake.cyberapi.spigot.Validators;
 import net.cybercake.cyberapi.spigot.chat.UChat;
@@ -8,10 +10,12 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
-import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * {@link CenteredMessage} handles message centering, including MOTDs and chat
  * @since 136
@@ -19,6 +23,19 @@ import org.bukkit.entity.Player;
 @SuppressWarnings({"unused"})
 public class CenteredMessage {
 
+    private static final int MAX_CACHED = 512;
+    private static final Map<CacheKey, String> CACHE = new ConcurrentHashMap<>();
+
+    private static volatile int cacheFontVersion = FontMetrics.getVersion();
+
+    private record CacheKey(String message, int length, Method method) { }
+
+    /**
+     * Removes every cached centered message, this is done automatically when the {@link FontMetrics#getActive() active font} changes
+     * @since 185
+     */
+    public static void clearCache() { CACHE.clear(); }
+
     private String message;
     private int length;
 
@@ -105,86 +122,39 @@ public class CenteredMessage {
      * @since 136
      */
     public String getString(Method method) {
+        if (method == null) throw new IllegalArgumentException("Invalid method name, valid methods are 'Method.ONE' and 'Method.TWO'");
+        if (this.message == null || this.message.isEmpty()) return "";
+
+        int fontVersion = FontMetrics.getVersion();
+        if (fontVersion != cacheFontVersion) { // a width changed, so anything cached could be centered wrong
+            clearCache();
+            cacheFontVersion = fontVersion;
+        }
+
+        CacheKey key = new CacheKey(this.message, this.length, method);
+        String centered = CACHE.get(key);
+        if (centered != null) return centered;
+        centered = center(this.message, this.length, method);
+        if (CACHE.size() >= MAX_CACHED) CACHE.clear(); // messages are usually the same few over and over, so this rarely happens
+        CACHE.put(key, centered);
+        return centered;
+    }
+
+    private static String center(String message, int maxLength, Method method) {
         switch(method) {
             // METHOD ONE
             // (TYPICALLY BETTER FOR ANYTHING OTHER THAN CHAT)
             case ONE -> {
-                if (message == null || message.equals("")) { return ""; }
-                char[] chars = message.toCharArray(); // Get a list of all characters in text
-                boolean isBold = false;
-                double length = 0;
-                ChatColor pholder;
-                for (int i = 0; i < chars.length; i++) { // Loop through all characters
-                    // Check if the character is a ColorCode...
-                    if (chars[i] == '&' && chars.length != (i + 1) && (pholder = ChatColor.getByChar(chars[i + 1])) != null) {
-                        if (pholder != ChatColor.UNDERLINE && pholder != ChatColor.ITALIC
-                                && pholder != ChatColor.STRIKETHROUGH && pholder != ChatColor.MAGIC) {
-                            isBold = (chars[i + 1] == 'l'); // Setting bold  to true or false, depending on if the ChatColor is Bold.
-                            length--; // Removing one from the length, of the string, because we don't want to count color codes.
-                            i += isBold ? 1 : 0;
-                        }
-                    } else {
-                        // If the character is not a color code:
-                        length++; // Adding a space
-                        length += (isBold ? (chars[i] != ' ' ? 0.1555555555555556 : 0) : 0); // Adding 0.156 spaces if the character is bold.
-                    }
-                }
-
-                double spaces = (this.length - length) / 2; // Getting the spaces to add by (max line length - length) / 2
-
-                // Adding the spaces
-                StringBuilder builder = new StringBuilder();
-                for (int i = 0; i < spaces; i++) {
-                    builder.append(' ');
-                }
-                String copy = builder.toString();
-                builder.append(message).append(copy);
-
-                return UChat.chat(builder.toString()).stripTrailing();
+                // the length is in characters, so it is turned into the width of its text type in pixels (an MOTD is 60 characters, but 270 pixels)
+                return TextMetrics.center(UChat.chat(message), TextType.widthOf(maxLength)).stripTrailing();
             }
             // METHOD TWO
             // (TYPICALLY BETTER FOR CHAT)
             case TWO -> {
-                if (TextType.CHAT.getLength() != length) CyberAPI.getInstance().getAPILogger().warn("The CenteredMessage method, 'Method.TWO', recommends using it only for Chat Options, as the 'length' is not used in method two!");
-
-                String[] lines = (this.message.contains("\n") ? this.message.split("\n") : new String[]{this.message});
-                StringBuilder centeredLines = new StringBuilder();
-                for(String line : lines) {
-                    if (line == null || line.equals("")) continue;
-                    if (!centeredLines.isEmpty()) centeredLines.append("\n");
-
-                    line = UChat.chat(line);
-
-                    int messagePxSize = 0;
-                    boolean previousCode = false;
-                    boolean isBold = false;
-
-                    for(char c : line.toCharArray()){
-                        if (c == '\u00A7'){
-                            previousCode = true;
-                        }else if (previousCode){
-                            previousCode = false;
-                            isBold = c == 'l' || c == 'L';
-                        }else{
-                            DefaultFontInfo dFI = DefaultFontInfo.getDefaultFontInfo(c);
-                            messagePxSize += isBold ? dFI.getBoldLength() : dFI.getLength();
-                            messagePxSize++;
-                        }
-                    }
-
-                    int halvedMessageSize = messagePxSize / 2;
-                    int toCompensate = this.length - halvedMessageSize;
-                    int spaceLength = DefaultFontInfo.SPACE.getLength() + 1;
-                    int compensated = 0;
-                    StringBuilder sb = new StringBuilder();
-                    while(compensated < toCompensate){
-                        sb.append(" ");
-                        compensated += spaceLength;
-                    }
-                    centeredLines.append(sb).append(line);
-                }
-
-                return UChat.chat(centeredLines.toString()).stripTrailing();
+                if (TextType.CHAT.getLength() != maxLength) CyberAPI.getInstance().getAPILogger().warn("The CenteredMessage method, 'Method.TWO', recommends using it only for Chat Options, as the 'length' is not used in method two!");
+
+                // the length is half of the chat's width in pixels
+                return TextMetrics.center(UChat.chat(message), maxLength * 2).stripTrailing();
             }
         }
         throw new IllegalArgumentException("Invalid method name, valid methods are 'Method.ONE' and 'Method.TWO'");
@@ -1,5 +1,7 @@
 package net.cybercake.cyberapi.spigot.chat.centered;
 
+import net.cybercake.cyberapi.common.chat.TextMetrics;
+
 /**
  * The TextType that will be being used by a {@link CenteredMessage} method.
  * <br>
@@ -17,7 +19,7 @@ public enum TextType {
      * <b>160 characters {@literal <}- default</b>
      * @see TextType#MOTD
      */
-    CHAT(160),
+    CHAT(160, TextMetrics.CHAT_WIDTH),
 
     /**
      * The MOTD Text Type
@@ -27,12 +29,14 @@ public enum TextType {
      * <b>45 characters {@literal <}- default</b>
      * @see TextType#CHAT
      */
-    MOTD(60);
+    MOTD(60, TextMetrics.MOTD_WIDTH);
 
     private final int length;
+    private final int width;
 
-    TextType(int length) {
+    TextType(int length, int width) {
         this.length = length;
+        this.width = width;
     }
 
     /**
@@ -42,4 +46,22 @@ public enum TextType {
     public int getLength() {
         return length;
     }
+
+    /**
+     * Gets the width of a TextType in pixels, which is what messages are actually centered on
+     * @return the {@link TextType} width, in pixels
+     * @since 185
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the width in pixels of the {@link TextType} with that length, or the length measured in average characters if none have it
+     */
+    static int widthOf(int length) {
+        for (TextType type : values())
+            if (type.length == length) return type.width;
+        return length * TextMetrics.AVERAGE_CHARACTER_WIDTH;
+    }
 }
\ No newline at end of file
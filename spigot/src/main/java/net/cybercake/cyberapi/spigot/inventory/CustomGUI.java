@@ -19,6 +19,7 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -67,11 +68,19 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
     final List<GUIConsumer<InventoryOpenEvent>> openEvents = new ArrayList<>();
 
     /**
-     * The list of {@link InventoryClickEvent inventory click events} stored via {@link GUIConsumer the GUI consumer instance}
+     * The list of {@link InventoryClickEvent inventory click events} stored via {@link GUIConsumer the GUI consumer instance}. These
+     * are called no matter which slot was clicked.
      * @since 143
      */
     final List<GUIConsumer<InventoryClickEvent>> clickEvents = new ArrayList<>();
 
+    /**
+     * The {@link InventoryClickEvent inventory click events} bound to a certain slot, indexed by the raw slot. A slot with no
+     * events bound to it is null.
+     * @since 185
+     */
+    final List<GUIConsumer<InventoryClickEvent>>[] slotClickEvents;
+
     /**
      * The list of {@link InventoryCloseEvent inventory close events} stored via {@link GUIConsumer the GUI consumer instance}
      * @since 143
@@ -85,6 +94,22 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
     final Map<Class<? extends Event>, List<GUIErrorHandler<?>>> errorHandlers = new HashMap<>();
 
     final Inventory inventory;
+
+    /**
+     * The {@link GUITemplate} this GUI was created by, which it is returned to once every viewer has closed it
+     * @since 185
+     */
+    @Nullable GUITemplate<?> template;
+
+    /**
+     * The events this GUI had when it was created by its {@link GUITemplate}, which it goes back to when returned to the pool
+     * @since 185
+     */
+    private @Nullable EventSnapshot templateEvents;
+
+    private @Nullable GUIBatch batch;
+    private int batchDepth;
+    private boolean coalescingUpdates;
     //</editor-fold>
 
     //<editor-fold desc="constructors">
@@ -103,6 +128,7 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
      */
     protected CustomGUI(Function<CustomGUI, Inventory> createInventory) {
         this.inventory = createInventory.apply(this);
+        this.slotClickEvents = new List[this.inventory.getSize()];
         setInstance(this); // deprecated to deter usage for normal users -- not actually deprecated/obsolete
     }
 
@@ -220,6 +246,35 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
      */
     public void addClickEvents(List<GUIConsumer<InventoryClickEvent>> events) { this.clickEvents.addAll(events); }
 
+    /**
+     * Adds a click handler to the {@link CustomGUI} that is bound to certain slots. This will only fire when <strong>this</strong> inventory
+     * has one of those slots clicked in it, and unlike {@link CustomGUI#addClickEvent(Consumer)}, it costs nothing when any other slot is clicked.
+     * @param slots the (raw) slots that the handler should fire for
+     * @param event the handler for clicking those slots in this custom menu
+     * @since 185
+     * @see CustomGUI#addClickEvent(Consumer)
+     */
+    public void addClickEvent(int[] slots, Consumer<InventoryClickEvent> event) { bindClickEvent(slots, GUIConsumer.from(event)); }
+
+    @ApiStatus.Internal
+    void bindClickEvent(int[] slots, GUIConsumer<InventoryClickEvent> event) {
+        for (int slot : slots) {
+            if (slot < 0 || slot >= this.slotClickEvents.length) continue;
+            if (this.slotClickEvents[slot] == null) this.slotClickEvents[slot] = new ArrayList<>(2);
+            this.slotClickEvents[slot].add(event);
+        }
+    }
+
+    @ApiStatus.Internal
+    void removeClickEvents(Predicate<GUIConsumer<InventoryClickEvent>> criteria) {
+        this.clickEvents.removeIf(criteria);
+        for (int slot = 0; slot < this.slotClickEvents.length; slot++) {
+            if (this.slotClickEvents[slot] == null) continue;
+            this.slotClickEvents[slot].removeIf(criteria);
+            if (this.slotClickEvents[slot].isEmpty()) this.slotClickEvents[slot] = null;
+        }
+    }
+
     /**
      * Adds a list of close handlers to the {@link CustomGUI}. These will only fire when <strong>this</strong> inventory is closed.
      * @param events the handler for closing this custom menu
@@ -245,7 +300,10 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
      * @see CustomGUI#clearAllOpenEvents()
      * @see CustomGUI#clearAllCloseEvents()
      */
-    public void clearAllClickEvents() { this.clickEvents.clear(); }
+    public void clearAllClickEvents() {
+        this.clickEvents.clear();
+        Arrays.fill(this.slotClickEvents, null);
+    }
 
     /**
      * Clears all added close events. If you used {@link CustomGUI#addCloseEvent(Consumer) addCloseEvent} before, then
@@ -274,6 +332,142 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
         }
     }
 
+    //<editor-fold desc="batched updates">
+    /**
+     * Runs a transaction on this GUI. Any items set, added or cleared inside the transaction are not written to the {@link Inventory}
+     * straight away, instead, they are buffered and written all at once (using {@link Inventory#setContents(ItemStack[])}) when the transaction
+     * ends, so viewers receive one update instead of one for every slot. Writes that would not change a slot are skipped entirely.
+     * <br> <br>
+     * Example: {@code gui.batch(tx -> { tx.set(0, Material.STONE); tx.set(SpecialSlots.BORDERS, Material.GLASS_PANE); });}
+     * @param transaction the updates to make, given this GUI
+     * @since 185
+     * @see CustomGUI#setCoalescingUpdates(boolean)
+     */
+    public void batch(Consumer<CustomGUI> transaction) {
+        if (this.batch == null) this.batch = new GUIBatch(this.inventory);
+        this.batchDepth++;
+        try {
+            transaction.accept(this);
+        } finally {
+            if (--this.batchDepth == 0) flushUpdates();
+        }
+    }
+
+    /**
+     * Sets whether every update made to this GUI should automatically be buffered and written all at once on the next server tick. This is
+     * useful for animated or ticking menus, which would otherwise send an update to every viewer for every slot changed.
+     * <br> <br>
+     * <em>Default Value:</em> {@code false}
+     * @param coalescingUpdates whether updates should be buffered until the next tick
+     * @since 185
+     * @see CustomGUI#batch(Consumer)
+     */
+    public void setCoalescingUpdates(boolean coalescingUpdates) {
+        this.coalescingUpdates = coalescingUpdates;
+        if (!coalescingUpdates && this.batchDepth == 0) flushUpdates();
+    }
+
+    /**
+     * @return whether every update made to this GUI is buffered and written all at once on the next server tick
+     * @since 185
+     * @see CustomGUI#setCoalescingUpdates(boolean)
+     */
+    public boolean isCoalescingUpdates() { return this.coalescingUpdates; }
+
+    /**
+     * Writes any buffered updates to the {@link Inventory} now, instead of waiting for the {@link CustomGUI#batch(Consumer) transaction} to end
+     * or the next tick.
+     * @since 185
+     */
+    public void flushUpdates() {
+        GUIBatch batch = this.batch;
+        if (batch == null) return;
+        this.batch = null;
+        batch.flush();
+    }
+
+    @ApiStatus.Internal
+    private @Nullable GUIBatch currentBatch() {
+        if (this.batch != null) return this.batch;
+        if (this.batchDepth == 0 && !this.coalescingUpdates) return null;
+
+        this.batch = new GUIBatch(this.inventory);
+        if (this.batchDepth == 0) Bukkit.getScheduler().runTask(CyberAPI.getInstance(), this::flushUpdates);
+        return this.batch;
+    }
+
+    @ApiStatus.Internal
+    void setItem(int slot, @Nullable ItemStack item) {
+        GUIBatch batch = currentBatch();
+        if (batch == null) this.inventory.setItem(slot, item);
+        else batch.set(slot, item);
+    }
+
+    @ApiStatus.Internal
+    Map<Integer, ItemStack> addItems(ItemStack... items) {
+        GUIBatch batch = currentBatch();
+        return batch == null ? this.inventory.addItem(items) : batch.add(items);
+    }
+
+    @ApiStatus.Internal
+    Map<Integer, ItemStack> removeItems(ItemStack... items) {
+        GUIBatch batch = currentBatch();
+        return batch == null ? this.inventory.removeItem(items) : batch.remove(items);
+    }
+
+    @ApiStatus.Internal
+    void clearItems() {
+        GUIBatch batch = currentBatch();
+        if (batch == null) this.inventory.clear();
+        else batch.clear();
+    }
+
+    /**
+     * @return a copy of the current contents, including any updates that have not been written yet
+     */
+    @ApiStatus.Internal
+    ItemStack[] copyContents() {
+        ItemStack[] contents = new ItemStack[this.inventory.getSize()];
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = getItemAt(slot);
+            contents[slot] = item == null ? null : item.clone(); // can be a mirror of the live stack
+        }
+        return contents;
+    }
+
+    private record EventSnapshot(List<GUIConsumer<InventoryOpenEvent>> open, List<GUIConsumer<InventoryClickEvent>> click,
+                                 List<GUIConsumer<InventoryClickEvent>>[] slotClick, List<GUIConsumer<InventoryCloseEvent>> close) { }
+
+    /**
+     * Remembers the current events, so that {@link CustomGUI#restoreEvents()} can undo any added while the GUI was being used
+     */
+    @ApiStatus.Internal
+    void snapshotEvents() {
+        List<GUIConsumer<InventoryClickEvent>>[] slotClick = new List[this.slotClickEvents.length];
+        for (int slot = 0; slot < slotClick.length; slot++)
+            slotClick[slot] = this.slotClickEvents[slot] == null ? null : List.copyOf(this.slotClickEvents[slot]);
+        this.templateEvents = new EventSnapshot(List.copyOf(this.openEvents), List.copyOf(this.clickEvents), slotClick, List.copyOf(this.closeEvents));
+    }
+
+    /**
+     * Puts the events back to what they were in {@link CustomGUI#snapshotEvents()}, so the next viewer does not get the handlers added
+     * for the last one
+     */
+    @ApiStatus.Internal
+    void restoreEvents() {
+        EventSnapshot snapshot = this.templateEvents;
+        if (snapshot == null) return;
+        this.openEvents.clear();
+        this.openEvents.addAll(snapshot.open());
+        this.clickEvents.clear();
+        this.clickEvents.addAll(snapshot.click());
+        for (int slot = 0; slot < this.slotClickEvents.length; slot++)
+            this.slotClickEvents[slot] = snapshot.slotClick()[slot] == null ? null : new ArrayList<>(snapshot.slotClick()[slot]);
+        this.closeEvents.clear();
+        this.closeEvents.addAll(snapshot.close());
+    }
+    //</editor-fold>
+
     //<editor-fold desc="special slot return types">
     /**
      * @return all slots in the currently opened menu
@@ -332,6 +526,14 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
      */
     public int[] separator(SpecialSlots.SeparatorVariant variant) { return variant.convert().getSlotsForSize(this.getInventory().getSize()); }
 
+    /**
+     * @param slots the special slots to get the mask of
+     * @return the slots for the currently opened menu as a {@link SlotMask}, which can be combined with other masks
+     * @since 185
+     * @see SpecialSlots#getMaskForSize(int)
+     */
+    public SlotMask mask(SpecialSlots slots) { return slots.getMaskForSize(this.getInventory().getSize()); }
+
     /**
      * @return the {@link Pair} of both {@link net.cybercake.cyberapi.spigot.inventory.SpecialSlots.SeparatorVariant separator variants} along
      *         with the slots in which that specific variant affects
@@ -358,7 +560,7 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
     private <V extends SpecialSlots.SimplifiedGUIEnums> Pair<V, Integer>[] variant(V[] values) {
         List<Pair<V, Integer>> list = new ArrayList<>();
         for(V v : values) {
-            for(int slot : v.convert().getSlotsForSize(this.getInventory().getSize())) {
+            for(int slot : v.convert().slotsForSize(this.getInventory().getSize())) {
                 list.add(new Pair<>(v, slot));
             }
         }
@@ -373,7 +575,7 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
      * @return the {@link ItemStack} at that slot location
      * @since 143
      */
-    public ItemStack getItemAt(int slot) { return this.inventory.getItem(slot); }
+    public ItemStack getItemAt(int slot) { return this.batch == null ? this.inventory.getItem(slot) : this.batch.get(slot); }
 
     /**
      * Gives the ability to find the slots in the custom menu that meet certain criteria in regard to an {@link ItemStack}
@@ -476,10 +678,20 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
             }
         }
 
-        this.clickEvents.stream()
-                .filter(Objects::nonNull)
-                .filter(GUIConsumer::isActive)
-                .forEach(consumer -> consumer.getConsumer().accept(event));
+        dispatch(this.clickEvents, event);
+        int slot = event.getRawSlot();
+        if (slot >= 0 && slot < this.slotClickEvents.length && this.slotClickEvents[slot] != null)
+            dispatch(this.slotClickEvents[slot], event);
+    }
+
+    // indexed so that handlers adding or removing other handlers do not throw a ConcurrentModificationException
+    @ApiStatus.Internal
+    private <E extends Event> void dispatch(List<GUIConsumer<E>> consumers, E event) {
+        for (int i = 0; i < consumers.size(); i++) {
+            GUIConsumer<E> consumer = consumers.get(i);
+            if (consumer == null || !consumer.isActive()) continue;
+            consumer.getConsumer().accept(event);
+        }
     }
 
     /**
@@ -511,6 +723,10 @@ public abstract class CustomGUI extends UpdateGUIAction implements InventoryHold
                 .filter(Objects::nonNull)
                 .filter(GUIConsumer::isActive)
                 .forEach(consumer -> consumer.getConsumer().accept(event));
+
+        // the closing player is still counted as a viewer while this event is being called
+        if (this.template != null && event.getInventory().getViewers().stream().allMatch(viewer -> viewer.equals(player)))
+            this.template.release(this);
     }
     //</editor-fold>
 
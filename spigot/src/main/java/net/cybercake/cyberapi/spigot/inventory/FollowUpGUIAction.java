@@ -7,10 +7,13 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -25,6 +28,11 @@ public abstract class FollowUpGUIAction {
     protected CustomGUI gui;
     protected UpdateGUIAction action;
 
+    /**
+     * The consumers added by this action, so that {@link FollowUpGUIAction#onlyIf(boolean) conditions} only have to look at these
+     */
+    private final List<GUIConsumer<InventoryClickEvent>> consumers = new ArrayList<>();
+
     /**
      * CyberAPI would prefer if you didn't instantiate this class in this way
      */
@@ -115,12 +123,10 @@ public abstract class FollowUpGUIAction {
      * @since 143
      */
     public FollowUpGUIAction onlyIfPlayer(Predicate<Player> predicate) {
-        gui.clickEvents.stream()
-                .filter(consumer -> consumer.getObjectHashCode() != null && consumer.getObjectHashCode() == this.hashCode())
-                .forEach(consumer -> consumer.setConsumer((e) -> {
-                    if (!(e.getWhoClicked() instanceof Player player)) throw new HaltConsumerListException();
-                    if (!predicate.test(player)) throw new HaltConsumerListException();
-                 }));
+        consumers.forEach(consumer -> consumer.setConsumer((e) -> {
+            if (!(e.getWhoClicked() instanceof Player player)) throw new HaltConsumerListException();
+            if (!predicate.test(player)) throw new HaltConsumerListException();
+        }));
         return this;
     }
 
@@ -130,11 +136,9 @@ public abstract class FollowUpGUIAction {
      * @since 143
      */
     public FollowUpGUIAction onlyIfSlot(Predicate<Integer> predicate) {
-        gui.clickEvents.stream()
-                .filter(consumer -> consumer.getObjectHashCode() != null && consumer.getObjectHashCode() == this.hashCode())
-                .forEach(consumer -> consumer.setConsumer((e) -> {
-                    if (!predicate.test(e.getRawSlot())) throw new HaltConsumerListException();
-                }));
+        consumers.forEach(consumer -> consumer.setConsumer((e) -> {
+            if (!predicate.test(e.getRawSlot())) throw new HaltConsumerListException();
+        }));
         return this;
     }
 
@@ -162,9 +166,7 @@ public abstract class FollowUpGUIAction {
      * @since 143
      */
     public FollowUpGUIAction onlyIf(boolean active) {
-        gui.clickEvents.stream()
-                .filter(consumer -> consumer.getObjectHashCode() != null && consumer.getObjectHashCode() == this.hashCode())
-                .forEach(consumer -> consumer.setActive(active));
+        consumers.forEach(consumer -> consumer.setActive(active));
         return this;
     }
 
@@ -181,21 +183,46 @@ public abstract class FollowUpGUIAction {
 
     @ApiStatus.Internal
     private FollowUpGUIAction newConsumerItem(Consumer<InventoryClickEvent> newConsumer) {
-        this.action.instance().addClickEvents(Collections.singletonList(new GUIConsumer<>(getRealEvent(newConsumer), true, this.hashCode(), this)));
+        GUIConsumer<InventoryClickEvent> consumer = new GUIConsumer<>(getRealEvent(newConsumer), true, this.hashCode(), this);
+        this.consumers.add(consumer);
+
+        int[] slots = getSlots();
+        if (slots == null) this.action.instance().addClickEvents(Collections.singletonList(consumer));
+        else this.action.instance().bindClickEvent(slots, consumer);
         return this;
     }
 
     @ApiStatus.Internal
     protected void $clearClickEvents(Predicate<GUIConsumer<InventoryClickEvent>> criteria) {
-        this.action.instance().clickEvents.removeAll(
-                this.action.instance().clickEvents.stream()
-                        .filter(criteria)
-                        .toList()
-        );
+        this.action.instance().removeClickEvents(criteria);
     }
 
+    @ApiStatus.Internal
+    protected void $setItem(int slot, ItemStack item) { this.gui.setItem(slot, item); }
+
+    @ApiStatus.Internal
+    protected Map<Integer, ItemStack> $addItems(ItemStack... items) { return this.gui.addItems(items); }
+
+    @ApiStatus.Internal
+    protected Map<Integer, ItemStack> $removeItems(ItemStack... items) { return this.gui.removeItems(items); }
+
+    @ApiStatus.Internal
+    protected void $clearItems() { this.gui.clearItems(); }
+
+    @ApiStatus.Internal
+    protected ItemStack[] $copyContents() { return this.gui.copyContents(); }
+
     // should be overridden
 
+    /**
+     * Retrieves the slots that this action affected, which is used to only call the consumers when one of those slots is clicked
+     * @return the affected (raw) slots, or null if the consumers should be called no matter which slot is clicked
+     * @since 185
+     * @apiNote an internal method for the most part
+     */
+    @ApiStatus.Internal
+    protected int @Nullable [] getSlots() { return null; }
+
     /**
      * Retrieves the event provided by any classes that override this method.
      * @param event the new consumer that should have conditions or otherwise applied to it
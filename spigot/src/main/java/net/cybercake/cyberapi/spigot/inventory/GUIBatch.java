@@ -0,0 +1,148 @@
+package net.cybercake.cyberapi.spigot.inventory;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * --{@literal >} <b>MAINLY FOR USE INSIDE CYBERAPI ONLY</b> {@literal <}--
+ * <br> <br>
+ * Buffers the slot writes made to a {@link CustomGUI} while it is {@link CustomGUI#batch(java.util.function.Consumer) batching}. Changed
+ * slots are marked in a dirty bitmap, writes that would not change anything are skipped, and everything is written to the
+ * {@link Inventory} at once with {@link Inventory#setContents(ItemStack[])} when the batch is flushed.
+ * @since 185
+ */
+@ApiStatus.Internal
+final class GUIBatch {
+
+    private final Inventory inventory;
+    private final ItemStack[] pending;
+    private final BitSet dirty;
+
+    GUIBatch(Inventory inventory) {
+        this.inventory = inventory;
+        this.pending = new ItemStack[inventory.getSize()];
+        this.dirty = new BitSet(inventory.getSize());
+    }
+
+    @Nullable ItemStack get(int slot) {
+        return dirty.get(slot) ? pending[slot] : inventory.getItem(slot);
+    }
+
+    void set(int slot, @Nullable ItemStack item) {
+        if (slot < 0 || slot >= pending.length) throw new ArrayIndexOutOfBoundsException("Slot " + slot + " is outside of the inventory (size " + pending.length + ")");
+        if (isEmpty(item)) item = null;
+        if (Objects.equals(get(slot), item)) return;
+        pending[slot] = item;
+        dirty.set(slot);
+    }
+
+    void clear() {
+        for (int slot = 0; slot < pending.length; slot++)
+            set(slot, null);
+    }
+
+    // mirrors Inventory#addItem, filling similar stacks first and then empty slots
+    Map<Integer, ItemStack> add(ItemStack... items) {
+        Map<Integer, ItemStack> leftover = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            if (isEmpty(items[i])) continue;
+            ItemStack item = items[i].clone();
+            int maxStackSize = Math.min(item.getMaxStackSize(), inventory.getMaxStackSize());
+
+            while (item.getAmount() > 0) {
+                int partial = firstPartial(item, maxStackSize);
+                if (partial == -1) {
+                    int empty = firstEmpty();
+                    if (empty == -1) {
+                        leftover.put(i, item);
+                        break;
+                    }
+                    ItemStack placed = item.clone();
+                    placed.setAmount(Math.min(item.getAmount(), maxStackSize));
+                    set(empty, placed);
+                    item.setAmount(item.getAmount() - placed.getAmount());
+                    continue;
+                }
+
+                ItemStack existing = Objects.requireNonNull(get(partial)).clone(); // may be a mirror of the live stack
+                int moved = Math.min(item.getAmount(), maxStackSize - existing.getAmount());
+                existing.setAmount(existing.getAmount() + moved);
+                set(partial, existing);
+                item.setAmount(item.getAmount() - moved);
+            }
+        }
+        return leftover;
+    }
+
+    // mirrors Inventory#removeItem, taking from the first similar stacks
+    Map<Integer, ItemStack> remove(ItemStack... items) {
+        Map<Integer, ItemStack> leftover = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            if (isEmpty(items[i])) continue;
+            ItemStack item = items[i].clone();
+
+            while (item.getAmount() > 0) {
+                int similar = firstSimilar(item);
+                if (similar == -1) {
+                    leftover.put(i, item);
+                    break;
+                }
+
+                ItemStack existing = Objects.requireNonNull(get(similar)).clone();
+                int removed = Math.min(item.getAmount(), existing.getAmount());
+                existing.setAmount(existing.getAmount() - removed);
+                set(similar, existing.getAmount() <= 0 ? null : existing);
+                item.setAmount(item.getAmount() - removed);
+            }
+        }
+        return leftover;
+    }
+
+    /**
+     * Writes every changed slot to the inventory at once
+     * @return whether anything was written
+     */
+    boolean flush() {
+        if (dirty.isEmpty()) return false;
+        ItemStack[] contents = inventory.getContents(); // read again, in case something else changed the inventory since the batch started
+        for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1))
+            contents[slot] = pending[slot];
+        inventory.setContents(contents);
+        dirty.clear();
+        return true;
+    }
+
+    private int firstPartial(ItemStack item, int maxStackSize) {
+        for (int slot = 0; slot < pending.length; slot++) {
+            ItemStack existing = get(slot);
+            if (!isEmpty(existing) && existing.getAmount() < maxStackSize && existing.isSimilar(item)) return slot;
+        }
+        return -1;
+    }
+
+    private int firstSimilar(ItemStack item) {
+        for (int slot = 0; slot < pending.length; slot++) {
+            ItemStack existing = get(slot);
+            if (!isEmpty(existing) && existing.isSimilar(item)) return slot;
+        }
+        return -1;
+    }
+
+    private int firstEmpty() {
+        for (int slot = 0; slot < pending.length; slot++)
+            if (isEmpty(get(slot))) return slot;
+        return -1;
+    }
+
+    private static boolean isEmpty(@Nullable ItemStack item) {
+        return item == null || item.getType().isAir() || item.getAmount() <= 0;
+    }
+
+}
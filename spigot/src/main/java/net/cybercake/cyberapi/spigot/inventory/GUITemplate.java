@@ -0,0 +1,138 @@
+package net.cybercake.cyberapi.spigot.inventory;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Represents a reusable {@link CustomGUI} layout. Instead of creating a brand-new {@link CustomGUI} every time a menu is opened (which creates
+ * a new {@link Inventory} and sets every item again), a template builds the static layout once and hands out instances from a pool. When an
+ * instance is opened for a viewer, only the slots that differ from what the viewer should see are written, and once every viewer closes it,
+ * the instance goes back into the pool to be used again.
+ * <br> <br>
+ * Example usage, where {@code ShopGUI} sets all the items and click events that are the same for every player in its constructor:
+ * <pre>{@code
+ * private static final GUITemplate<ShopGUI> SHOP = new GUITemplate<>(ShopGUI::new);
+ * ...
+ * SHOP.open(player, Map.of(49, balanceItemFor(player)));
+ * }</pre>
+ * Since instances are shared between viewers, anything that is different per player should be passed in as the viewer's items, or handled
+ * using the {@link Player} given in {@link CustomGUI#onInventoryClick(org.bukkit.event.inventory.InventoryClickEvent, Player) onInventoryClick}.
+ * Any events added to an instance after it was created (such as a click event for one viewer) are removed when it goes back into the pool.
+ * @param <G> the {@link CustomGUI} that this template creates
+ * @since 185
+ */
+public class GUITemplate<G extends CustomGUI> {
+
+    /**
+     * The default amount of unused instances kept in the pool
+     * @since 185
+     */
+    public static final int DEFAULT_MAX_POOLED = 16;
+
+    private final Supplier<G> factory;
+    private final int maxPooled;
+    private final Deque<G> pool = new ArrayDeque<>();
+    private ItemStack @Nullable [] layout;
+
+    /**
+     * Creates a new template that keeps at most {@link GUITemplate#DEFAULT_MAX_POOLED} unused instances
+     * @param factory creates a new instance of the {@link CustomGUI}, which should set up the layout that is the same for every viewer
+     * @since 185
+     * @see GUITemplate#GUITemplate(Supplier, int)
+     */
+    public GUITemplate(@NotNull Supplier<G> factory) { this(factory, DEFAULT_MAX_POOLED); }
+
+    /**
+     * Creates a new template
+     * @param factory creates a new instance of the {@link CustomGUI}, which should set up the layout that is the same for every viewer
+     * @param maxPooled the maximum amount of unused instances kept in the pool, any instances closed past this amount are thrown away
+     * @since 185
+     * @see GUITemplate#GUITemplate(Supplier)
+     */
+    public GUITemplate(@NotNull Supplier<G> factory, int maxPooled) {
+        Preconditions.checkArgument(maxPooled >= 0, "The maximum pool size cannot be negative");
+        this.factory = factory;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Opens the template for a {@link Player}, with nothing different from the static layout
+     * @param player the player to open the menu for
+     * @return the instance that was opened for the player
+     * @since 185
+     * @see GUITemplate#open(Player, Map)
+     */
+    public G open(@NotNull Player player) { return open(player, Map.of()); }
+
+    /**
+     * Opens the template for a {@link Player}, with some slots being different from the static layout. Only the slots that are
+     * different from what is currently in the (pooled) instance will be written.
+     * @param player the player to open the menu for
+     * @param viewerItems the items that are specific to this player, the key being the slot and the value being the {@link ItemStack item}
+     *                    (or null for an empty slot)
+     * @return the instance that was opened for the player
+     * @since 185
+     */
+    public G open(@NotNull Player player, @NotNull Map<Integer, ItemStack> viewerItems) {
+        G gui = borrow();
+        apply(gui, viewerItems);
+        gui.open(player);
+        return gui;
+    }
+
+    /**
+     * @return the amount of unused instances currently in the pool
+     * @since 185
+     */
+    public int getPooledCount() { return this.pool.size(); }
+
+    /**
+     * Removes every unused instance from the pool. The static layout will be taken again from the next instance created.
+     * @since 185
+     */
+    public void clearPool() {
+        this.pool.clear();
+        this.layout = null;
+    }
+
+    private G borrow() {
+        G gui = this.pool.poll();
+        if (gui != null) return gui;
+
+        gui = this.factory.get();
+        gui.template = this;
+        gui.snapshotEvents();
+        if (this.layout == null) this.layout = gui.copyContents();
+        return gui;
+    }
+
+    // the batch skips every slot that already has the wanted item, and writes the rest at once
+    private void apply(CustomGUI gui, Map<Integer, ItemStack> viewerItems) {
+        ItemStack[] layout = Objects.requireNonNull(this.layout);
+        int size = gui.getInventory().getSize();
+        gui.batch(tx -> {
+            for (int slot = 0; slot < size; slot++)
+                tx.setItem(slot, viewerItems.containsKey(slot) ? viewerItems.get(slot) : (slot < layout.length ? layout[slot] : null));
+        });
+    }
+
+    @ApiStatus.Internal
+    @SuppressWarnings("unchecked")
+    void release(CustomGUI gui) {
+        if (this.pool.size() >= this.maxPooled || this.pool.contains(gui)) return;
+        gui.restoreEvents();
+        this.pool.push((G) gui);
+    }
+
+}
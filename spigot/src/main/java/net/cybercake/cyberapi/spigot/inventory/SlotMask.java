@@ -0,0 +1,147 @@
+package net.cybercake.cyberapi.spigot.inventory;
+
+import com.google.common.base.Preconditions;
+
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+/**
+ * Represents an immutable set of GUI slots. Since no inventory has more than {@value SlotMask#MAX_SLOTS} slots, the whole
+ * set is stored in a single {@code long}, where each bit is one slot. This makes {@link SlotMask#union(SlotMask) union},
+ * {@link SlotMask#intersection(SlotMask) intersection} and {@link SlotMask#minus(SlotMask) minus} a single bitwise operation.
+ * <br> <br>
+ * The layouts from {@link SpecialSlots} are available as masks using {@link SpecialSlots#getMaskForSize(int)}. For example, to get
+ * every border slot except the corners: {@code SpecialSlots.BORDERS.getMaskForSize(54).minus(SpecialSlots.CORNERS.getMaskForSize(54))}
+ * @since 185
+ */
+public final class SlotMask {
+
+    /**
+     * The maximum amount of slots that a mask can hold, slots must be between {@code 0} and {@code MAX_SLOTS - 1}
+     * @since 185
+     */
+    public static final int MAX_SLOTS = Long.SIZE;
+
+    /**
+     * A mask with no slots
+     * @since 185
+     */
+    public static final SlotMask EMPTY = new SlotMask(0L);
+
+    /**
+     * Creates a mask from slots
+     * @param slots the slots to include in the mask
+     * @return the new mask
+     * @throws IllegalArgumentException if any slot is negative or not less than {@link SlotMask#MAX_SLOTS}
+     * @since 185
+     */
+    public static SlotMask of(int... slots) {
+        long bits = 0L;
+        for (int slot : slots) {
+            Preconditions.checkArgument(slot >= 0 && slot < MAX_SLOTS, "Slot must be between 0 and " + (MAX_SLOTS - 1) + ", got " + slot);
+            bits |= 1L << slot;
+        }
+        return fromBits(bits);
+    }
+
+    /**
+     * Creates a mask from its raw bits, where bit {@code n} being set means slot {@code n} is in the mask
+     * @param bits the raw bits
+     * @return the new mask
+     * @since 185
+     * @see SlotMask#bits()
+     */
+    public static SlotMask fromBits(long bits) {
+        return bits == 0L ? EMPTY : new SlotMask(bits);
+    }
+
+    private final long bits;
+
+    private SlotMask(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * @param other the other mask
+     * @return a mask with the slots in <strong>either</strong> this mask or the other mask
+     * @since 185
+     */
+    public SlotMask union(SlotMask other) { return fromBits(this.bits | other.bits); }
+
+    /**
+     * @param other the other mask
+     * @return a mask with only the slots in <strong>both</strong> this mask and the other mask
+     * @since 185
+     */
+    public SlotMask intersection(SlotMask other) { return fromBits(this.bits & other.bits); }
+
+    /**
+     * @param other the other mask
+     * @return a mask with the slots in this mask that are <strong>not</strong> in the other mask
+     * @since 185
+     */
+    public SlotMask minus(SlotMask other) { return fromBits(this.bits & ~other.bits); }
+
+    /**
+     * @param slot the slot to check
+     * @return whether the slot is in this mask
+     * @since 185
+     */
+    public boolean contains(int slot) { return slot >= 0 && slot < MAX_SLOTS && (this.bits & (1L << slot)) != 0L; }
+
+    /**
+     * @return the amount of slots in this mask
+     * @since 185
+     */
+    public int size() { return Long.bitCount(this.bits); }
+
+    /**
+     * @return whether this mask has no slots
+     * @since 185
+     */
+    public boolean isEmpty() { return this.bits == 0L; }
+
+    /**
+     * @return the raw bits of this mask, where bit {@code n} being set means slot {@code n} is in the mask
+     * @since 185
+     * @see SlotMask#fromBits(long)
+     */
+    public long bits() { return this.bits; }
+
+    /**
+     * @return the slots in this mask, in ascending order
+     * @since 185
+     */
+    public int[] toArray() {
+        int[] slots = new int[size()];
+        long remaining = this.bits;
+        for (int i = 0; remaining != 0L; i++) {
+            slots[i] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1; // clear the lowest set bit
+        }
+        return slots;
+    }
+
+    /**
+     * @return the slots in this mask, in ascending order
+     * @since 185
+     */
+    public IntStream stream() { return IntStream.of(toArray()); }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof SlotMask other && other.bits == this.bits;
+    }
+
+    @Override
+    public int hashCode() { return Long.hashCode(this.bits); }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "SlotMask[", "]");
+        for (int slot : toArray())
+            joiner.add(String.valueOf(slot));
+        return joiner.toString();
+    }
+
+}
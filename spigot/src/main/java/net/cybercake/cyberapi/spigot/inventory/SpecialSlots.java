@@ -1,5 +1,6 @@
 package net.cybercake.cyberapi.spigot.inventory;
 
+import com.google.common.base.Preconditions;
 import net.cybercake.cyberapi.common.basic.NumberUtils;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -146,10 +147,34 @@ public enum SpecialSlots {
         else return getIndicesFromRow((int) Math.ceil((double) rows / 2)); // odd
     });
 
+    /**
+     * The largest GUI size that has its layout precomputed, which is a six-row chest (and every
+     * {@link org.bukkit.event.inventory.InventoryType inventory type} is smaller than that)
+     * @since 185
+     */
+    public static final int MAX_PRECOMPUTED_SIZE = 54;
+
     private final Function<Integer, int[]> slots;
+    private final int[][] layouts;
+    private final SlotMask[] masks;
 
     SpecialSlots(Function<Integer, int[]> slots) {
         this.slots = slots;
+
+        // every legal size is computed once here, instead of every time a menu is rendered
+        this.layouts = new int[MAX_PRECOMPUTED_SIZE + 1][];
+        this.masks = new SlotMask[MAX_PRECOMPUTED_SIZE + 1];
+        for (int size = 0; size <= MAX_PRECOMPUTED_SIZE; size++) {
+            this.layouts[size] = slots.apply(size);
+            this.masks[size] = toMask(this.layouts[size]);
+        }
+    }
+
+    private static SlotMask toMask(int[] slots) {
+        long bits = 0L;
+        for (int slot : slots)
+            if (slot >= 0 && slot < SlotMask.MAX_SLOTS) bits |= 1L << slot;
+        return SlotMask.fromBits(bits);
     }
 
     /**
@@ -160,7 +185,41 @@ public enum SpecialSlots {
      * @return the requested speciality array of slots
      * @since 143
      */
-    public int[] getSlotsForSize(int guiSize) { return this.slots.apply(guiSize); }
+    public int[] getSlotsForSize(int guiSize) { return slotsForSize(guiSize).clone(); }
+
+    /**
+     * Gets the special slots, without copying the precomputed array, so it must <strong>not</strong> be modified
+     */
+    @ApiStatus.Internal
+    int[] slotsForSize(int guiSize) {
+        if (guiSize >= 0 && guiSize <= MAX_PRECOMPUTED_SIZE) return this.layouts[guiSize];
+        return this.slots.apply(guiSize);
+    }
+
+    /**
+     * Gets the special slots as a {@link SlotMask} as a function of the size of the GUI. Masks for every
+     * size up to {@link SpecialSlots#MAX_PRECOMPUTED_SIZE} are precomputed, so this does not allocate anything,
+     * and masks can be combined with {@link SlotMask#union(SlotMask)}, {@link SlotMask#intersection(SlotMask)}
+     * and {@link SlotMask#minus(SlotMask)}.
+     * @param guiSize the size of the GUI (the amount of slots)
+     * @return the requested speciality slots as a mask
+     * @throws IllegalArgumentException if the size is larger than {@link SlotMask#MAX_SLOTS}
+     * @since 185
+     */
+    public SlotMask getMaskForSize(int guiSize) {
+        if (guiSize >= 0 && guiSize <= MAX_PRECOMPUTED_SIZE) return this.masks[guiSize];
+        Preconditions.checkArgument(guiSize <= SlotMask.MAX_SLOTS, "GUI size must be at most " + SlotMask.MAX_SLOTS + " to be used as a mask, got " + guiSize);
+        return toMask(this.slots.apply(guiSize));
+    }
+
+    /**
+     * Gets the special slots as a {@link SlotMask} as a function of the amount of rows of the GUI.
+     * @param guiRows the amount of rows in the GUI
+     * @return the requested speciality slots as a mask
+     * @since 185
+     * @see SpecialSlots#getMaskForSize(int)
+     */
+    public SlotMask getMaskForRows(int guiRows) { return this.getMaskForSize(guiRows * 9); }
 
     /**
      * Gets the special slots as a function of the amount of rows of the GUI. For example,
@@ -15,6 +15,9 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.cybercake.cyberapi.spigot.items.ItemCreator.getItemFrom;
 
@@ -25,8 +28,13 @@ import static net.cybercake.cyberapi.spigot.items.ItemCreator.getItemFrom;
 public abstract class UpdateGUIAction {
 
 
+    private static final Map<Class<?>, NamespacedKey> SPECIALITY_KEYS = new ConcurrentHashMap<>();
+    private static final int MAX_TAGGED_ITEMS = 256;
+
     private CustomGUI gui = null;
     private Inventory inventory;
+    private boolean taggingItems = true;
+    private final Map<TaggedItemKey, TaggedItem> taggedItems = new HashMap<>();
 
     /**
      * Do <strong>NOT</strong> use this method, it will likely throw an {@link IllegalStateException} for you any time you use it anyway.
@@ -62,19 +70,76 @@ public abstract class UpdateGUIAction {
      */
     public ItemStack[] convert(Material[] materials) { return Arrays.stream(materials).map(ItemCreator::getItemFrom).toArray(ItemStack[]::new); }
 
+    /**
+     * Sets whether items placed using {@link UpdateGUIAction#set(int[], ItemStack) set} are tagged with the slots they were placed in, stored in
+     * their {@link org.bukkit.persistence.PersistentDataContainer persistent data container} under a key named after this GUI's class. If your
+     * GUI never reads this tag, disabling it means items are placed as-is, without copying them or rebuilding their meta.
+     * <br> <br>
+     * <em>Default Value:</em> {@code true}
+     * @param taggingItems whether placed items should be tagged
+     * @since 185
+     */
+    public void setTaggingItems(boolean taggingItems) {
+        this.taggingItems = taggingItems;
+        this.taggedItems.clear();
+    }
+
+    /**
+     * @return whether items placed using {@link UpdateGUIAction#set(int[], ItemStack) set} are tagged with the slots they were placed in
+     * @since 185
+     * @see UpdateGUIAction#setTaggingItems(boolean)
+     */
+    public boolean isTaggingItems() { return this.taggingItems; }
+
+    /**
+     * Gets the key that items placed in a certain GUI are tagged with
+     * @param gui the class of the GUI
+     * @return the key, which is only created once per class
+     * @since 185
+     */
+    @ApiStatus.Internal
+    public static NamespacedKey getSpecialityKey(Class<?> gui) {
+        return SPECIALITY_KEYS.computeIfAbsent(gui, clazz -> new NamespacedKey(CyberAPI.getInstance(),
+                (clazz.getCanonicalName() == null ? clazz.getName() : clazz.getCanonicalName()).replace('$', '.') // anonymous classes have no canonical name
+        ));
+    }
+
     @ApiStatus.Internal
     ItemStack addSpecialityDataTo(int[] slots, @NotNull ItemStack old) {
+        if (!this.taggingItems) return old;
+
+        // placing the same item in the same slots again (such as when re-rendering) reuses the item that was already tagged
+        TaggedItemKey key = new TaggedItemKey(old, slots);
+        TaggedItem cached = this.taggedItems.get(key);
+        if (cached != null && cached.original().equals(old)) return cached.tagged();
+
         ItemStack newItem = old.clone();
         ItemMeta meta = newItem.getItemMeta();
         if (meta == null) return newItem;
-        meta.getPersistentDataContainer().set(new NamespacedKey(CyberAPI.getInstance(), instance().getClass().getCanonicalName()),
+        meta.getPersistentDataContainer().set(getSpecialityKey(instance().getClass()),
                 PersistentDataType.INTEGER_ARRAY,
                 slots
                 );
         newItem.setItemMeta(meta);
+
+        if (this.taggedItems.size() >= MAX_TAGGED_ITEMS) this.taggedItems.clear();
+        this.taggedItems.put(new TaggedItemKey(old, slots.clone()), new TaggedItem(old.clone(), newItem));
         return newItem;
     }
 
+    // the item is compared by identity, and the original is kept to notice if the item was changed after it was placed
+    private record TaggedItemKey(ItemStack item, int[] slots) {
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof TaggedItemKey other && other.item == this.item && Arrays.equals(other.slots, this.slots);
+        }
+
+        @Override
+        public int hashCode() { return 31 * System.identityHashCode(this.item) + Arrays.hashCode(this.slots); }
+    }
+
+    private record TaggedItem(ItemStack original, ItemStack tagged) { }
+
     /**
      * Sets an item in the custom inventory at certain indices (slots) to an {@link ItemStack}
      * @param indices the indices (slots) to set the {@link ItemStack} in the current inventory to
@@ -123,7 +188,7 @@ public abstract class UpdateGUIAction {
      * @since 143
      * @see UpdateGUIAction#set(SpecialSlots, Material)
      */
-    public FollowUpGUIAction set(SpecialSlots specialSlot, ItemStack item) { return set(specialSlot.getSlotsForSize(this.inventory.getSize()), item); }
+    public FollowUpGUIAction set(SpecialSlots specialSlot, ItemStack item) { return set(specialSlot.slotsForSize(this.inventory.getSize()), item); }
 
     /**
      * Sets an item in the custom inventory, using a {@link SpecialSlots} instance, to a {@link Material}
@@ -134,6 +199,24 @@ public abstract class UpdateGUIAction {
      */
     public FollowUpGUIAction set(SpecialSlots specialSlot, Material material) { return set(specialSlot, convert(material)); }
 
+    /**
+     * Sets an item in the custom inventory, using a {@link SlotMask}, to an {@link ItemStack}
+     * @param mask the slots that the item stack should apply to
+     * @param item the item to set
+     * @since 185
+     * @see UpdateGUIAction#set(SlotMask, Material)
+     */
+    public FollowUpGUIAction set(SlotMask mask, ItemStack item) { return set(mask.toArray(), item); }
+
+    /**
+     * Sets an item in the custom inventory, using a {@link SlotMask}, to a {@link Material}
+     * @param mask the slots that the material should apply to
+     * @param material the material to set
+     * @since 185
+     * @see UpdateGUIAction#set(SlotMask, ItemStack)
+     */
+    public FollowUpGUIAction set(SlotMask mask, Material material) { return set(mask, convert(material)); }
+
     /**
      * Adds an item to the custom inventory. This will add the item to the next available slot in the inventory starting at slot 0.
      * @param items the item (or items) to add to the custom GUI
@@ -8,6 +8,7 @@ import org.bukkit.inventory.ItemStack;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -29,18 +30,26 @@ public class AddGUIAction extends FollowUpGUIAction implements ItemAdder {
     public AddGUIAction(UpdateGUIAction action, ItemStack... items) {
         super(action);
 
-        this.map = new HashMap<>(this.gui.getInventory().addItem(items));
+        // Inventory#addItem only returns the items that did *not* fit, so compare the contents to find where they actually went
+        ItemStack[] before = $copyContents();
+        $addItems(items);
+        ItemStack[] after = $copyContents();
+
+        this.map = new HashMap<>();
+        for (int slot = 0; slot < after.length; slot++) {
+            if (Objects.equals(before[slot], after[slot])) continue;
+            this.map.put(slot, after[slot]);
+        }
     }
 
     @Override
     protected Consumer<InventoryClickEvent> getRealEvent(Consumer<InventoryClickEvent> event) {
-        return (e) -> {
-            int clickedItem = e.getSlot();
-            if (map.keySet().stream().noneMatch(slot -> clickedItem == slot)) return;
-            event.accept(e);
-        };
+        return event; // only ever called for the added slots, since they are bound to those slots in getSlots()
     }
 
+    @Override
+    protected int[] getSlots() { return this.map.keySet().stream().mapToInt(Integer::intValue).toArray(); }
+
     @Override
     public Map<Integer, ItemStack> getAddedItems() { return this.map; }
 
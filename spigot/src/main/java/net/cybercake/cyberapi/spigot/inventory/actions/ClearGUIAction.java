@@ -34,12 +34,12 @@ public class ClearGUIAction extends FollowUpGUIAction implements ItemRemover {
 
         if (items == null) { // CLEARS EVERYTHING
             this.map = new HashMap<>(this.gui.getContents()); // literally removing everything so just put this lol
-            this.gui.getInventory().clear();
+            $clearItems();
             $clearClickEvents((consumer) -> true);
             return;
         }
 
-        this.map = new HashMap<>(this.gui.getInventory().removeItem(items));
+        this.map = new HashMap<>($removeItems(items));
         $clearClickEvents((consumer) ->
                 consumer.getExtraInformation() instanceof FollowUpGUIAction followUp && followUp instanceof ItemAdder
         );
@@ -6,7 +6,6 @@ import net.cybercake.cyberapi.spigot.inventory.actions.modifiers.ItemAdder;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Arrays;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -35,18 +34,18 @@ public class SetGUIAction extends FollowUpGUIAction implements ItemAdder {
         this.indices = indices;
         this.item = item;
 
-        Arrays.stream(indices).forEach(integer -> this.inventory.setItem(integer, item));
+        for (int index : indices)
+            $setItem(index, item);
     }
 
     @Override
     public Consumer<InventoryClickEvent> getRealEvent(Consumer<InventoryClickEvent> event) {
-        return (e) -> {
-            int clickedItem = e.getSlot();
-            if (Arrays.stream(indices).noneMatch(integer -> integer == clickedItem)) return;
-            event.accept(e);
-        };
+        return event; // only ever called for the indices, since they are bound to those slots in getSlots()
     }
 
+    @Override
+    protected int[] getSlots() { return this.indices; }
+
     @Override
     public Map<Integer, ItemStack> getAddedItems() { return IntStream.of(indices).boxed().collect(Collectors.toMap((index) -> index, (index) -> item)); }
 
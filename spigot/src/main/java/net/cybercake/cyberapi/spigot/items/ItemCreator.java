@@ -1,5 +1,6 @@
 package net.cybercake.cyberapi.spigot.items;
 
+import net.cybercake.cyberapi.common.chat.TextMetrics;
 import net.cybercake.cyberapi.spigot.chat.UChat;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Color;
@@ -400,6 +401,47 @@ public class ItemCreator {
             return lore(lore);
         }
 
+        /**
+         * Sets the lore of the item to some text, split into as many lines as needed so that no line is wider than
+         * {@link TextMetrics#LORE_WIDTH}. Any colors are carried over onto the next line.
+         * @param lore the lore to add to the item, which can also contain new lines
+         * @since 185
+         * @see ItemBuilder#wrappedLore(String, int)
+         */
+        public ItemBuilder wrappedLore(String lore) {
+            return wrappedLore(lore, TextMetrics.LORE_WIDTH);
+        }
+
+        /**
+         * Sets the lore of the item to some text, split into as many lines as needed so that no line is wider than a width. Any colors are
+         * carried over onto the next line.
+         * @param lore the lore to add to the item, which can also contain new lines
+         * @param maxWidth the widest a line of the lore can be, in pixels
+         * @since 185
+         * @see TextMetrics#wrap(String, int)
+         */
+        public ItemBuilder wrappedLore(String lore, int maxWidth) {
+            this.meta.setLore(TextMetrics.wrap(formatString(lore), maxWidth)); return this; // formatted first, so only visible text is measured
+        }
+
+        /**
+         * Adds some text to the end of the lore of the item, split into as many lines as needed so that no line is wider than a width. Any
+         * colors are carried over onto the next line.
+         * @param line the text to add to the lore, which can also contain new lines
+         * @param maxWidth the widest a line of the lore can be, in pixels
+         * @since 185
+         * @see TextMetrics#wrap(String, int)
+         */
+        public ItemBuilder addWrappedLore(String line, int maxWidth) {
+            if (line == null) return this;
+
+            List<String> lore = this.meta.getLore();
+            if (lore == null) return wrappedLore(line, maxWidth);
+
+            lore.addAll(TextMetrics.wrap(formatString(line), maxWidth));
+            this.meta.setLore(lore); return this;
+        }
+
         /**
          * @param flags the {@link ItemFlag}s to apply to the item
          * @since 90
@@ -1,14 +1,25 @@
 package net.cybercake.cyberapi.spigot.server;
 
+import net.cybercake.cyberapi.common.basic.logs.Logs;
+import net.cybercake.cyberapi.common.player.ProfileCache;
+import net.cybercake.cyberapi.common.player.ProfileDirectory;
+import net.cybercake.cyberapi.common.server.cooldowns.CooldownStore;
 import net.cybercake.cyberapi.spigot.CyberAPI;
+import net.cybercake.cyberapi.spigot.chat.Log;
+import net.cybercake.cyberapi.spigot.player.CyberPlayer;
 import net.cybercake.cyberapi.spigot.server.commands.CommandManager;
+import net.cybercake.cyberapi.spigot.server.commands.cooldown.ActiveCooldown;
 import org.bukkit.Bukkit;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.TabCompleteEvent;
 
 import java.util.ArrayList;
@@ -64,4 +75,26 @@ public class CyberAPIListeners implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.LOWEST) // before anyone else, so their listeners already get the player's session
+    public void onPlayerJoinEvent(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        CyberPlayer.openSession(player);
+        ProfileCache.put(player.getUniqueId(), player.getName()); // also records them in the profile directory, if it is enabled
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR) // after anyone else, so their listeners can still use the player's session
+    public void onPlayerQuitEvent(PlayerQuitEvent event) {
+        CyberPlayer.closeSession(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisableEvent(PluginDisableEvent event) {
+        if (!event.getPlugin().equals(CyberAPI.getInstance())) return;
+        Log.flush(); // the drain scheduled for the next tick is cancelled along with the plugin's other tasks
+        ActiveCooldown.disablePersistence(); // waits for any cooldowns still being written
+        CooldownStore.shutdown();
+        ProfileDirectory.disable();
+        Logs.closeAll(); // writes anything still buffered
+    }
+
 }
@@ -2,8 +2,8 @@ package net.cybercake.cyberapi.spigot.server.commands;
 
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.server.autoregister.AutoRegisterPipeline;
 import net.cybercake.cyberapi.spigot.CyberAPI;
-import net.cybercake.cyberapi.spigot.Validators;
 import net.cybercake.cyberapi.spigot.chat.UChat;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -40,16 +40,22 @@ public class CommandManager {
     public void init(String path) {
         try {
             long mss = System.currentTimeMillis();
-            for(Class<?> clazz : CyberAPI.getInstance().getPluginClasses()) {
-                if (!(Validators.isSubtype(clazz, SpigotCommand.class))) continue;
-
-                SpigotCommand command = (SpigotCommand) clazz.getDeclaredConstructors()[0].newInstance();
+            AutoRegisterPipeline pipeline = CyberAPI.getInstance().getAutoRegisterPipeline();
+            for(Class<? extends SpigotCommand> clazz : pipeline.getMatches(SpigotCommand.class)) {
+                if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
+
+                SpigotCommand command = pipeline.time(AutoRegisterPipeline.Phase.INSTANTIATE, () -> {
+                    try {
+                        return (SpigotCommand) clazz.getDeclaredConstructors()[0].newInstance();
+                    } catch (ReflectiveOperationException exception) {
+                        throw new IllegalStateException("Command failed to load: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), exception);
+                    }
+                });
                 try {
                     for(CommandInformation information : command.getCommands()) {
                         if (!information.shouldAutoRegister()) continue;
-                        if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
                         autoRegisteredCommands++;
-                        resolveInformationAndRegister(command, information);
+                        pipeline.time(AutoRegisterPipeline.Phase.REGISTER, () -> resolveInformationAndRegister(command, information));
                         CyberAPI.getInstance().getAPILogger().verbose("Registered command automatically: " + clazz.getCanonicalName() + " -> /" + command.getMainCommand().getName() + " (with aliases: " + String.join(", ", Arrays.stream(information.getAliases()).map(alias -> "/" + alias).toArray(String[]::new)) + ")");
                     }
                 } catch (Exception exception) {
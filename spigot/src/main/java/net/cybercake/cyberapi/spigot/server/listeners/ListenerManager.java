@@ -1,8 +1,8 @@
 package net.cybercake.cyberapi.spigot.server.listeners;
 
 import net.cybercake.cyberapi.common.builders.settings.Settings;
+import net.cybercake.cyberapi.common.server.autoregister.AutoRegisterPipeline;
 import net.cybercake.cyberapi.spigot.CyberAPI;
-import net.cybercake.cyberapi.spigot.Validators;
 import org.bukkit.event.Listener;
 
 import java.lang.reflect.InvocationTargetException;
@@ -26,20 +26,23 @@ public class ListenerManager {
     public void init(String path) {
         try {
             long mss = System.currentTimeMillis();
-            for(Class<?> clazz : CyberAPI.getInstance().getPluginClasses()) {
-                if (!(Validators.isSubtype(clazz, SpigotListener.class))) continue;
-                Listener listener;
+            AutoRegisterPipeline pipeline = CyberAPI.getInstance().getAutoRegisterPipeline();
+            for(Class<? extends SpigotListener> clazz : pipeline.getMatches(SpigotListener.class)) {
+                if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
+                Listener listener = pipeline.time(AutoRegisterPipeline.Phase.INSTANTIATE, () -> {
+                    try {
+                        return (Listener) clazz.getDeclaredConstructors()[0].newInstance();
+                    } catch (InvocationTargetException invocationTargetException) {
+                        if (CyberAPI.getInstance().getDescription().getMain().startsWith(clazz.getPackageName()))
+                            return (Listener) CyberAPI.getInstance();
+                        throw new IllegalStateException("Listener failed to load: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), invocationTargetException);
+                    } catch (ReflectiveOperationException exception) {
+                        throw new IllegalStateException("Listener failed to load: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), exception);
+                    }
+                });
                 try {
-                    listener = (Listener) clazz.getDeclaredConstructors()[0].newInstance();
-                } catch (InvocationTargetException invocationTargetException) {
-                    if (CyberAPI.getInstance().getDescription().getMain().startsWith(clazz.getPackageName()))
-                        listener = (Listener) CyberAPI.getInstance();
-                    else throw new IllegalStateException("Listener failed to load: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), invocationTargetException);
-                }
-                try {
-                    if (CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses() != null && Arrays.asList(CyberAPI.getInstance().getSettings().getDisabledAutoRegisteredClasses()).contains(clazz)) continue;
                     autoRegisteredListeners++;
-                    CyberAPI.getInstance().registerListener(listener);
+                    pipeline.time(AutoRegisterPipeline.Phase.REGISTER, () -> CyberAPI.getInstance().registerListener(listener));
                     CyberAPI.getInstance().getAPILogger().verbose("Registered listener automatically: " + clazz.getCanonicalName());
                 } catch (Exception exception) {
                     throw new IllegalStateException("Listener failed to register automatically: " + clazz.getCanonicalName() + " - " + clazz.getDeclaredConstructors()[0].getName(), exception);
@@ -1,15 +1,13 @@
 package net.cybercake.cyberapi.spigot.server.serverlist.motd;
 
+import net.cybercake.cyberapi.common.chat.TextMetrics;
 import net.cybercake.cyberapi.spigot.chat.UChat;
-import net.cybercake.cyberapi.spigot.chat.centered.CenteredMessage;
 import net.cybercake.cyberapi.spigot.server.ServerProperties;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 import javax.annotation.Nullable;
 import java.io.File;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @since 9
@@ -243,23 +241,18 @@ public class MOTD {
      * @since 10
      */
     public String getFormattedMOTD() {
-        boolean centered = isCentered();
         String text = getStringMOTD();
 
-        if (centered) {
-            List<String> newMOTD = new ArrayList<>();
-            for(String str : text.split("\\n"))
-                newMOTD.add(new CenteredMessage(str, 45).getString());
-            text = String.join("\n", newMOTD);
-        }
-
-        return switch(this.getMOTDTextFormatter()) {
+        String formatted = switch(this.getMOTDTextFormatter()) {
             case LEGACY -> UChat.chat(text);
             case MINIMESSAGE ->
                     LegacyComponentSerializer.builder().useUnusualXRepeatedCharacterHexFormat().hexColors().build()
                             .serialize(UChat.miniMessage(text));
             default -> text;
         };
+
+        // centered after formatting, so that MiniMessage tags are not measured as if they were text
+        return isCentered() ? TextMetrics.center(formatted, TextMetrics.MOTD_WIDTH) : formatted;
     }
 
 }